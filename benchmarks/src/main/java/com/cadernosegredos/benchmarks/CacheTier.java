@@ -0,0 +1,13 @@
+package com.cadernosegredos.benchmarks;
+
+/**
+ * Nível que atende a leitura no cenário do benchmark.
+ */
+public enum CacheTier {
+    /** Acerto no cache L1 da JVM. */
+    L1,
+    /** L1 desligado, acerto no Redis (fake). */
+    REDIS,
+    /** L1 desligado e Redis descartando gravações: toda leitura vai ao PostgreSQL (fake). */
+    POSTGRES
+}
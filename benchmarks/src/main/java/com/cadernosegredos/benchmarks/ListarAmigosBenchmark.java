@@ -0,0 +1,60 @@
+package com.cadernosegredos.benchmarks;
+
+import com.cadernosegredos.model.Pessoa;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code listarAmigos} com número variável de amigos, hidratados por cada nível de cache.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ListarAmigosBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int fanOut;
+
+    @Param({"L1", "REDIS", "POSTGRES"})
+    public CacheTier tier;
+
+    private ServiceFixture fixture;
+    private UUID pessoaId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = new ServiceFixture(tier);
+        pessoaId = fixture.seed(0).getId();
+        for (int i = 1; i <= fanOut; i++) {
+            fixture.relationships.createFriendship(pessoaId, fixture.seed(i).getId());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fixture.close();
+    }
+
+    @Benchmark
+    public List<Pessoa> listarAmigos() {
+        return fixture.relacionamentoService.listarAmigos(pessoaId);
+    }
+}
@@ -0,0 +1,49 @@
+package com.cadernosegredos.benchmarks;
+
+import com.cadernosegredos.model.Log;
+import com.cadernosegredos.repository.MongoLogRepositoryImpl;
+import com.mongodb.MongoClientSettings;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DocumentCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Montagem do documento de log do MongoDB e sua codificação em BSON (o que o driver faz no insertMany).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LogDocumentBenchmark {
+    private final DocumentCodec documentCodec = new DocumentCodec(MongoClientSettings.getDefaultCodecRegistry());
+    private Log log;
+
+    @Setup
+    public void setUp() {
+        log = new Log("INFO", "Pessoa buscada (cache hit)", "ID: 3f2b8c1e-6a4d-4f0e-9b7a-2c5d8e1f0a93");
+    }
+
+    @Benchmark
+    public Document toDocument() {
+        return MongoLogRepositoryImpl.toDocument(log);
+    }
+
+    @Benchmark
+    public RawBsonDocument toBson() {
+        return new RawBsonDocument(MongoLogRepositoryImpl.toDocument(log), documentCodec);
+    }
+}
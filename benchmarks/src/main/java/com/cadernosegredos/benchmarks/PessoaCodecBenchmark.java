@@ -0,0 +1,57 @@
+package com.cadernosegredos.benchmarks;
+
+import com.cadernosegredos.cache.BinaryPessoaCodec;
+import com.cadernosegredos.cache.JsonPessoaCodec;
+import com.cadernosegredos.cache.PessoaCodec;
+import com.cadernosegredos.model.Pessoa;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialização da Pessoa guardada no cache: JSON (Jackson) e binário compacto.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PessoaCodecBenchmark {
+
+    @Param({"json", "binary"})
+    public String format;
+
+    private PessoaCodec codec;
+    private Pessoa pessoa;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() {
+        codec = "json".equals(format) ? new JsonPessoaCodec() : new BinaryPessoaCodec();
+        Pessoa nova = ServiceFixture.novaPessoa(42);
+        pessoa = new Pessoa(UUID.randomUUID(), nova.getNome(), nova.getEmail(), nova.getCpf(), nova.getDataNascimento());
+        encoded = codec.encode(pessoa);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return codec.encode(pessoa);
+    }
+
+    @Benchmark
+    public Pessoa decode() {
+        return codec.decode(encoded);
+    }
+}
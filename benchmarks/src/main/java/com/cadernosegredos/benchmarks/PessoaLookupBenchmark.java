@@ -0,0 +1,83 @@
+package com.cadernosegredos.benchmarks;
+
+import com.cadernosegredos.model.Pessoa;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code findPessoaById} e {@code findPessoaByCpf} atendidos por cada nível (L1, Redis, PostgreSQL).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PessoaLookupBenchmark {
+
+    @Param({"L1", "REDIS", "POSTGRES"})
+    public CacheTier tier;
+
+    @Param({"10000"})
+    public int population;
+
+    private ServiceFixture fixture;
+    private UUID[] ids;
+    private String[] cpfs;
+
+    /**
+     * Posição de cada thread na lista de pessoas, para percorrer chaves diferentes a cada chamada.
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int next;
+
+        int next(int size) {
+            int current = next;
+            next = current + 1 == size ? 0 : current + 1;
+            return current;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = new ServiceFixture(tier);
+        ids = new UUID[population];
+        cpfs = new String[population];
+        for (int i = 0; i < population; i++) {
+            Pessoa pessoa = fixture.seed(i);
+            ids[i] = pessoa.getId();
+            cpfs[i] = pessoa.getCpf();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fixture.close();
+    }
+
+    @Benchmark
+    public Optional<Pessoa> findPessoaById(Cursor cursor) {
+        return fixture.pessoaService.findPessoaById(ids[cursor.next(population)]);
+    }
+
+    @Benchmark
+    public Optional<Pessoa> findPessoaByCpf(Cursor cursor) {
+        return fixture.pessoaService.findPessoaByCpf(cpfs[cursor.next(population)]);
+    }
+}
@@ -0,0 +1,53 @@
+package com.cadernosegredos.benchmarks;
+
+import com.cadernosegredos.model.Pessoa;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@code savePessoa}: gravação no PostgreSQL seguida do preenchimento do Redis e do L1.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SavePessoaBenchmark {
+    private final AtomicInteger sequence = new AtomicInteger();
+    private ServiceFixture fixture;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = new ServiceFixture(CacheTier.L1);
+    }
+
+    // Esvazia os fakes a cada iteração para que o tamanho dos mapas (e o GC) não cresça sem limite
+    @Setup(Level.Iteration)
+    public void clear() {
+        fixture.clear();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fixture.close();
+    }
+
+    @Benchmark
+    public Pessoa savePessoa() {
+        return fixture.pessoaService.savePessoa(ServiceFixture.novaPessoa(sequence.incrementAndGet()));
+    }
+}
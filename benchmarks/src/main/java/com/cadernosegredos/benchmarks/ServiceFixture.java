@@ -0,0 +1,81 @@
+package com.cadernosegredos.benchmarks;
+
+import com.cadernosegredos.benchmarks.fake.InMemoryPessoaCache;
+import com.cadernosegredos.benchmarks.fake.InMemoryPessoaRepository;
+import com.cadernosegredos.benchmarks.fake.InMemoryRelationshipRepository;
+import com.cadernosegredos.cache.CacheInvalidationBus;
+import com.cadernosegredos.cache.PessoaCodecs;
+import com.cadernosegredos.cache.PessoaNearCache;
+import com.cadernosegredos.concurrent.FanOut;
+import com.cadernosegredos.model.Pessoa;
+import com.cadernosegredos.repository.AuditSink;
+import com.cadernosegredos.repository.NoOpAuditSink;
+import com.cadernosegredos.service.PessoaService;
+import com.cadernosegredos.service.RelacionamentoService;
+import redis.clients.jedis.JedisPool;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+/**
+ * Monta os serviços reais sobre os fakes em memória, no mesmo arranjo do App.
+ */
+final class ServiceFixture implements AutoCloseable {
+    final InMemoryPessoaRepository postgres = new InMemoryPessoaRepository();
+    final InMemoryPessoaCache redis;
+    final InMemoryRelationshipRepository relationships = new InMemoryRelationshipRepository();
+    final PessoaNearCache nearCache;
+    final PessoaService pessoaService;
+    final RelacionamentoService relacionamentoService;
+    private final CacheTier tier;
+    private final AuditSink auditSink = new NoOpAuditSink();
+    // O barramento só publica em update/delete, que não são medidos; start() nunca é chamado,
+    // então nenhuma conexão com o Redis é aberta (o JedisPool cria conexões sob demanda).
+    private final JedisPool unusedPool = new JedisPool("localhost", 6379);
+    private final CacheInvalidationBus invalidationBus = new CacheInvalidationBus(unusedPool);
+    private final FanOut fanOut = FanOut.fromEnvironment();
+
+    ServiceFixture(CacheTier tier) {
+        this.tier = tier;
+        this.redis = new InMemoryPessoaCache(PessoaCodecs.fromEnvironment(), tier != CacheTier.POSTGRES);
+        this.nearCache = new PessoaNearCache(tier == CacheTier.L1 ? 100_000 : 0, Duration.ofMinutes(30));
+        this.pessoaService = new PessoaService(postgres, redis, auditSink, nearCache, invalidationBus, fanOut);
+        this.relacionamentoService = new RelacionamentoService(relationships, auditSink, postgres, pessoaService, fanOut);
+    }
+
+    /**
+     * Grava a pessoa no "PostgreSQL" e aquece os caches que atendem o nível do cenário.
+     */
+    Pessoa seed(int i) {
+        Pessoa saved = postgres.save(novaPessoa(i));
+        redis.save(saved); // Descartado no nível POSTGRES
+        nearCache.put(saved); // Descartado fora do nível L1
+        return saved;
+    }
+
+    static Pessoa novaPessoa(int i) {
+        return new Pessoa("Pessoa " + i, "pessoa" + i + "@example.com", cpf(i),
+                LocalDate.of(1970, 1, 1).plusDays(i % 20_000));
+    }
+
+    static String cpf(int i) {
+        return String.format("%011d", i);
+    }
+
+    CacheTier tier() {
+        return tier;
+    }
+
+    void clear() {
+        postgres.clear();
+        redis.clear();
+        nearCache.invalidateAll();
+    }
+
+    @Override
+    public void close() {
+        invalidationBus.close();
+        unusedPool.close();
+        auditSink.close();
+    }
+}
@@ -0,0 +1,108 @@
+package com.cadernosegredos.benchmarks.fake;
+
+import com.cadernosegredos.cache.CacheTierStats;
+import com.cadernosegredos.cache.PessoaCodec;
+import com.cadernosegredos.model.Pessoa;
+import com.cadernosegredos.repository.PessoaCache;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Substitui o Redis nos benchmarks. Guarda os valores já serializados pelo mesmo {@link PessoaCodec}
+ * usado em produção, para que o custo de codificação/decodificação continue no caminho medido.
+ * Com {@code storeWrites = false} descarta as gravações, e toda busca vira cache miss.
+ */
+public class InMemoryPessoaCache implements PessoaCache {
+    private final Map<UUID, byte[]> values = new ConcurrentHashMap<>();
+    private final Map<String, UUID> idByCpf = new ConcurrentHashMap<>();
+    private final PessoaCodec codec;
+    private final boolean storeWrites;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public InMemoryPessoaCache(PessoaCodec codec, boolean storeWrites) {
+        this.codec = codec;
+        this.storeWrites = storeWrites;
+    }
+
+    @Override
+    public void save(Pessoa pessoa) {
+        byte[] data = codec.encode(pessoa); // Codifica mesmo descartando: o custo existe em produção
+        if (storeWrites) {
+            values.put(pessoa.getId(), data);
+            idByCpf.put(pessoa.getCpf(), pessoa.getId());
+        }
+    }
+
+    @Override
+    public Optional<Pessoa> findById(UUID id) {
+        return findEntryById(id).map(CacheEntry::pessoa);
+    }
+
+    @Override
+    public Optional<CacheEntry> findEntryById(UUID id) {
+        byte[] data = values.get(id);
+        if (data == null) {
+            misses.increment();
+            return Optional.empty();
+        }
+        hits.increment();
+        return Optional.of(new CacheEntry(codec.decode(data), -1)); // Sem expiração: não dispara renovação antecipada
+    }
+
+    @Override
+    public Map<UUID, Pessoa> findAllByIds(Collection<UUID> ids) {
+        Map<UUID, Pessoa> found = new HashMap<>();
+        for (UUID id : ids) {
+            byte[] data = values.get(id);
+            if (data != null) {
+                found.put(id, codec.decode(data));
+            }
+        }
+        hits.add(found.size());
+        misses.add(ids.size() - found.size());
+        return found;
+    }
+
+    @Override
+    public void saveAll(Collection<Pessoa> pessoas) {
+        pessoas.forEach(this::save);
+    }
+
+    @Override
+    public Optional<Pessoa> findByCpf(String cpf) {
+        UUID id = idByCpf.get(cpf);
+        return id == null ? recordMiss() : findById(id);
+    }
+
+    private Optional<Pessoa> recordMiss() {
+        misses.increment();
+        return Optional.empty();
+    }
+
+    @Override
+    public void delete(UUID id) {
+        values.remove(id);
+    }
+
+    @Override
+    public void deleteAll(Collection<UUID> ids) {
+        ids.forEach(this::delete);
+    }
+
+    @Override
+    public CacheTierStats getCacheStats() {
+        return new CacheTierStats("memory", hits.sum(), misses.sum(), 0, values.size());
+    }
+
+    public void clear() {
+        values.clear();
+        idByCpf.clear();
+    }
+}
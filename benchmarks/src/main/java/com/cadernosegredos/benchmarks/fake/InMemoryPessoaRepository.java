@@ -0,0 +1,149 @@
+package com.cadernosegredos.benchmarks.fake;
+
+import com.cadernosegredos.model.Pessoa;
+import com.cadernosegredos.repository.BatchResult;
+import com.cadernosegredos.repository.BulkUpsertResult;
+import com.cadernosegredos.repository.PessoaRepository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Substitui o PostgreSQL nos benchmarks. Como o banco, devolve instâncias novas a cada leitura
+ * (o JDBC materializa uma Pessoa por linha) e gera o ID no save.
+ */
+public class InMemoryPessoaRepository implements PessoaRepository {
+    private final Map<UUID, Pessoa> byId = new ConcurrentHashMap<>();
+    private final Map<String, UUID> idByCpf = new ConcurrentHashMap<>();
+
+    @Override
+    public Pessoa save(Pessoa pessoa) {
+        UUID id = pessoa.getId() != null ? pessoa.getId() : UUID.randomUUID();
+        Pessoa saved = new Pessoa(id, pessoa.getNome(), pessoa.getEmail(), pessoa.getCpf(), pessoa.getDataNascimento());
+        byId.put(id, saved);
+        idByCpf.put(saved.getCpf(), id);
+        return new Pessoa(saved);
+    }
+
+    @Override
+    public Optional<Pessoa> findById(UUID id) {
+        Pessoa pessoa = byId.get(id);
+        return pessoa == null ? Optional.empty() : Optional.of(new Pessoa(pessoa));
+    }
+
+    @Override
+    public Optional<Pessoa> findByCpf(String cpf) {
+        UUID id = idByCpf.get(cpf);
+        return id == null ? Optional.empty() : findById(id);
+    }
+
+    @Override
+    public List<Pessoa> findAllByIds(Collection<UUID> ids) {
+        List<Pessoa> pessoas = new ArrayList<>(ids.size());
+        for (UUID id : ids) {
+            findById(id).ifPresent(pessoas::add);
+        }
+        return pessoas;
+    }
+
+    @Override
+    public Pessoa update(Pessoa pessoa) {
+        if (!byId.containsKey(pessoa.getId())) {
+            return null;
+        }
+        return save(pessoa);
+    }
+
+    @Override
+    public boolean delete(UUID id) {
+        Pessoa removed = byId.remove(id);
+        if (removed != null) {
+            idByCpf.remove(removed.getCpf(), id);
+        }
+        return removed != null;
+    }
+
+    @Override
+    public List<Pessoa> findAll() {
+        List<Pessoa> pessoas = new ArrayList<>(byId.size());
+        byId.values().forEach(pessoa -> pessoas.add(new Pessoa(pessoa)));
+        return pessoas;
+    }
+
+    @Override
+    public Stream<Pessoa> streamAll() {
+        return byId.values().stream().map(Pessoa::new);
+    }
+
+    @Override
+    public List<Pessoa> findPage(UUID afterId, int limit) {
+        return byId.keySet().stream()
+                .filter(id -> afterId == null || id.compareTo(afterId) > 0)
+                .sorted()
+                .limit(Math.max(0, limit))
+                .map(id -> new Pessoa(byId.get(id)))
+                .toList();
+    }
+
+    @Override
+    public BatchResult saveAll(List<Pessoa> pessoas) {
+        List<UUID> ids = new ArrayList<>(pessoas.size());
+        for (Pessoa pessoa : pessoas) {
+            UUID id = save(pessoa).getId();
+            pessoa.setId(id);
+            ids.add(id);
+        }
+        return new BatchResult(ids, List.of());
+    }
+
+    @Override
+    public BatchResult updateAll(List<Pessoa> pessoas) {
+        List<UUID> ids = new ArrayList<>(pessoas.size());
+        List<BatchResult.RowFailure> failures = new ArrayList<>();
+        for (int i = 0; i < pessoas.size(); i++) {
+            Pessoa updated = update(pessoas.get(i));
+            ids.add(updated == null ? null : updated.getId());
+            if (updated == null) {
+                failures.add(new BatchResult.RowFailure(i, pessoas.get(i).getId(), "Pessoa não encontrada"));
+            }
+        }
+        return new BatchResult(ids, failures);
+    }
+
+    @Override
+    public BatchResult deleteAllByIds(List<UUID> ids) {
+        List<UUID> deleted = new ArrayList<>(ids.size());
+        List<BatchResult.RowFailure> failures = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            boolean ok = delete(ids.get(i));
+            deleted.add(ok ? ids.get(i) : null);
+            if (!ok) {
+                failures.add(new BatchResult.RowFailure(i, ids.get(i), "Pessoa não encontrada"));
+            }
+        }
+        return new BatchResult(deleted, failures);
+    }
+
+    @Override
+    public BulkUpsertResult bulkUpsert(List<Pessoa> pessoas) {
+        List<Pessoa> inserted = new ArrayList<>();
+        List<Pessoa> updated = new ArrayList<>();
+        for (Pessoa pessoa : pessoas) {
+            UUID existing = idByCpf.get(pessoa.getCpf());
+            Pessoa saved = save(new Pessoa(existing, pessoa.getNome(), pessoa.getEmail(), pessoa.getCpf(), pessoa.getDataNascimento()));
+            (existing == null ? inserted : updated).add(saved);
+        }
+        return new BulkUpsertResult(inserted, updated);
+    }
+
+    public void clear() {
+        byId.clear();
+        idByCpf.clear();
+    }
+}
@@ -0,0 +1,119 @@
+package com.cadernosegredos.benchmarks.fake;
+
+import com.cadernosegredos.model.Amizade;
+import com.cadernosegredos.repository.FriendSuggestion;
+import com.cadernosegredos.repository.FriendshipBatchResult;
+import com.cadernosegredos.repository.RelationshipRepository;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Substitui o Neo4j nos benchmarks: lista de adjacência em memória (amizade simétrica, como no Cypher).
+ */
+public class InMemoryRelationshipRepository implements RelationshipRepository {
+    private final Map<UUID, Set<UUID>> friends = new ConcurrentHashMap<>();
+
+    @Override
+    public void createFriendship(UUID person1Id, UUID person2Id) {
+        link(person1Id, person2Id);
+    }
+
+    private boolean link(UUID person1Id, UUID person2Id) {
+        friends.computeIfAbsent(person2Id, id -> ConcurrentHashMap.newKeySet()).add(person1Id);
+        return friends.computeIfAbsent(person1Id, id -> ConcurrentHashMap.newKeySet()).add(person2Id);
+    }
+
+    @Override
+    public FriendshipBatchResult createFriendships(List<Amizade> amizades) {
+        long created = 0;
+        for (Amizade amizade : amizades) {
+            if (link(amizade.pessoa1Id(), amizade.pessoa2Id())) {
+                created++;
+            }
+        }
+        return new FriendshipBatchResult(created, 0, amizades.isEmpty() ? 0 : 1);
+    }
+
+    @Override
+    public List<UUID> findFriends(UUID personId) {
+        Set<UUID> ids = friends.get(personId);
+        return ids == null ? List.of() : List.copyOf(ids);
+    }
+
+    @Override
+    public void removeFriendship(UUID person1Id, UUID person2Id) {
+        unlink(person1Id, person2Id);
+        unlink(person2Id, person1Id);
+    }
+
+    private void unlink(UUID personId, UUID friendId) {
+        Set<UUID> ids = friends.get(personId);
+        if (ids != null) {
+            ids.remove(friendId);
+        }
+    }
+
+    @Override
+    public List<UUID> findMutualFriends(UUID person1Id, UUID person2Id, int limit) {
+        Set<UUID> other = friends.getOrDefault(person2Id, Set.of());
+        return friends.getOrDefault(person1Id, Set.of()).stream().filter(other::contains).sorted().limit(limit).toList();
+    }
+
+    @Override
+    public List<FriendSuggestion> suggestFriends(UUID personId, int limit) {
+        Set<UUID> direct = friends.getOrDefault(personId, Set.of());
+        Map<UUID, Long> mutual = new HashMap<>();
+        for (UUID friend : direct) {
+            for (UUID candidate : friends.getOrDefault(friend, Set.of())) {
+                if (!candidate.equals(personId) && !direct.contains(candidate)) {
+                    mutual.merge(candidate, 1L, Long::sum);
+                }
+            }
+        }
+        return mutual.entrySet().stream()
+                .map(entry -> new FriendSuggestion(entry.getKey(), entry.getValue()))
+                .sorted(Comparator.comparingLong(FriendSuggestion::mutualFriends).reversed()
+                        .thenComparing(FriendSuggestion::personId))
+                .limit(limit)
+                .toList();
+    }
+
+    @Override
+    public List<UUID> findShortestPath(UUID person1Id, UUID person2Id, int maxDepth) {
+        Map<UUID, UUID> parent = new HashMap<>();
+        parent.put(person1Id, person1Id);
+        ArrayDeque<UUID> frontier = new ArrayDeque<>(List.of(person1Id));
+        for (int depth = 0; depth < maxDepth && !frontier.isEmpty(); depth++) {
+            ArrayDeque<UUID> next = new ArrayDeque<>();
+            for (UUID current : frontier) {
+                for (UUID friend : friends.getOrDefault(current, Set.of())) {
+                    if (parent.putIfAbsent(friend, current) == null) {
+                        if (friend.equals(person2Id)) {
+                            List<UUID> path = new ArrayList<>();
+                            for (UUID step = friend; !step.equals(person1Id); step = parent.get(step)) {
+                                path.add(0, step);
+                            }
+                            path.add(0, person1Id);
+                            return path;
+                        }
+                        next.add(friend);
+                    }
+                }
+            }
+            frontier = next;
+        }
+        return List.of();
+    }
+
+    @Override
+    public void closeDriver() {
+    }
+}
@@ -1,50 +1,182 @@
 package com.cadernosegredos.app;
 
+import com.cadernosegredos.cache.CacheInvalidationBus;
+import com.cadernosegredos.cache.FriendListNearCache;
+import com.cadernosegredos.cache.PessoaNearCache;
+import com.cadernosegredos.concurrent.BulkheadFullException;
+import com.cadernosegredos.concurrent.Bulkheads;
+import com.cadernosegredos.concurrent.FanOut;
+import com.cadernosegredos.concurrent.RequestExecutor;
 import com.cadernosegredos.config.MongoConfig;
+import com.cadernosegredos.config.EnvConfig;
 import com.cadernosegredos.config.Neo4jConfig;
+import com.cadernosegredos.config.Neo4jSchemaBootstrapper;
+import com.cadernosegredos.config.Neo4jSchemaStatus;
 import com.cadernosegredos.config.PostgresConfig;
+import com.cadernosegredos.config.PostgresSchemaBootstrapper;
+import com.cadernosegredos.config.PostgresSchemaStatus;
+import com.cadernosegredos.config.R2dbcConfig;
 import com.cadernosegredos.config.RedisConfig;
+import com.cadernosegredos.config.StatementCacheMetrics;
+import com.cadernosegredos.health.HealthServer;
+import com.cadernosegredos.health.Neo4jSchemaHealthCheck;
+import com.cadernosegredos.health.PostgresSchemaHealthCheck;
+import com.cadernosegredos.model.Amizade;
 import com.cadernosegredos.model.Pessoa;
+import com.cadernosegredos.service.AsyncPessoaService;
+import com.cadernosegredos.service.AmizadeImportResult;
+import com.cadernosegredos.service.AsyncRelacionamentoService;
+import com.cadernosegredos.service.ImportResult;
 import com.cadernosegredos.service.PessoaService;
 import com.cadernosegredos.service.RelacionamentoService;
-import com.cadernosegredos.repository.MongoLogRepositoryImpl;
+import com.cadernosegredos.service.SugestaoAmizade;
+import com.cadernosegredos.repository.AuditSink;
+import com.cadernosegredos.repository.AuditSinks;
+import com.cadernosegredos.repository.BulkheadPessoaCache;
+import com.cadernosegredos.repository.BulkheadPessoaRepository;
+import com.cadernosegredos.repository.BulkheadRelationshipRepository;
+import com.cadernosegredos.repository.CachingAsyncRelationshipRepository;
+import com.cadernosegredos.repository.CachingRelationshipRepository;
+import com.cadernosegredos.repository.FriendListCache;
+import com.cadernosegredos.repository.LettucePessoaCacheImpl;
+import com.cadernosegredos.repository.Neo4jAsyncRelationshipRepositoryImpl;
+import com.cadernosegredos.repository.Neo4jFriendshipMigration;
 import com.cadernosegredos.repository.Neo4jRelationshipRepositoryImpl;
 import com.cadernosegredos.repository.PostgresPessoaRepositoryImpl;
+import com.cadernosegredos.repository.R2dbcPessoaRepositoryImpl;
+import com.cadernosegredos.repository.RedisFriendListCache;
 import com.cadernosegredos.repository.RedisPessoaRepositoryImpl;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 import java.util.Scanner;
 import java.util.UUID; // Importar UUID
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Stream;
 
 public class App {
     private static final Logger logger = LoggerFactory.getLogger(App.class);
     private static Scanner scanner;
     private static PessoaService pessoaService;
     private static RelacionamentoService relacionamentoService;
+    private static RequestExecutor requestExecutor;
+    // Com ASYNC_DATASTORES=true as operações por requisição usam os drivers não bloqueantes (senão ficam null)
+    private static AsyncPessoaService asyncPessoaService;
+    private static AsyncRelacionamentoService asyncRelacionamentoService;
 
     public static void main(String[] args) {
         scanner = new Scanner(System.in);
 
         // Inicializar configurações
-        PostgresConfig.getConnection(); // Garante que a conexão com Postgres é testada/inicializada
+        PostgresConfig.verifyConnectivity(); // Inicializa o pool do Postgres e testa uma conexão
         RedisConfig.getJedisPool();    // Garante que o pool Jedis é testado/inicializado
         Neo4jConfig.getDriver();       // Garante que o driver Neo4j é testado/inicializado
         MongoConfig.getMongoClient();  // Garante que o cliente Mongo é testado/inicializado
 
+        // Índice único em pessoas(cpf), exigido pelo ON CONFLICT (cpf) da importação em massa
+        PostgresSchemaBootstrapper postgresSchema = new PostgresSchemaBootstrapper();
+        PostgresSchemaStatus postgresSchemaStatus = postgresSchema.bootstrap();
+        if (!postgresSchemaStatus.ready() && EnvConfig.getBoolean("POSTGRES_SCHEMA_REQUIRED", true)) {
+            logger.error("Esquema do PostgreSQL não está pronto ({}). Aplicação não será iniciada.", postgresSchemaStatus.error());
+            RedisConfig.closeJedisPool();
+            Neo4jConfig.closeDriver();
+            MongoConfig.closeMongoClient();
+            PostgresConfig.closeDataSource();
+            return;
+        }
+
+        // Constraint de unicidade em :Person(id) criada e ONLINE antes de atender requisições
+        Neo4jSchemaBootstrapper neo4jSchema = Neo4jSchemaBootstrapper.fromEnvironment(Neo4jConfig.getDriver());
+        Neo4jSchemaStatus neo4jSchemaStatus = neo4jSchema.bootstrap();
+        if (!neo4jSchemaStatus.ready() && EnvConfig.getBoolean("NEO4J_SCHEMA_REQUIRED", true)) {
+            logger.error("Esquema do Neo4j não está pronto ({}). Aplicação não será iniciada.", neo4jSchemaStatus.error());
+            RedisConfig.closeJedisPool();
+            Neo4jConfig.closeDriver();
+            MongoConfig.closeMongoClient();
+            PostgresConfig.closeDataSource();
+            return;
+        }
+
+        // Concorrência máxima por datastore, dimensionada pelos pools de conexões
+        Bulkheads bulkheads = Bulkheads.fromEnvironment();
+
+        // Destino único de auditoria do processo (Mongo, arquivo ou no-op, conforme AUDIT_SINK)
+        AuditSink auditSink = AuditSinks.fromEnvironment();
+
         // Instanciar repositórios
-        PostgresPessoaRepositoryImpl postgresPessoaRepository = new PostgresPessoaRepositoryImpl();
-        RedisPessoaRepositoryImpl redisPessoaRepository = new RedisPessoaRepositoryImpl();
-        MongoLogRepositoryImpl mongoLogRepository = new MongoLogRepositoryImpl();
-        Neo4jRelationshipRepositoryImpl neo4jRelationshipRepository = new Neo4jRelationshipRepositoryImpl();
+        BulkheadPessoaRepository postgresPessoaRepository = new BulkheadPessoaRepository(
+                new PostgresPessoaRepositoryImpl(auditSink), bulkheads.postgres());
+        BulkheadPessoaCache redisPessoaRepository = new BulkheadPessoaCache(
+                new RedisPessoaRepositoryImpl(auditSink), bulkheads.redis());
+        // Cache L1 na JVM, mantido coerente entre nós via Redis pub/sub
+        PessoaNearCache pessoaNearCache = PessoaNearCache.fromEnvironment();
+        CacheInvalidationBus cacheInvalidationBus = new CacheInvalidationBus(RedisConfig.getJedisPool());
+        cacheInvalidationBus.start();
+
+        // Listas de amigos em cache (L1 e, com FRIEND_CACHE_REDIS=true, SETs no Redis) na frente do Neo4j
+        FriendListCache friendListCache = new FriendListCache(FriendListNearCache.fromEnvironment(),
+                EnvConfig.getBoolean("FRIEND_CACHE_REDIS", false)
+                        ? RedisFriendListCache.fromEnvironment(RedisConfig.getJedisPool(), auditSink) : null,
+                cacheInvalidationBus);
+        CachingRelationshipRepository neo4jRelationshipRepository = new CachingRelationshipRepository(
+                new BulkheadRelationshipRepository(new Neo4jRelationshipRepositoryImpl(auditSink), bulkheads.neo4j()),
+                friendListCache);
+
+        // Etapas independentes dos fluxos entre datastores rodam em paralelo, com tempo limite por etapa
+        FanOut fanOut = FanOut.fromEnvironment();
 
         // Instanciar serviços com injeção de dependência
-        pessoaService = new PessoaService(postgresPessoaRepository, redisPessoaRepository, mongoLogRepository);
-        relacionamentoService = new RelacionamentoService(neo4jRelationshipRepository, mongoLogRepository, postgresPessoaRepository);
+        pessoaService = new PessoaService(postgresPessoaRepository, redisPessoaRepository, auditSink,
+                pessoaNearCache, cacheInvalidationBus, fanOut);
+        relacionamentoService = new RelacionamentoService(neo4jRelationshipRepository, auditSink, postgresPessoaRepository,
+                pessoaService, fanOut);
+
+        // Cada chamada de serviço roda em uma thread virtual própria
+        requestExecutor = RequestExecutor.fromEnvironment();
+
+        // Drivers não bloqueantes (R2DBC, Lettuce, AsyncSession do Neo4j): nenhuma thread por chamada em voo
+        boolean asyncDatastores = EnvConfig.getBoolean("ASYNC_DATASTORES", false);
+        if (asyncDatastores) {
+            R2dbcPessoaRepositoryImpl r2dbcPessoaRepository = new R2dbcPessoaRepositoryImpl(auditSink);
+            asyncPessoaService = new AsyncPessoaService(r2dbcPessoaRepository, new LettucePessoaCacheImpl(auditSink),
+                    auditSink, pessoaNearCache, cacheInvalidationBus, fanOut);
+            asyncRelacionamentoService = new AsyncRelacionamentoService(
+                    new CachingAsyncRelationshipRepository(new Neo4jAsyncRelationshipRepositoryImpl(auditSink), friendListCache, fanOut),
+                    auditSink, r2dbcPessoaRepository, asyncPessoaService, fanOut);
+            logger.info("Adaptadores não bloqueantes habilitados (ASYNC_DATASTORES=true).");
+        }
+
+        // Migração para amizade simétrica (uma aresta por par): off, sync (antes de atender) ou background
+        String friendshipMigrationMode = EnvConfig.getString("NEO4J_FRIENDSHIP_MIGRATION", "off").toLowerCase(Locale.ROOT);
+        Neo4jFriendshipMigration friendshipMigration = null;
+        if (!"off".equals(friendshipMigrationMode)) {
+            friendshipMigration = Neo4jFriendshipMigration.fromEnvironment(Neo4jConfig.getDriver(), auditSink);
+            if ("sync".equals(friendshipMigrationMode)) {
+                friendshipMigration.run();
+            } else {
+                friendshipMigration.start();
+            }
+        }
+
+        HealthServer healthServer = HealthServer.fromEnvironment();
+        if (healthServer != null) {
+            healthServer.register("neo4jSchema", new Neo4jSchemaHealthCheck(neo4jSchema))
+                    .register("postgresSchema", new PostgresSchemaHealthCheck(postgresSchema))
+                    .start();
+        }
 
         logger.info("Aplicação Caderno de Segredos iniciada.");
 
@@ -61,54 +193,109 @@ public class App {
             System.out.println("7. Estabelecer Amizade");
             System.out.println("8. Listar Amigos");
             System.out.println("9. Remover Amizade");
+            System.out.println("10. Importar Pessoas de CSV");
+            System.out.println("11. Importar Amizades de CSV");
+            System.out.println("12. Amigos em Comum");
+            System.out.println("13. Sugestões de Amizade");
+            System.out.println("14. Graus de Separação");
             System.out.println("0. Sair");
             System.out.print("Escolha uma opção: ");
             opcao = scanner.nextInt();
             scanner.nextLine(); // Consumir a nova linha
 
-            switch (opcao) {
-                case 1:
-                    cadastrarPessoa();
-                    break;
-                case 2:
-                    buscarPessoaPorId();
-                    break;
-                case 3:
-                    buscarPessoaPorCpf();
-                    break;
-                case 4:
-                    listarTodasPessoas();
-                    break;
-                case 5:
-                    atualizarPessoa();
-                    break;
-                case 6:
-                    deletarPessoa();
-                    break;
-                case 7:
-                    estabelecerAmizade();
-                    break;
-                case 8:
-                    listarAmigos();
-                    break;
-                case 9:
-                    removerAmizade();
-                    break;
-                case 0:
-                    logger.info("Saindo da aplicação.");
-                    break;
-                default:
-                    System.out.println("Opção inválida. Tente novamente.");
+            try {
+                switch (opcao) {
+                    case 1:
+                        cadastrarPessoa();
+                        break;
+                    case 2:
+                        buscarPessoaPorId();
+                        break;
+                    case 3:
+                        buscarPessoaPorCpf();
+                        break;
+                    case 4:
+                        listarTodasPessoas();
+                        break;
+                    case 5:
+                        atualizarPessoa();
+                        break;
+                    case 6:
+                        deletarPessoa();
+                        break;
+                    case 7:
+                        estabelecerAmizade();
+                        break;
+                    case 8:
+                        listarAmigos();
+                        break;
+                    case 9:
+                        removerAmizade();
+                        break;
+                    case 10:
+                        importarPessoasCsv();
+                        break;
+                    case 11:
+                        importarAmizadesCsv();
+                        break;
+                    case 12:
+                        listarAmigosEmComum();
+                        break;
+                    case 13:
+                        sugerirAmizades();
+                        break;
+                    case 14:
+                        mostrarGrausDeSeparacao();
+                        break;
+                    case 0:
+                        logger.info("Saindo da aplicação.");
+                        break;
+                    default:
+                        System.out.println("Opção inválida. Tente novamente.");
+                }
+            } catch (RejectedExecutionException | BulkheadFullException e) {
+                logger.warn("Requisição recusada por sobrecarga: {}", e.getMessage());
+                System.out.println("Sistema sobrecarregado no momento. Tente novamente em instantes.");
             }
         } while (opcao != 0);
 
         // Fechar recursos
         scanner.close();
+        if (healthServer != null) {
+            healthServer.close();
+        }
+        if (friendshipMigration != null) {
+            friendshipMigration.close();
+            logger.info("Migração de amizades: {}", friendshipMigration.getProgress());
+        }
+        requestExecutor.close();
+        logger.info("Bulkheads por datastore: {}", bulkheads.getStats());
         // Os drivers e pools serão fechados via shutdown hooks ou através dos métodos close/destroy
+        logger.info("Estatísticas de cache por nível: {} (cargas coalescidas: {}, renovações antecipadas: {})",
+                pessoaService.getCacheStats(), pessoaService.getCoalescedLoadCount(), pessoaService.getEarlyRefreshCount());
+        logger.info("Cache de listas de amigos: {} ({} bytes no L1)",
+                friendListCache.getCacheStats(), friendListCache.getMemoryBytes());
+        if (asyncPessoaService != null) {
+            logger.info("Estatísticas de cache (adaptadores não bloqueantes): {} (cargas coalescidas: {})",
+                    asyncPessoaService.getCacheStats(), asyncPessoaService.getCoalescedLoadCount());
+        }
+        cacheInvalidationBus.close();
+        RedisConfig.closeLettuce();
+        R2dbcConfig.closeConnectionPool();
         RedisConfig.closeJedisPool(); // Chamar explicitamente para garantir o fechamento
+        logger.info("Métricas finais do pool Neo4j: {}", Neo4jConfig.getPoolMetrics());
         Neo4jConfig.closeDriver();    // Chamar explicitamente para garantir o fechamento
+        auditSink.close();            // Grava os logs pendentes antes de fechar o Mongo
         MongoConfig.closeMongoClient(); // Chamar explicitamente para garantir o fechamento
-        PostgresConfig.closeConnection(); // Se você tiver um método para fechar a pool de conexões do Postgres
+        logger.info("Métricas finais do pool PostgreSQL: {}", PostgresConfig.getPoolMetrics());
+        StatementCacheMetrics statementCache = PostgresConfig.getEstimatedStatementCacheMetrics();
+        logger.info("Cache de prepared statements PostgreSQL (estimativa): {} (taxa de acerto estimada {})",
+                statementCache, String.format("%.2f", statementCache.estimatedHitRate()));
+        if (!PostgresConfig.getReplicaStatus().isEmpty()) {
+            logger.info("Réplicas PostgreSQL: {} (leituras no primário por falha/atraso: {}, por leia-o-que-escreveu: {})",
+                    PostgresConfig.getReplicaStatus(), PostgresConfig.getReplicaFallbackReads(), PostgresConfig.getStickyPrimaryReads());
+        }
+        PostgresConfig.closeDataSource(); // Fecha o pool de conexões do Postgres
 
         logger.info("Aplicação encerrada.");
     }
@@ -124,7 +311,9 @@ public class App {
         LocalDate dataNascimento = LocalDate.parse(scanner.nextLine());
 
         Pessoa novaPessoa = new Pessoa(nome, email, cpf, dataNascimento);
-        Pessoa savedPessoa = pessoaService.savePessoa(novaPessoa);
+        Pessoa savedPessoa = asyncPessoaService != null
+                ? asyncPessoaService.savePessoa(novaPessoa).join()
+                : requestExecutor.execute(() -> pessoaService.savePessoa(novaPessoa));
         if (savedPessoa != null) {
             System.out.println("Pessoa cadastrada com sucesso! ID: " + savedPessoa.getId());
         } else {
@@ -137,7 +326,7 @@ public class App {
         String idString = scanner.nextLine();
         try {
             UUID id = UUID.fromString(idString); // Converter String para UUID
-            Optional<Pessoa> pessoaOptional = pessoaService.findPessoaById(id);
+            Optional<Pessoa> pessoaOptional = findPessoaById(id);
             pessoaOptional.ifPresentOrElse(
                 pessoa -> System.out.println("Pessoa encontrada: " + pessoa),
                 () -> System.out.println("Pessoa com ID " + idString + " não encontrada.")
@@ -147,10 +336,18 @@ public class App {
         }
     }
 
+    private static Optional<Pessoa> findPessoaById(UUID id) {
+        return asyncPessoaService != null
+                ? asyncPessoaService.findPessoaById(id).join()
+                : requestExecutor.execute(() -> pessoaService.findPessoaById(id));
+    }
+
     private static void buscarPessoaPorCpf() {
         System.out.print("CPF da Pessoa: ");
         String cpf = scanner.nextLine();
-        Optional<Pessoa> pessoaOptional = pessoaService.findPessoaByCpf(cpf);
+        Optional<Pessoa> pessoaOptional = asyncPessoaService != null
+                ? asyncPessoaService.findPessoaByCpf(cpf).join()
+                : requestExecutor.execute(() -> pessoaService.findPessoaByCpf(cpf));
         pessoaOptional.ifPresentOrElse(
             pessoa -> System.out.println("Pessoa encontrada: " + pessoa),
             () -> System.out.println("Pessoa com CPF " + cpf + " não encontrada.")
@@ -158,20 +355,63 @@ public class App {
     }
 
     private static void listarTodasPessoas() {
-        List<Pessoa> pessoas = pessoaService.findAllPessoas();
-        if (pessoas.isEmpty()) {
+        // Imprime à medida que lê do cursor, sem carregar a tabela inteira em memória
+        long total = requestExecutor.execute(() -> {
+            long impressas = 0;
+            try (Stream<Pessoa> pessoas = pessoaService.streamAllPessoas()) {
+                Iterator<Pessoa> iterator = pessoas.iterator();
+                while (iterator.hasNext()) {
+                    System.out.println(iterator.next());
+                    impressas++;
+                }
+            }
+            return impressas;
+        });
+        if (total == 0) {
             System.out.println("Nenhuma pessoa cadastrada.");
-        } else {
-            pessoas.forEach(System.out::println);
         }
     }
 
+    private static void importarPessoasCsv() {
+        System.out.print("Caminho do arquivo CSV (nome,email,cpf,dataNascimento): ");
+        String caminho = scanner.nextLine();
+        try (Reader csv = Files.newBufferedReader(Path.of(caminho), StandardCharsets.UTF_8)) {
+            ImportResult result = requestExecutor.execute(() -> pessoaService.importPessoasCsv(csv));
+            System.out.println("Importação concluída: " + result);
+        } catch (IOException e) {
+            System.out.println("Não foi possível ler o arquivo: " + e.getMessage());
+        }
+    }
+
+    private static void importarAmizadesCsv() {
+        System.out.print("Caminho do arquivo CSV (pessoa1Id,pessoa2Id): ");
+        String caminho = scanner.nextLine();
+        List<Amizade> amizades = new ArrayList<>();
+        int invalidas = 0;
+        try (BufferedReader csv = Files.newBufferedReader(Path.of(caminho), StandardCharsets.UTF_8)) {
+            String linha;
+            while ((linha = csv.readLine()) != null) {
+                String[] campos = linha.split(",");
+                try {
+                    amizades.add(new Amizade(UUID.fromString(campos[0].trim()), UUID.fromString(campos[1].trim())));
+                } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+                    invalidas++; // Cabeçalho ou linha mal formada
+                }
+            }
+        } catch (IOException e) {
+            System.out.println("Não foi possível ler o arquivo: " + e.getMessage());
+            return;
+        }
+        AmizadeImportResult result = requestExecutor.execute(() -> relacionamentoService.estabelecerAmizades(amizades));
+        System.out.println("Importação concluída: " + result + (invalidas > 0 ? " (linhas ignoradas: " + invalidas + ")" : ""));
+    }
+
     private static void atualizarPessoa() {
         System.out.print("ID da Pessoa a ser atualizada: ");
         String idString = scanner.nextLine();
         try {
             UUID id = UUID.fromString(idString);
-            Optional<Pessoa> pessoaOptional = pessoaService.findPessoaById(id);
+            Optional<Pessoa> pessoaOptional = findPessoaById(id);
 
             if (pessoaOptional.isPresent()) {
                 Pessoa pessoa = pessoaOptional.get();
@@ -202,7 +442,9 @@ public class App {
                 //     pessoa.setDataNascimento(LocalDate.parse(novaDataNascimentoStr));
                 // }
 
-                Pessoa updatedPessoa = pessoaService.updatePessoa(pessoa);
+                Pessoa updatedPessoa = asyncPessoaService != null
+                        ? asyncPessoaService.updatePessoa(pessoa).join()
+                        : requestExecutor.execute(() -> pessoaService.updatePessoa(pessoa));
                 if (updatedPessoa != null) {
                     System.out.println("Pessoa atualizada com sucesso: " + updatedPessoa);
                 } else {
@@ -221,7 +463,9 @@ public class App {
         String idString = scanner.nextLine();
         try {
             UUID id = UUID.fromString(idString); // Converter String para UUID
-            boolean deleted = pessoaService.deletePessoa(id);
+            boolean deleted = asyncPessoaService != null
+                    ? asyncPessoaService.deletePessoa(id).join()
+                    : requestExecutor.execute(() -> pessoaService.deletePessoa(id));
             if (deleted) {
                 System.out.println("Pessoa deletada com sucesso!");
             } else {
@@ -241,7 +485,11 @@ public class App {
         try {
             UUID id1 = UUID.fromString(id1String);
             UUID id2 = UUID.fromString(id2String);
-            relacionamentoService.estabelecerAmizade(id1, id2);
+            if (asyncRelacionamentoService != null) {
+                asyncRelacionamentoService.estabelecerAmizade(id1, id2).join();
+            } else {
+                requestExecutor.run(() -> relacionamentoService.estabelecerAmizade(id1, id2));
+            }
             System.out.println("Tentativa de estabelecer amizade concluída (verifique logs para status).");
         } catch (IllegalArgumentException e) {
             System.out.println("IDs inválidos. Por favor, insira UUIDs válidos.");
@@ -253,7 +501,9 @@ public class App {
         String idString = scanner.nextLine();
         try {
             UUID id = UUID.fromString(idString);
-            List<Pessoa> amigos = relacionamentoService.listarAmigos(id);
+            List<Pessoa> amigos = asyncRelacionamentoService != null
+                    ? asyncRelacionamentoService.listarAmigos(id).join()
+                    : requestExecutor.execute(() -> relacionamentoService.listarAmigos(id));
             if (amigos.isEmpty()) {
                 System.out.println("Nenhum amigo encontrado para esta pessoa.");
             } else {
@@ -265,6 +515,64 @@ public class App {
         }
     }
 
+    private static void listarAmigosEmComum() {
+        System.out.print("ID da primeira pessoa: ");
+        String id1String = scanner.nextLine();
+        System.out.print("ID da segunda pessoa: ");
+        String id2String = scanner.nextLine();
+        try {
+            UUID id1 = UUID.fromString(id1String);
+            UUID id2 = UUID.fromString(id2String);
+            List<Pessoa> amigos = requestExecutor.execute(() -> relacionamentoService.listarAmigosEmComum(id1, id2, 20));
+            if (amigos.isEmpty()) {
+                System.out.println("Nenhum amigo em comum.");
+            } else {
+                System.out.println("Amigos em comum:");
+                amigos.forEach(amigo -> System.out.println("- " + amigo.getNome() + " (ID: " + amigo.getId() + ")"));
+            }
+        } catch (IllegalArgumentException e) {
+            System.out.println("IDs inválidos. Por favor, insira UUIDs válidos.");
+        }
+    }
+
+    private static void sugerirAmizades() {
+        System.out.print("ID da pessoa: ");
+        String idString = scanner.nextLine();
+        try {
+            UUID id = UUID.fromString(idString);
+            List<SugestaoAmizade> sugestoes = requestExecutor.execute(() -> relacionamentoService.sugerirAmizades(id, 10));
+            if (sugestoes.isEmpty()) {
+                System.out.println("Nenhuma sugestão de amizade.");
+            } else {
+                System.out.println("Sugestões:");
+                sugestoes.forEach(sugestao -> System.out.println("- " + sugestao.pessoa().getNome() + " (ID: " + sugestao.pessoa().getId()
+                        + ", amigos em comum: " + sugestao.amigosEmComum() + ")"));
+            }
+        } catch (IllegalArgumentException e) {
+            System.out.println("ID inválido. Por favor, insira um UUID válido.");
+        }
+    }
+
+    private static void mostrarGrausDeSeparacao() {
+        System.out.print("ID da primeira pessoa: ");
+        String id1String = scanner.nextLine();
+        System.out.print("ID da segunda pessoa: ");
+        String id2String = scanner.nextLine();
+        try {
+            UUID id1 = UUID.fromString(id1String);
+            UUID id2 = UUID.fromString(id2String);
+            List<Pessoa> caminho = requestExecutor.execute(() -> relacionamentoService.caminhoEntre(id1, id2));
+            if (caminho.isEmpty()) {
+                System.out.println("Nenhuma ligação encontrada entre as duas pessoas.");
+            } else {
+                System.out.println("Graus de separação: " + (caminho.size() - 1));
+                caminho.forEach(pessoa -> System.out.println("- " + pessoa.getNome() + " (ID: " + pessoa.getId() + ")"));
+            }
+        } catch (IllegalArgumentException e) {
+            System.out.println("IDs inválidos. Por favor, insira UUIDs válidos.");
+        }
+    }
+
     private static void removerAmizade() {
         System.out.print("ID da primeira pessoa da amizade a ser removida: ");
         String id1String = scanner.nextLine();
@@ -274,7 +582,11 @@ public class App {
         try {
             UUID id1 = UUID.fromString(id1String);
             UUID id2 = UUID.fromString(id2String);
-            relacionamentoService.removerAmizade(id1, id2); // Chama o novo método
+            if (asyncRelacionamentoService != null) {
+                asyncRelacionamentoService.removerAmizade(id1, id2).join();
+            } else {
+                requestExecutor.run(() -> relacionamentoService.removerAmizade(id1, id2)); // Chama o novo método
+            }
             System.out.println("Tentativa de remover amizade concluída (verifique logs para status).");
         } catch (IllegalArgumentException e) {
             System.out.println("IDs inválidos. Por favor, insira UUIDs válidos.");
@@ -0,0 +1,123 @@
+package com.cadernosegredos.cache;
+
+import com.cadernosegredos.model.Pessoa;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Formato binário compacto, sem reflexão:
+ * <pre>
+ * [versão: 1 byte][id: 16 bytes (msb, lsb big-endian)]
+ * [cpf][nome][email]  -> varint (tamanho UTF-8 + 1; 0 = null) + bytes
+ * [dataNascimento]    -> varint (zigzag(epochDay) + 1; 0 = null)
+ * </pre>
+ * O CPF vem logo após o ID, em posição fixa, para que o script Lua de remoção consiga lê-lo.
+ * Novos campos devem ser acrescentados ao final, com uma nova versão.
+ */
+public class BinaryPessoaCodec implements PessoaCodec {
+    public static final byte VERSION = 1;
+
+    @Override
+    public byte[] encode(Pessoa pessoa) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64);
+        out.write(VERSION);
+        writeLong(out, pessoa.getId().getMostSignificantBits());
+        writeLong(out, pessoa.getId().getLeastSignificantBits());
+        writeString(out, pessoa.getCpf());
+        writeString(out, pessoa.getNome());
+        writeString(out, pessoa.getEmail());
+        LocalDate data = pessoa.getDataNascimento();
+        writeVarLong(out, data == null ? 0 : zigzag(data.toEpochDay()) + 1);
+        return out.toByteArray();
+    }
+
+    @Override
+    public Pessoa decode(byte[] data) {
+        if (data.length == 0 || data[0] != VERSION) {
+            throw new IllegalArgumentException("Versão de formato binário desconhecida: " + (data.length == 0 ? "vazio" : data[0]));
+        }
+        Reader in = new Reader(data, 1);
+        UUID id = new UUID(in.readLong(), in.readLong());
+        String cpf = in.readString();
+        String nome = in.readString();
+        String email = in.readString();
+        long encodedDate = in.readVarLong();
+        LocalDate dataNascimento = encodedDate == 0 ? null : LocalDate.ofEpochDay(unzigzag(encodedDate - 1));
+        return new Pessoa(id, nome, email, cpf, dataNascimento);
+    }
+
+    private static void writeLong(ByteArrayOutputStream out, long value) {
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            out.write((int) (value >>> shift));
+        }
+    }
+
+    private static void writeString(ByteArrayOutputStream out, String value) {
+        if (value == null) {
+            writeVarLong(out, 0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(out, bytes.length + 1L);
+        out.write(bytes, 0, bytes.length);
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static final class Reader {
+        private final byte[] data;
+        private int pos;
+
+        Reader(byte[] data, int pos) {
+            this.data = data;
+            this.pos = pos;
+        }
+
+        long readLong() {
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value = (value << 8) | (data[pos++] & 0xFF);
+            }
+            return value;
+        }
+
+        long readVarLong() {
+            long value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[pos++];
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return value;
+        }
+
+        String readString() {
+            int length = (int) readVarLong();
+            if (length == 0) {
+                return null;
+            }
+            String value = new String(data, pos, length - 1, StandardCharsets.UTF_8);
+            pos += length - 1;
+            return value;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.cadernosegredos.cache;
+
+import com.cadernosegredos.config.RedisConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.JedisPubSub;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Propaga invalidações de cache L1 entre os nós da aplicação via Redis pub/sub.
+ * <p>
+ * Mensagens têm o formato {@code origem|tipo|chave1|chave2...}; cada nó ignora as próprias
+ * mensagens (já invalidou localmente) e repassa as demais aos ouvintes registrados para o tipo.
+ */
+public class CacheInvalidationBus implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(CacheInvalidationBus.class);
+    private static final String CHANNEL = "cadernosegredos:cache:invalidate";
+    private static final String SEPARATOR = "|";
+    private static final long RECONNECT_DELAY_MS = 1_000;
+
+    private final JedisPool jedisPool;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<String, List<Consumer<String[]>>> listeners = new ConcurrentHashMap<>();
+    private final Thread subscriberThread;
+    private volatile JedisPubSub subscriber;
+    private volatile boolean running = true;
+
+    public CacheInvalidationBus(JedisPool jedisPool) {
+        this.jedisPool = jedisPool;
+        this.subscriberThread = new Thread(this::subscribeLoop, "cache-invalidation-subscriber");
+        this.subscriberThread.setDaemon(true);
+    }
+
+    /**
+     * Inicia a thread assinante (conexão dedicada, fora do pool, pois SUBSCRIBE a bloqueia).
+     */
+    public void start() {
+        subscriberThread.start();
+        logger.info("Barramento de invalidação de cache iniciado (nó {}).", nodeId);
+    }
+
+    public void onInvalidation(String tipo, Consumer<String[]> listener) {
+        listeners.computeIfAbsent(tipo, t -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    /**
+     * Publica a invalidação para os demais nós. Falhas são apenas logadas: no pior caso os outros
+     * nós servem a entrada antiga até o TTL do L1 expirar.
+     */
+    public void publish(String tipo, String... chaves) {
+        StringBuilder message = new StringBuilder(nodeId).append(SEPARATOR).append(tipo);
+        for (String chave : chaves) {
+            message.append(SEPARATOR).append(chave == null ? "" : chave);
+        }
+        try (Jedis jedis = jedisPool.getResource()) {
+            jedis.publish(CHANNEL, message.toString());
+        } catch (Exception e) {
+            logger.warn("Falha ao publicar invalidação de cache ({}): {}", tipo, e.getMessage());
+        }
+    }
+
+    private void dispatch(String message) {
+        String[] parts = message.split("\\|", -1);
+        if (parts.length < 2 || nodeId.equals(parts[0])) {
+            return;
+        }
+        List<Consumer<String[]>> tipoListeners = listeners.get(parts[1]);
+        if (tipoListeners == null) {
+            return;
+        }
+        String[] chaves = new String[parts.length - 2];
+        for (int i = 2; i < parts.length; i++) {
+            chaves[i - 2] = parts[i].isEmpty() ? null : parts[i];
+        }
+        for (Consumer<String[]> listener : tipoListeners) {
+            try {
+                listener.accept(chaves);
+            } catch (Exception e) {
+                logger.error("Erro ao aplicar invalidação de cache ({}): {}", parts[1], e.getMessage());
+            }
+        }
+    }
+
+    private void subscribeLoop() {
+        while (running) {
+            JedisPubSub pubSub = new JedisPubSub() {
+                @Override
+                public void onMessage(String channel, String message) {
+                    dispatch(message);
+                }
+            };
+            subscriber = pubSub;
+            try (Jedis jedis = RedisConfig.createDedicatedConnection()) {
+                jedis.subscribe(pubSub, CHANNEL); // Bloqueia até unsubscribe() ou queda da conexão
+            } catch (Exception e) {
+                if (!running) {
+                    break;
+                }
+                logger.warn("Assinatura de invalidação de cache caiu: {}. Reconectando...", e.getMessage());
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MS);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        JedisPubSub pubSub = subscriber;
+        try {
+            if (pubSub != null && pubSub.isSubscribed()) {
+                pubSub.unsubscribe();
+            }
+        } catch (Exception e) {
+            logger.debug("Erro ao cancelar assinatura de invalidação: {}", e.getMessage());
+        }
+        logger.info("Barramento de invalidação de cache encerrado.");
+    }
+}
@@ -0,0 +1,18 @@
+package com.cadernosegredos.cache;
+
+/**
+ * Contadores de um nível de cache (ex.: "l1" na JVM, "redis").
+ *
+ * @param tier      nome do nível
+ * @param hits      acertos
+ * @param misses    falhas
+ * @param evictions entradas removidas por tamanho/TTL (-1 quando o nível não informa)
+ * @param size      entradas atualmente no nível (-1 quando o nível não informa)
+ */
+public record CacheTierStats(String tier, long hits, long misses, long evictions, long size) {
+
+    public double hitRate() {
+        long total = hits + misses;
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+}
@@ -0,0 +1,136 @@
+package com.cadernosegredos.cache;
+
+import com.cadernosegredos.config.EnvConfig;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache L1 de listas de amigos (adjacência) dentro da JVM. Cada lista é guardada como um
+ * {@code long[]} compacto (dois longs por UUID: bits mais e menos significativos) em vez de uma
+ * {@code List<UUID>}, e o Caffeine limita o cache pelo total estimado de bytes
+ * ({@code FRIEND_CACHE_MAX_BYTES}), não pelo número de listas: uma pessoa com 10 mil amigos pesa
+ * o que pesa.
+ * <p>
+ * Cada pessoa tem uma versão, incrementada a cada invalidação dela (como a versão por pessoa do nível
+ * Redis); quem carregou do Neo4j só grava no cache se a versão daquela pessoa não mudou desde o início
+ * da carga, para não recolocar uma lista anterior a uma escrita concorrente. As versões ficam em
+ * {@value #VERSION_STRIPES} contadores indexados pelo hash do UUID: memória fixa, e uma colisão só
+ * descarta uma carga a mais, nunca aceita uma lista velha.
+ */
+public class FriendListNearCache {
+    // Cabeçalho do long[], entrada e nó do Caffeine e a chave UUID, aproximadamente
+    private static final int ENTRY_OVERHEAD_BYTES = 96;
+    private static final int VERSION_STRIPES = 4096; // Potência de 2
+
+    private final Cache<UUID, long[]> lists;
+    private final boolean enabled;
+    private final AtomicLongArray versions = new AtomicLongArray(VERSION_STRIPES);
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public FriendListNearCache(long maxBytes, Duration ttl) {
+        this.enabled = maxBytes > 0;
+        this.lists = Caffeine.newBuilder()
+                .maximumWeight(Math.max(0, maxBytes))
+                .weigher((UUID id, long[] friends) -> (int) Math.min(Integer.MAX_VALUE, weightOf(friends)))
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    public static FriendListNearCache fromEnvironment() {
+        return new FriendListNearCache(
+                EnvConfig.getLong("FRIEND_CACHE_MAX_BYTES", 32L * 1024 * 1024),
+                Duration.ofSeconds(EnvConfig.getLong("FRIEND_CACHE_TTL_SECONDS", 300)));
+    }
+
+    private static long weightOf(long[] friends) {
+        return ENTRY_OVERHEAD_BYTES + (long) friends.length * Long.BYTES;
+    }
+
+    public Optional<List<UUID>> get(UUID personId) {
+        long[] cached = lists.getIfPresent(personId);
+        if (cached == null) {
+            misses.increment();
+            return Optional.empty();
+        }
+        hits.increment();
+        return Optional.of(unpack(cached));
+    }
+
+    /**
+     * Versão atual da pessoa, a ser lida antes de carregar a lista da origem e passada para {@link #put}.
+     */
+    public long version(UUID personId) {
+        return versions.get(stripe(personId));
+    }
+
+    /**
+     * Guarda a lista se a pessoa não foi invalidada desde {@code loadVersion}.
+     */
+    public void put(UUID personId, List<UUID> friends, long loadVersion) {
+        if (!enabled || personId == null || friends == null) {
+            return;
+        }
+        long[] packed = pack(friends);
+        int stripe = stripe(personId);
+        if (versions.get(stripe) == loadVersion) {
+            lists.put(personId, packed);
+            if (versions.get(stripe) != loadVersion) {
+                lists.invalidate(personId); // Invalidação entre a checagem e o put
+            }
+        }
+    }
+
+    public void invalidate(Collection<UUID> personIds) {
+        for (UUID personId : personIds) {
+            versions.incrementAndGet(stripe(personId));
+        }
+        lists.invalidateAll(personIds);
+    }
+
+    private static int stripe(UUID personId) {
+        int h = personId.hashCode();
+        return (h ^ (h >>> 16)) & (VERSION_STRIPES - 1);
+    }
+
+    public CacheTierStats stats() {
+        return new CacheTierStats("amigos-l1", hits.sum(), misses.sum(), lists.stats().evictionCount(), lists.estimatedSize());
+    }
+
+    /**
+     * Bytes estimados ocupados pelas listas em cache (a soma dos pesos usada no limite).
+     */
+    public long getMemoryBytes() {
+        return lists.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0L))
+                .orElse(0L);
+    }
+
+    public static long[] pack(List<UUID> ids) {
+        long[] packed = new long[ids.size() * 2];
+        for (int i = 0; i < ids.size(); i++) {
+            UUID id = ids.get(i);
+            packed[2 * i] = id.getMostSignificantBits();
+            packed[2 * i + 1] = id.getLeastSignificantBits();
+        }
+        return packed;
+    }
+
+    public static List<UUID> unpack(long[] packed) {
+        List<UUID> ids = new ArrayList<>(packed.length / 2);
+        for (int i = 0; i + 1 < packed.length; i += 2) {
+            ids.add(new UUID(packed[i], packed[i + 1]));
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,39 @@
+package com.cadernosegredos.cache;
+
+import com.cadernosegredos.model.Pessoa;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Formato original do cache: JSON do Jackson (mesma configuração usada antes do formato binário,
+ * para que as entradas antigas continuem legíveis).
+ */
+public class JsonPessoaCodec implements PessoaCodec {
+    private final ObjectMapper objectMapper;
+
+    public JsonPessoaCodec() {
+        this.objectMapper = new ObjectMapper();
+        this.objectMapper.registerModule(new JavaTimeModule()); // Para serializar LocalDate
+    }
+
+    @Override
+    public byte[] encode(Pessoa pessoa) {
+        try {
+            return objectMapper.writeValueAsBytes(pessoa);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao serializar pessoa em JSON", e);
+        }
+    }
+
+    @Override
+    public Pessoa decode(byte[] data) {
+        try {
+            return objectMapper.readValue(data, Pessoa.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao desserializar pessoa em JSON", e);
+        }
+    }
+}
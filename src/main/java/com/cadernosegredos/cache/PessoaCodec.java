@@ -0,0 +1,13 @@
+package com.cadernosegredos.cache;
+
+import com.cadernosegredos.model.Pessoa;
+
+/**
+ * Serialização de {@link Pessoa} para o valor guardado no cache Redis.
+ */
+public interface PessoaCodec {
+
+    byte[] encode(Pessoa pessoa);
+
+    Pessoa decode(byte[] data);
+}
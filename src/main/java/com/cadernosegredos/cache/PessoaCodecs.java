@@ -0,0 +1,49 @@
+package com.cadernosegredos.cache;
+
+import com.cadernosegredos.config.EnvConfig;
+import com.cadernosegredos.model.Pessoa;
+
+import java.util.Locale;
+
+/**
+ * Codec usado pelo cache: grava no formato escolhido em {@code REDIS_PESSOA_CODEC} (binary ou json)
+ * e lê os dois, reconhecendo o formato pelo primeiro byte. Isso permite migrar sem esvaziar o cache:
+ * entradas JSON antigas continuam válidas até serem regravadas ou expirarem.
+ */
+public final class PessoaCodecs implements PessoaCodec {
+    private static final byte JSON_OBJECT_START = '{';
+
+    private final BinaryPessoaCodec binary = new BinaryPessoaCodec();
+    private final JsonPessoaCodec json = new JsonPessoaCodec();
+    private final PessoaCodec writer;
+
+    private PessoaCodecs(boolean writeBinary) {
+        this.writer = writeBinary ? binary : json;
+    }
+
+    public static PessoaCodec fromEnvironment() {
+        String format = EnvConfig.getString("REDIS_PESSOA_CODEC", "binary").toLowerCase(Locale.ROOT);
+        return new PessoaCodecs(!"json".equals(format));
+    }
+
+    public static PessoaCodec binary() {
+        return new PessoaCodecs(true);
+    }
+
+    public static PessoaCodec json() {
+        return new PessoaCodecs(false);
+    }
+
+    @Override
+    public byte[] encode(Pessoa pessoa) {
+        return writer.encode(pessoa);
+    }
+
+    @Override
+    public Pessoa decode(byte[] data) {
+        if (data.length > 0 && data[0] == JSON_OBJECT_START) {
+            return json.decode(data);
+        }
+        return binary.decode(data);
+    }
+}
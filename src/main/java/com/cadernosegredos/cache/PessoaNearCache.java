@@ -0,0 +1,105 @@
+package com.cadernosegredos.cache;
+
+import com.cadernosegredos.config.EnvConfig;
+import com.cadernosegredos.model.Pessoa;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache L1 dentro da JVM, na frente do Redis. Usa Caffeine (eviction W-TinyLFU) com limite de
+ * tamanho e TTL. Guarda e devolve cópias, para que quem altera a {@link Pessoa} retornada
+ * (ex.: o fluxo de atualização do App) não altere a entrada em cache. Com tamanho máximo 0 o L1
+ * fica desligado: nada é guardado e toda busca é falha.
+ */
+public class PessoaNearCache {
+    private final Cache<UUID, Pessoa> byId;
+    private final Cache<String, UUID> idByCpf;
+    private final boolean enabled;
+    // Acertos/falhas contados aqui (e não pelo Caffeine) para cobrir também as buscas por CPF
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public PessoaNearCache(long maxSize, Duration ttl) {
+        this.enabled = maxSize > 0;
+        this.byId = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.idByCpf = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public static PessoaNearCache fromEnvironment() {
+        return new PessoaNearCache(
+                EnvConfig.getLong("L1_CACHE_MAX_SIZE", 10_000),
+                Duration.ofSeconds(EnvConfig.getLong("L1_CACHE_TTL_SECONDS", 30)));
+    }
+
+    public Optional<Pessoa> getById(UUID id) {
+        return record(byId.getIfPresent(id));
+    }
+
+    public Optional<Pessoa> getByCpf(String cpf) {
+        UUID id = idByCpf.getIfPresent(cpf);
+        Pessoa cached = id == null ? null : byId.getIfPresent(id);
+        if (cached != null && !cpf.equals(cached.getCpf())) {
+            idByCpf.invalidate(cpf); // Mapeamento obsoleto
+            cached = null;
+        }
+        return record(cached);
+    }
+
+    private Optional<Pessoa> record(Pessoa cached) {
+        if (cached == null) {
+            misses.increment();
+            return Optional.empty();
+        }
+        hits.increment();
+        return Optional.of(new Pessoa(cached));
+    }
+
+    public void put(Pessoa pessoa) {
+        if (!enabled || pessoa == null || pessoa.getId() == null) {
+            return;
+        }
+        byId.put(pessoa.getId(), new Pessoa(pessoa));
+        if (pessoa.getCpf() != null) {
+            idByCpf.put(pessoa.getCpf(), pessoa.getId());
+        }
+    }
+
+    /**
+     * Remove a pessoa e os mapeamentos de CPF conhecidos (o atual, se informado, e o da entrada em cache).
+     */
+    public void invalidate(UUID id, String cpf) {
+        if (id != null) {
+            Pessoa cached = byId.getIfPresent(id);
+            if (cached != null && cached.getCpf() != null) {
+                idByCpf.invalidate(cached.getCpf());
+            }
+            byId.invalidate(id);
+        }
+        if (cpf != null) {
+            idByCpf.invalidate(cpf);
+        }
+    }
+
+    public void invalidateAll() {
+        byId.invalidateAll();
+        idByCpf.invalidateAll();
+    }
+
+    public CacheTierStats stats() {
+        CacheStats stats = byId.stats();
+        return new CacheTierStats("l1", hits.sum(), misses.sum(), stats.evictionCount(), byId.estimatedSize());
+    }
+}
@@ -0,0 +1,106 @@
+package com.cadernosegredos.concurrent;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Limita as chamadas simultâneas a um datastore. Quem chega com todas as vagas ocupadas espera
+ * até {@code acquireTimeout} (backpressure); passado esse tempo a chamada é recusada com
+ * {@link BulkheadFullException}. Esperar aqui é barato para threads virtuais e evita que milhares
+ * delas se acumulem na fila interna do pool de conexões.
+ */
+public final class Bulkhead {
+
+    public record Stats(String name,
+                        int maxConcurrent,
+                        int active,
+                        long acquired,
+                        long rejected,
+                        double avgWaitMillis,
+                        double maxWaitMillis) {
+    }
+
+    /**
+     * Vaga ocupada; deve ser liberada com try-with-resources.
+     */
+    public interface Permit extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    private final String name;
+    private final int maxConcurrent;
+    private final long acquireTimeoutNanos;
+    private final Semaphore semaphore;
+    private final Permit permit;
+    private final LongAdder acquired = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    public Bulkhead(String name, int maxConcurrent, Duration acquireTimeout) {
+        this.name = name;
+        this.maxConcurrent = Math.max(1, maxConcurrent);
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+        this.semaphore = new Semaphore(this.maxConcurrent);
+        Semaphore owned = this.semaphore;
+        this.permit = owned::release;
+    }
+
+    public Permit acquire() {
+        long start = System.nanoTime();
+        boolean ok = semaphore.tryAcquire(); // Caminho rápido, sem medir espera
+        if (!ok) {
+            try {
+                ok = semaphore.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                rejected.increment();
+                throw new BulkheadFullException(name, "Interrompido aguardando vaga no bulkhead " + name);
+            }
+            if (!ok) {
+                rejected.increment();
+                throw new BulkheadFullException(name, "Bulkhead " + name + " saturado (" + maxConcurrent
+                        + " chamadas simultâneas por mais de " + TimeUnit.NANOSECONDS.toMillis(acquireTimeoutNanos) + " ms)");
+            }
+            long waited = System.nanoTime() - start;
+            waitNanos.add(waited);
+            maxWaitNanos.accumulateAndGet(waited, Math::max);
+        }
+        acquired.increment();
+        return permit;
+    }
+
+    public <T> T call(Supplier<T> action) {
+        Permit acquiredPermit = acquire();
+        try {
+            return action.get();
+        } finally {
+            acquiredPermit.close();
+        }
+    }
+
+    public void run(Runnable action) {
+        Permit acquiredPermit = acquire();
+        try {
+            action.run();
+        } finally {
+            acquiredPermit.close();
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Stats getStats() {
+        long count = acquired.sum();
+        double avgMillis = count == 0 ? 0.0 : waitNanos.sum() / (double) count / 1_000_000.0;
+        return new Stats(name, maxConcurrent, maxConcurrent - semaphore.availablePermits(), count, rejected.sum(),
+                avgMillis, maxWaitNanos.get() / 1_000_000.0);
+    }
+}
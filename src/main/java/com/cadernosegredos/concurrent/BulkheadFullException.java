@@ -0,0 +1,20 @@
+package com.cadernosegredos.concurrent;
+
+/**
+ * Lançada quando um {@link Bulkhead} não libera uma vaga dentro do tempo de espera: o backend
+ * está saturado e a chamada é recusada em vez de entrar em uma fila sem limite.
+ */
+public class BulkheadFullException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    private final String bulkhead;
+
+    public BulkheadFullException(String bulkhead, String message) {
+        super(message);
+        this.bulkhead = bulkhead;
+    }
+
+    public String getBulkhead() {
+        return bulkhead;
+    }
+}
@@ -0,0 +1,29 @@
+package com.cadernosegredos.concurrent;
+
+import com.cadernosegredos.config.EnvConfig;
+import com.cadernosegredos.config.Neo4jConfig;
+import com.cadernosegredos.config.PostgresConfig;
+import com.cadernosegredos.config.RedisConfig;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Um {@link Bulkhead} por datastore chamado pelas requisições, dimensionado pelo pool de conexões de
+ * cada um: mais chamadas simultâneas que conexões só formariam fila dentro do pool. O MongoDB não tem:
+ * só recebe a auditoria, gravada por um único writer.
+ */
+public record Bulkheads(Bulkhead postgres, Bulkhead redis, Bulkhead neo4j) {
+
+    public static Bulkheads fromEnvironment() {
+        Duration timeout = Duration.ofMillis(EnvConfig.getLong("BULKHEAD_ACQUIRE_TIMEOUT_MS", 1_000));
+        return new Bulkheads(
+                new Bulkhead("postgres", EnvConfig.getInt("BULKHEAD_POSTGRES_MAX", PostgresConfig.getMaxPoolSize()), timeout),
+                new Bulkhead("redis", EnvConfig.getInt("BULKHEAD_REDIS_MAX", RedisConfig.getMaxTotal()), timeout),
+                new Bulkhead("neo4j", EnvConfig.getInt("BULKHEAD_NEO4J_MAX", Neo4jConfig.getMaxPoolSize()), timeout));
+    }
+
+    public List<Bulkhead.Stats> getStats() {
+        return List.of(postgres.getStats(), redis.getStats(), neo4j.getStats());
+    }
+}
@@ -0,0 +1,105 @@
+package com.cadernosegredos.concurrent;
+
+import com.cadernosegredos.config.EnvConfig;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Executa etapas independentes de um fluxo em paralelo (uma thread virtual por etapa), cada uma
+ * com seu próprio tempo limite, para que a latência do fluxo seja a da etapa mais lenta e não a
+ * soma de todas. Os limites padrão por datastore vêm de {@code STEP_TIMEOUT_*_MS}.
+ */
+public final class FanOut {
+    private final Executor executor;
+    private final Duration postgresTimeout;
+    private final Duration redisTimeout;
+    private final Duration neo4jTimeout;
+
+    public FanOut(Executor executor, Duration postgresTimeout, Duration redisTimeout, Duration neo4jTimeout) {
+        this.executor = executor;
+        this.postgresTimeout = postgresTimeout;
+        this.redisTimeout = redisTimeout;
+        this.neo4jTimeout = neo4jTimeout;
+    }
+
+    public static FanOut fromEnvironment() {
+        return new FanOut(Executors.newVirtualThreadPerTaskExecutor(),
+                Duration.ofMillis(EnvConfig.getLong("STEP_TIMEOUT_POSTGRES_MS", 3_000)),
+                Duration.ofMillis(EnvConfig.getLong("STEP_TIMEOUT_REDIS_MS", 500)),
+                Duration.ofMillis(EnvConfig.getLong("STEP_TIMEOUT_NEO4J_MS", 3_000)));
+    }
+
+    public Duration postgresTimeout() {
+        return postgresTimeout;
+    }
+
+    public Duration redisTimeout() {
+        return redisTimeout;
+    }
+
+    public Duration neo4jTimeout() {
+        return neo4jTimeout;
+    }
+
+    /**
+     * Inicia a etapa em uma thread virtual, no {@link RequestScope} de quem a iniciou. Se ela não
+     * terminar em {@code timeout} o future falha com {@link StepTimeoutException}.
+     */
+    public <T> CompletableFuture<T> supply(String step, Duration timeout, Supplier<T> action) {
+        return within(step, timeout, CompletableFuture.supplyAsync(RequestScope.propagate(action), executor));
+    }
+
+    /**
+     * Aplica o tempo limite de etapa a uma operação já em andamento (ex.: o future de um adaptador
+     * não bloqueante), sem ocupar thread alguma enquanto espera.
+     */
+    public static <T> CompletableFuture<T> within(String step, Duration timeout, CompletableFuture<T> operation) {
+        return operation.copy()
+                .orTimeout(timeout.toNanos(), TimeUnit.NANOSECONDS)
+                .handle((value, error) -> {
+                    if (error == null) {
+                        return value;
+                    }
+                    Throwable cause = unwrap(error);
+                    if (cause instanceof TimeoutException) {
+                        throw new StepTimeoutException(step, timeout);
+                    }
+                    throw cause instanceof RuntimeException runtime ? runtime : new CompletionException(cause);
+                });
+    }
+
+    public CompletableFuture<Void> run(String step, Duration timeout, Runnable action) {
+        return supply(step, timeout, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * A falha original de um future encadeado (sem o {@link CompletionException} em volta).
+     */
+    public static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    /**
+     * Aguarda a etapa e relança a falha dela como está (sem o {@link CompletionException} em volta).
+     */
+    public static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw e;
+        }
+    }
+}
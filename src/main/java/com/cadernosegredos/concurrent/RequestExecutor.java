@@ -0,0 +1,133 @@
+package com.cadernosegredos.concurrent;
+
+import com.cadernosegredos.config.EnvConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Executa cada chamada de serviço em uma thread virtual própria, com um {@link RequestScope} novo.
+ * O número de requisições em andamento é limitado ({@code REQUEST_MAX_IN_FLIGHT}): com o limite
+ * atingido, {@link #submit} espera até {@code REQUEST_ADMISSION_TIMEOUT_MS} por uma vaga e então
+ * recusa a requisição com {@link RejectedExecutionException}. A concorrência por datastore é limitada pelos {@link Bulkheads}.
+ */
+public final class RequestExecutor implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(RequestExecutor.class);
+
+    public record Stats(long submitted, long rejected, long completed, long failed, int inFlight) {
+    }
+
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("request-", 0).factory());
+    private final int maxInFlight;
+    private final long admissionTimeoutNanos;
+    private final Semaphore admission;
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    public RequestExecutor(int maxInFlight, Duration admissionTimeout) {
+        this.maxInFlight = Math.max(1, maxInFlight);
+        this.admissionTimeoutNanos = admissionTimeout.toNanos();
+        this.admission = new Semaphore(this.maxInFlight);
+    }
+
+    public static RequestExecutor fromEnvironment() {
+        RequestExecutor executor = new RequestExecutor(
+                EnvConfig.getInt("REQUEST_MAX_IN_FLIGHT", 10_000),
+                Duration.ofMillis(EnvConfig.getLong("REQUEST_ADMISSION_TIMEOUT_MS", 1_000)));
+        logger.info("Executor de requisições em threads virtuais iniciado (máx. {} em andamento).", executor.maxInFlight);
+        return executor;
+    }
+
+    /**
+     * Agenda a requisição em uma nova thread virtual. A thread chamadora só bloqueia (no máximo
+     * pelo tempo de admissão) quando o limite de requisições em andamento foi atingido.
+     */
+    public <T> CompletableFuture<T> submit(Callable<T> task) {
+        boolean admitted;
+        try {
+            admitted = admission.tryAcquire(admissionTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            admitted = false;
+        }
+        if (!admitted) {
+            rejected.increment();
+            return CompletableFuture.failedFuture(new RejectedExecutionException(
+                    "Limite de " + maxInFlight + " requisições em andamento atingido"));
+        }
+        submitted.increment();
+        CompletableFuture<T> future = new CompletableFuture<>();
+        RequestScope scope = new RequestScope(); // Um escopo por requisição, descartado ao final
+        try {
+            executor.execute(() -> {
+                try {
+                    T result = scope.call(task);
+                    completed.increment();
+                    future.complete(result);
+                } catch (Throwable t) {
+                    failed.increment();
+                    future.completeExceptionally(t);
+                } finally {
+                    admission.release();
+                }
+            });
+        } catch (RejectedExecutionException e) { // Executor já encerrado
+            admission.release();
+            rejected.increment();
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * Executa a requisição em uma thread virtual e aguarda o resultado. Exceções não verificadas
+     * da tarefa são relançadas como estão; as verificadas vêm embrulhadas em {@link CompletionException}.
+     */
+    public <T> T execute(Callable<T> task) {
+        try {
+            return submit(task).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    public void run(Runnable task) {
+        execute(() -> {
+            task.run();
+            return null;
+        });
+    }
+
+    public Stats getStats() {
+        return new Stats(submitted.sum(), rejected.sum(), completed.sum(), failed.sum(),
+                maxInFlight - admission.availablePermits());
+    }
+
+    /**
+     * Para de aceitar requisições e aguarda as que estão em andamento.
+     */
+    @Override
+    public void close() {
+        executor.close();
+        logger.info("Executor de requisições encerrado: {}", getStats());
+    }
+}
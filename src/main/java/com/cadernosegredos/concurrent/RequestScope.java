@@ -0,0 +1,77 @@
+package com.cadernosegredos.concurrent;
+
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+
+/**
+ * Estado de uma requisição compartilhado por todas as threads que trabalham nela: a thread virtual
+ * aberta pelo {@link RequestExecutor} e as etapas que ela dispara no {@link FanOut}, que recebem o
+ * escopo de quem as iniciou. Termina com a requisição; nada sobrevive na thread depois dela.
+ * <p>
+ * Hoje guarda o instante da última escrita no primário do PostgreSQL, usado pelo leia-o-que-escreveu
+ * das leituras em réplicas. Fora de uma requisição (inicialização, migrações), cada thread usa um
+ * escopo próprio.
+ */
+public final class RequestScope {
+    private static final ThreadLocal<RequestScope> CURRENT = new ThreadLocal<>();
+
+    private volatile long lastWriteNanos;
+    private volatile boolean written;
+
+    /**
+     * Escopo da requisição atual, ou o da thread se ela não estiver em uma requisição.
+     */
+    public static RequestScope current() {
+        RequestScope scope = CURRENT.get();
+        if (scope == null) {
+            scope = new RequestScope();
+            CURRENT.set(scope);
+        }
+        return scope;
+    }
+
+    /**
+     * Executa {@code task} com este escopo como o atual e restaura o anterior ao final.
+     */
+    public <T> T call(Callable<T> task) throws Exception {
+        RequestScope previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return task.call();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Embrulha {@code action} para rodar, em outra thread, no escopo atual de quem a criou.
+     */
+    public static <T> Supplier<T> propagate(Supplier<T> action) {
+        RequestScope scope = current();
+        return () -> {
+            try {
+                return scope.call(action::get);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IllegalStateException(e); // Supplier não lança verificadas
+            }
+        };
+    }
+
+    public void markWrite() {
+        lastWriteNanos = System.nanoTime();
+        written = true;
+    }
+
+    /**
+     * Se a requisição escreveu nos últimos {@code windowNanos}.
+     */
+    public boolean wroteWithin(long windowNanos) {
+        return written && System.nanoTime() - lastWriteNanos < windowNanos;
+    }
+}
@@ -0,0 +1,22 @@
+package com.cadernosegredos.concurrent;
+
+import java.time.Duration;
+
+/**
+ * Uma etapa de um {@link FanOut} não terminou dentro do tempo limite. A etapa pode continuar em
+ * segundo plano (não é interrompida); quem espera o resultado apenas deixa de esperar.
+ */
+public class StepTimeoutException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    private final String step;
+
+    public StepTimeoutException(String step, Duration timeout) {
+        super("Tempo esgotado na etapa '" + step + "' (" + timeout.toMillis() + " ms)");
+        this.step = step;
+    }
+
+    public String getStep() {
+        return step;
+    }
+}
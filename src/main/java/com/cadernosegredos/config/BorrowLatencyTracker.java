@@ -0,0 +1,56 @@
+package com.cadernosegredos.config;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Coleta a latência de empréstimo de conexões do HikariCP e combina com o {@link PoolStats}
+ * do pool para gerar um {@link PostgresPoolMetrics}.
+ */
+class BorrowLatencyTracker implements MetricsTrackerFactory, IMetricsTracker {
+    private final LongAdder borrows = new LongAdder();
+    private final LongAdder borrowNanos = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final AtomicLong maxBorrowNanos = new AtomicLong();
+    private volatile String poolName;
+    private volatile PoolStats poolStats;
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        this.poolName = poolName;
+        this.poolStats = poolStats;
+        return this;
+    }
+
+    @Override
+    public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+        borrows.increment();
+        borrowNanos.add(elapsedAcquiredNanos);
+        maxBorrowNanos.accumulateAndGet(elapsedAcquiredNanos, Math::max);
+    }
+
+    @Override
+    public void recordConnectionTimeout() {
+        timeouts.increment();
+    }
+
+    PostgresPoolMetrics snapshot() {
+        PoolStats stats = poolStats;
+        long count = borrows.sum();
+        double avgMillis = count == 0 ? 0.0 : borrowNanos.sum() / (double) count / 1_000_000.0;
+        return new PostgresPoolMetrics(
+                poolName,
+                stats == null ? 0 : stats.getActiveConnections(),
+                stats == null ? 0 : stats.getIdleConnections(),
+                stats == null ? 0 : stats.getTotalConnections(),
+                stats == null ? 0 : stats.getPendingThreads(),
+                count,
+                timeouts.sum(),
+                avgMillis,
+                maxBorrowNanos.get() / 1_000_000.0);
+    }
+}
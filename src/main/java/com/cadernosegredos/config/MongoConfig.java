@@ -1,5 +1,7 @@
 package com.cadernosegredos.config;
 
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoClients;
 import com.mongodb.client.MongoDatabase;
@@ -9,33 +11,65 @@ import org.slf4j.LoggerFactory;
 public class MongoConfig {
     private static final Logger logger = LoggerFactory.getLogger(MongoConfig.class);
 
-    private static final String CONNECTION_STRING = "mongodb://localhost:27017";
-    private static final String DATABASE_NAME = "cadernosegredos_mongo_db";
-
-    public static MongoClient getMongoClient() {
-        MongoClient mongoClient = null;
-        try {
-            mongoClient = MongoClients.create(CONNECTION_STRING);
-            mongoClient.listDatabaseNames().first(); // Testa a conexão listando os nomes dos bancos
-            logger.info("Conexão com MongoDB estabelecida com sucesso.");
-        } catch (Exception e) {
-            logger.error("Erro ao conectar ao MongoDB: {}", e.getMessage());
-            if (mongoClient != null) {
-                mongoClient.close(); // Garante que a conexão seja fechada em caso de erro
+    private static final String CONNECTION_STRING = EnvConfig.getString("MONGO_URI", "mongodb://localhost:27017");
+    private static final String DATABASE_NAME = EnvConfig.getString("MONGO_DATABASE", "cadernosegredos_mongo_db");
+    private static final int MAX_POOL_SIZE = EnvConfig.getInt("MONGO_MAX_POOL_SIZE", 100); // Padrão do driver
+
+    private static MongoClient mongoClient; // instância única reutilizada por todo o processo
+    private static com.mongodb.reactivestreams.client.MongoClient reactiveClient; // Driver reactive streams (assíncrono)
+
+    public static synchronized MongoClient getMongoClient() {
+        if (mongoClient == null) {
+            try {
+                mongoClient = MongoClients.create(clientSettings());
+                mongoClient.listDatabaseNames().first(); // Testa a conexão listando os nomes dos bancos
+                logger.info("Conexão com MongoDB estabelecida com sucesso.");
+            } catch (Exception e) {
+                logger.error("Erro ao conectar ao MongoDB: {}", e.getMessage());
+                if (mongoClient != null) {
+                    mongoClient.close(); // Garante que a conexão seja fechada em caso de erro
+                }
+                mongoClient = null;
             }
-            mongoClient = null;
         }
         return mongoClient;
     }
 
-    public static MongoDatabase getMongoDatabase(MongoClient mongoClient) {
-        if (mongoClient != null) {
-            return mongoClient.getDatabase(DATABASE_NAME);
+    private static MongoClientSettings clientSettings() {
+        return MongoClientSettings.builder()
+                .applyConnectionString(new ConnectionString(CONNECTION_STRING))
+                .applyToConnectionPoolSettings(pool -> pool.maxSize(MAX_POOL_SIZE))
+                .build();
+    }
+
+    /**
+     * Banco pelo driver reactive streams. A conexão é aberta sob demanda, na primeira operação.
+     */
+    public static synchronized com.mongodb.reactivestreams.client.MongoDatabase getReactiveMongoDatabase() {
+        if (reactiveClient == null) {
+            reactiveClient = com.mongodb.reactivestreams.client.MongoClients.create(clientSettings());
+            logger.info("Cliente MongoDB reactive streams inicializado.");
+        }
+        return reactiveClient.getDatabase(DATABASE_NAME);
+    }
+
+    public static MongoDatabase getMongoDatabase() {
+        MongoClient client = getMongoClient();
+        if (client != null) {
+            return client.getDatabase(DATABASE_NAME);
         }
         return null;
     }
 
-    public static void closeMongoClient(MongoClient mongoClient) {
+    public static int getMaxPoolSize() {
+        return MAX_POOL_SIZE;
+    }
+
+    public static synchronized void closeMongoClient() {
+        if (reactiveClient != null) {
+            reactiveClient.close();
+            reactiveClient = null;
+        }
         if (mongoClient != null) {
             try {
                 mongoClient.close();
@@ -43,6 +77,7 @@ public class MongoConfig {
             } catch (Exception e) {
                 logger.error("Erro ao fechar conexão com MongoDB: {}", e.getMessage());
             }
+            mongoClient = null;
         }
     }
-}
\ No newline at end of file
+}
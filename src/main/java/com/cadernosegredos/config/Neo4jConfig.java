@@ -1,63 +1,104 @@
 package com.cadernosegredos.config;
 
-import com.mongodb.client.MongoClient;
-import com.mongodb.client.MongoClients;
-import com.mongodb.client.MongoDatabase;
+import org.neo4j.driver.AuthTokens;
+import org.neo4j.driver.Config;
+import org.neo4j.driver.ConnectionPoolMetrics;
+import org.neo4j.driver.Driver;
+import org.neo4j.driver.GraphDatabase;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-public class MongoConfig {
-    private static final Logger logger = LoggerFactory.getLogger(MongoConfig.class);
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
-    private static final String CONNECTION_STRING = "mongodb://localhost:27017";
-    private static final String DATABASE_NAME = "cadernosegredos_mongo_db";
+/**
+ * Driver Neo4j único do processo (thread-safe; as sessões é que são leves e descartáveis), com o
+ * pool de conexões dimensionado por variáveis de ambiente. O esquema {@code neo4j://} roteia
+ * leituras e escritas entre os membros de um cluster; {@code bolt://} fala com um único servidor.
+ */
+public class Neo4jConfig {
+    private static final Logger logger = LoggerFactory.getLogger(Neo4jConfig.class);
 
-    private static MongoClient mongoClient; // instância reutilizável
+    private static final String URI = EnvConfig.getString("NEO4J_URI", "neo4j://localhost:7687");
+    private static final String USER = EnvConfig.getString("NEO4J_USER", "neo4j");
+    private static final String PASSWORD = EnvConfig.getString("NEO4J_PASSWORD", "password");
+    private static final int MAX_POOL_SIZE = EnvConfig.getInt("NEO4J_MAX_CONNECTION_POOL_SIZE", 100); // Padrão do driver
+    private static final long ACQUISITION_TIMEOUT_MS = EnvConfig.getLong("NEO4J_CONNECTION_ACQUISITION_TIMEOUT_MS", 5_000);
+    private static final long MAX_CONNECTION_LIFETIME_MS = EnvConfig.getLong("NEO4J_MAX_CONNECTION_LIFETIME_MS", 3_600_000);
+    // Conexões ociosas há mais que isto são testadas antes do empréstimo (-1 desliga)
+    private static final long LIVENESS_CHECK_MS = EnvConfig.getLong("NEO4J_LIVENESS_CHECK_TIMEOUT_MS", 30_000);
+    private static final long CONNECTION_TIMEOUT_MS = EnvConfig.getLong("NEO4J_CONNECTION_TIMEOUT_MS", 5_000);
 
-    public static MongoClient getMongoClient() {
-        if (mongoClient == null) {
+    private static Driver driver; // instância única reutilizada por todo o processo
+
+    public static synchronized Driver getDriver() {
+        if (driver == null) {
             try {
-                mongoClient = MongoClients.create(CONNECTION_STRING);
-                mongoClient.listDatabaseNames().first(); // Testa conexão
-                logger.info("Conexão com MongoDB estabelecida com sucesso.");
+                driver = GraphDatabase.driver(URI, AuthTokens.basic(USER, PASSWORD), driverConfig());
+                driver.verifyConnectivity(); // Falha já na inicialização se o servidor estiver fora ou as credenciais erradas
+                logger.info("Conexão com Neo4j estabelecida com sucesso em {} (pool máximo {}, fetch size {}).",
+                        URI, MAX_POOL_SIZE, Neo4jSessions.getFetchSize());
             } catch (Exception e) {
-                logger.error("Erro ao conectar ao MongoDB: {}", e.getMessage());
-                if (mongoClient != null) {
-                    mongoClient.close();
+                logger.error("Erro ao conectar ao Neo4j em {}: {}", URI, e.getMessage());
+                if (driver != null) {
+                    driver.close(); // Garante que o pool seja fechado em caso de erro
                 }
-                mongoClient = null;
+                driver = null;
             }
         }
-        return mongoClient;
+        return driver;
     }
 
-    public static MongoDatabase getMongoDatabase() {
-        if (mongoClient != null) {
-            return mongoClient.getDatabase(DATABASE_NAME);
+    private static Config driverConfig() {
+        Config.ConfigBuilder builder = Config.builder()
+                .withMaxConnectionPoolSize(MAX_POOL_SIZE)
+                .withConnectionAcquisitionTimeout(ACQUISITION_TIMEOUT_MS, TimeUnit.MILLISECONDS)
+                .withMaxConnectionLifetime(MAX_CONNECTION_LIFETIME_MS, TimeUnit.MILLISECONDS)
+                .withConnectionTimeout(CONNECTION_TIMEOUT_MS, TimeUnit.MILLISECONDS)
+                .withFetchSize(Neo4jSessions.getFetchSize())
+                .withDriverMetrics();
+        if (LIVENESS_CHECK_MS >= 0) {
+            builder.withConnectionLivenessCheckTimeout(LIVENESS_CHECK_MS, TimeUnit.MILLISECONDS);
         }
-        return null;
+        return builder.build();
     }
 
-    public static void closeMongoClient() {
-        if (mongoClient != null) {
-            try {
-                mongoClient.close();
-                logger.info("Conexão com MongoDB fechada.");
-            } catch (Exception e) {
-                logger.error("Erro ao fechar conexão com MongoDB: {}", e.getMessage());
+    /**
+     * Métricas atuais de cada pool do driver (um por servidor); vazia se o driver não foi criado.
+     */
+    public static synchronized List<Neo4jPoolMetrics> getPoolMetrics() {
+        List<Neo4jPoolMetrics> metrics = new ArrayList<>();
+        if (driver == null) {
+            return metrics;
+        }
+        try {
+            for (ConnectionPoolMetrics pool : driver.metrics().connectionPoolMetrics()) {
+                long acquired = pool.acquired();
+                double avgAcquisitionMillis = acquired == 0 ? 0.0 : (double) pool.totalAcquisitionTime() / acquired;
+                metrics.add(new Neo4jPoolMetrics(pool.id(), pool.inUse(), pool.idle(), pool.creating(), pool.acquiring(),
+                        pool.created(), pool.failedToCreate(), pool.closed(), acquired, pool.timedOutToAcquire(),
+                        avgAcquisitionMillis));
             }
+        } catch (Exception e) {
+            logger.warn("Erro ao ler métricas do pool Neo4j: {}", e.getMessage());
         }
+        return metrics;
+    }
+
+    public static int getMaxPoolSize() {
+        return MAX_POOL_SIZE;
     }
 
-    // Versão com argumento ainda mantida para compatibilidade, se necessário
-    public static void closeMongoClient(MongoClient externalClient) {
-        if (externalClient != null) {
+    public static synchronized void closeDriver() {
+        if (driver != null) {
             try {
-                externalClient.close();
-                logger.info("Conexão externa com MongoDB fechada.");
+                driver.close();
+                logger.info("Driver Neo4j fechado.");
             } catch (Exception e) {
-                logger.error("Erro ao fechar conexão externa com MongoDB: {}", e.getMessage());
+                logger.error("Erro ao fechar driver Neo4j: {}", e.getMessage());
             }
+            driver = null;
         }
     }
 }
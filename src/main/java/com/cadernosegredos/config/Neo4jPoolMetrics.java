@@ -0,0 +1,30 @@
+package com.cadernosegredos.config;
+
+/**
+ * Fotografia das métricas do pool de conexões do driver Neo4j para um servidor (em um cluster o
+ * driver mantém um pool por membro).
+ *
+ * @param poolId                 identificador do pool (endereço do servidor)
+ * @param inUse                  conexões emprestadas no momento
+ * @param idle                   conexões ociosas disponíveis
+ * @param creating               conexões sendo abertas
+ * @param acquiring              threads aguardando uma conexão
+ * @param created                conexões abertas desde a inicialização
+ * @param failedToCreate         aberturas de conexão que falharam
+ * @param closed                 conexões fechadas desde a inicialização
+ * @param acquired               empréstimos concluídos desde a inicialização
+ * @param timedOutToAcquire      empréstimos que estouraram o timeout de aquisição
+ * @param avgAcquisitionMillis   latência média de aquisição, em milissegundos
+ */
+public record Neo4jPoolMetrics(String poolId,
+                               int inUse,
+                               int idle,
+                               int creating,
+                               int acquiring,
+                               long created,
+                               long failedToCreate,
+                               long closed,
+                               long acquired,
+                               long timedOutToAcquire,
+                               double avgAcquisitionMillis) {
+}
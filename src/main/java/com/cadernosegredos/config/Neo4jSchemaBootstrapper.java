@@ -0,0 +1,155 @@
+package com.cadernosegredos.config;
+
+import org.neo4j.driver.Driver;
+import org.neo4j.driver.Record;
+import org.neo4j.driver.Session;
+import org.neo4j.driver.Value;
+import org.neo4j.driver.exceptions.Neo4jException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cria, de forma idempotente, as constraints e índices de que as consultas do Neo4j dependem e
+ * espera que fiquem ONLINE. Sem a constraint de unicidade em {@code :Person(id)} todo
+ * {@code MERGE}/{@code MATCH (p:Person {id: ...})} varre o rótulo inteiro e MERGEs concorrentes
+ * podem criar nós duplicados; o índice RANGE que a sustenta atende também às buscas por ID.
+ */
+public class Neo4jSchemaBootstrapper {
+    private static final Logger logger = LoggerFactory.getLogger(Neo4jSchemaBootstrapper.class);
+    private static final long POLL_INTERVAL_MS = 200;
+
+    /**
+     * Objeto de esquema exigido: {@code IF NOT EXISTS} torna a criação segura a cada inicialização e
+     * entre vários nós subindo ao mesmo tempo.
+     */
+    record SchemaObject(String name, String label, String property, String cypher) {
+    }
+
+    private static final List<SchemaObject> SCHEMA = List.of(
+            new SchemaObject("person_id_unique", "Person", "id",
+                    "CREATE CONSTRAINT person_id_unique IF NOT EXISTS FOR (p:Person) REQUIRE p.id IS UNIQUE"));
+
+    // Só índices que sustentam uma constraint (unicidade ou node key): um índice RANGE/TEXT comum em
+    // :Person(id) não garante unicidade. Os índices LOOKUP (sem rótulo/propriedade) ficam de fora.
+    // Procura pelo rótulo/propriedade (e não pelo nome): um equivalente criado com outro nome também serve.
+    private static final String SHOW_INDEXES =
+            "SHOW INDEXES YIELD name, state, populationPercent, labelsOrTypes, properties, owningConstraint " +
+            "WHERE owningConstraint IS NOT NULL AND labelsOrTypes IS NOT NULL AND properties IS NOT NULL " +
+            "RETURN name, state, populationPercent, labelsOrTypes, properties";
+
+    private final Driver driver;
+    private final Duration onlineTimeout;
+    private volatile Neo4jSchemaStatus lastStatus = new Neo4jSchemaStatus(false, List.of(), "Esquema ainda não verificado.");
+
+    public Neo4jSchemaBootstrapper(Driver driver, Duration onlineTimeout) {
+        this.driver = driver;
+        this.onlineTimeout = onlineTimeout;
+    }
+
+    public static Neo4jSchemaBootstrapper fromEnvironment(Driver driver) {
+        return new Neo4jSchemaBootstrapper(driver,
+                Duration.ofMillis(EnvConfig.getLong("NEO4J_SCHEMA_ONLINE_TIMEOUT_MS", 60_000)));
+    }
+
+    /**
+     * Cria o que faltar e espera até {@code NEO4J_SCHEMA_ONLINE_TIMEOUT_MS} pelos índices ONLINE
+     * (a população de um índice novo em um grafo grande é feita em segundo plano pelo Neo4j).
+     */
+    public Neo4jSchemaStatus bootstrap() {
+        if (driver == null) {
+            return remember(new Neo4jSchemaStatus(false, List.of(), "Driver Neo4j indisponível."));
+        }
+        // Comandos de esquema em auto-commit (não podem dividir transação com escritas de dados),
+        // no mesmo banco das demais sessões
+        try (Session session = driver.session(Neo4jSessions.write())) {
+            for (SchemaObject object : SCHEMA) {
+                session.run(object.cypher()).consume();
+                logger.info("Esquema Neo4j garantido: {} em :{}({}).", object.name(), object.label(), object.property());
+            }
+        } catch (Neo4jException e) {
+            // Ex.: nós :Person com id duplicado impedem a criação da constraint
+            logger.error("Erro ao criar esquema do Neo4j: {}", e.getMessage());
+            return remember(new Neo4jSchemaStatus(false, List.of(), "Falha ao criar esquema: " + e.getMessage()));
+        }
+        return awaitOnline();
+    }
+
+    private Neo4jSchemaStatus awaitOnline() {
+        long deadline = System.nanoTime() + onlineTimeout.toNanos();
+        Neo4jSchemaStatus status = checkStatus();
+        while (!status.ready() && status.error() == null && System.nanoTime() < deadline) {
+            logger.info("Aguardando índices do Neo4j ficarem ONLINE: {}", status.items());
+            try {
+                Thread.sleep(POLL_INTERVAL_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            status = checkStatus();
+        }
+        if (status.ready()) {
+            logger.info("Esquema do Neo4j ONLINE: {}", status.items());
+        } else if (status.error() == null) {
+            status = new Neo4jSchemaStatus(false, status.items(),
+                    "Índices não ficaram ONLINE em " + onlineTimeout.toMillis() + " ms.");
+            logger.error("Esquema do Neo4j não está pronto: {}", status);
+        }
+        return remember(status);
+    }
+
+    /**
+     * Consulta o estado atual dos índices esperados (usado também pelo endpoint de saúde).
+     */
+    public Neo4jSchemaStatus checkStatus() {
+        if (driver == null) {
+            return remember(new Neo4jSchemaStatus(false, List.of(), "Driver Neo4j indisponível."));
+        }
+        try (Session session = driver.session(Neo4jSessions.read())) {
+            List<Record> indexes = session.executeRead(tx -> tx.run(SHOW_INDEXES).list(), Neo4jSessions.txConfig());
+            List<Neo4jSchemaStatus.Item> items = new ArrayList<>(SCHEMA.size());
+            boolean ready = true;
+            String error = null;
+            for (SchemaObject object : SCHEMA) {
+                Neo4jSchemaStatus.Item item = new Neo4jSchemaStatus.Item(object.name(), object.label(), object.property(), "MISSING", 0.0);
+                for (Record index : indexes) {
+                    if (matches(index, object)) {
+                        item = new Neo4jSchemaStatus.Item(index.get("name").asString(), object.label(), object.property(),
+                                index.get("state").asString(), index.get("populationPercent").asDouble(0.0));
+                        break;
+                    }
+                }
+                items.add(item);
+                ready &= "ONLINE".equals(item.state());
+                if ("FAILED".equals(item.state())) {
+                    error = "Índice " + item.name() + " em estado FAILED.";
+                }
+            }
+            return remember(new Neo4jSchemaStatus(ready, items, error));
+        } catch (Neo4jException e) {
+            logger.warn("Erro ao consultar esquema do Neo4j: {}", e.getMessage());
+            return remember(new Neo4jSchemaStatus(false, List.of(), "Falha ao consultar índices: " + e.getMessage()));
+        }
+    }
+
+    // Nulos tratados à parte: asList() em NULL lança Uncoercible
+    static boolean matches(Record index, SchemaObject object) {
+        Value labels = index.get("labelsOrTypes");
+        Value properties = index.get("properties");
+        return !labels.isNull() && !properties.isNull()
+                && labels.asList(Value::asString).equals(List.of(object.label()))
+                && properties.asList(Value::asString).equals(List.of(object.property()));
+    }
+
+    public Neo4jSchemaStatus getLastStatus() {
+        return lastStatus;
+    }
+
+    private Neo4jSchemaStatus remember(Neo4jSchemaStatus status) {
+        lastStatus = status;
+        return status;
+    }
+}
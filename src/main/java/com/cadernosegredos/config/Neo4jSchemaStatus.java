@@ -0,0 +1,17 @@
+package com.cadernosegredos.config;
+
+import java.util.List;
+
+/**
+ * Estado do esquema do Neo4j (constraints e índices exigidos pela aplicação), segundo a última
+ * consulta a {@code SHOW INDEXES}. {@code ready} só é verdadeiro com todos os índices ONLINE.
+ */
+public record Neo4jSchemaStatus(boolean ready, List<Item> items, String error) {
+
+    /**
+     * Um objeto de esquema esperado; {@code state} é o do índice no Neo4j (ONLINE, POPULATING,
+     * FAILED) ou {@code MISSING} quando ele não existe.
+     */
+    public record Item(String name, String label, String property, String state, double populationPercent) {
+    }
+}
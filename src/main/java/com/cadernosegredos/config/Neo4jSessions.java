@@ -0,0 +1,82 @@
+package com.cadernosegredos.config;
+
+import org.neo4j.driver.AccessMode;
+import org.neo4j.driver.Bookmark;
+import org.neo4j.driver.BookmarkManager;
+import org.neo4j.driver.BookmarkManagerConfig;
+import org.neo4j.driver.BookmarkManagers;
+import org.neo4j.driver.SessionConfig;
+import org.neo4j.driver.TransactionConfig;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Configuração comum das sessões e transações Neo4j, criada uma vez e reutilizada por todos os
+ * repositórios: banco ({@code NEO4J_DATABASE}; vazio usa o padrão do servidor), fetch size
+ * ({@code NEO4J_FETCH_SIZE}) e tempo limite de transação ({@code NEO4J_TX_TIMEOUT_MS}).
+ * <p>
+ * Sessões de leitura ({@link AccessMode#READ}) são roteadas pelo driver para os seguidores de um
+ * cluster; as de escrita, para o líder. Todas compartilham um {@link BookmarkManager}: uma leitura
+ * feita depois de uma escrita deste processo espera o seguidor alcançar essa escrita (consistência
+ * causal), sem passar bookmarks de mão em mão.
+ */
+public final class Neo4jSessions {
+    private static final String DATABASE = EnvConfig.getString("NEO4J_DATABASE", null);
+    private static final int FETCH_SIZE = EnvConfig.getInt("NEO4J_FETCH_SIZE", 1_000);
+    private static final BookmarkManager BOOKMARK_MANAGER =
+            BookmarkManagers.defaultManager(BookmarkManagerConfig.builder().build());
+    private static final SessionConfig READ = build(AccessMode.READ);
+    private static final SessionConfig WRITE = build(AccessMode.WRITE);
+    private static final TransactionConfig TX_CONFIG = TransactionConfig.builder()
+            .withTimeout(Duration.ofMillis(EnvConfig.getLong("NEO4J_TX_TIMEOUT_MS", 5_000)))
+            .build();
+
+    private Neo4jSessions() {
+    }
+
+    private static SessionConfig build(AccessMode accessMode) {
+        SessionConfig.Builder builder = SessionConfig.builder()
+                .withDefaultAccessMode(accessMode)
+                .withFetchSize(FETCH_SIZE)
+                .withBookmarkManager(BOOKMARK_MANAGER);
+        if (DATABASE != null) {
+            builder.withDatabase(DATABASE);
+        }
+        return builder.build();
+    }
+
+    public static SessionConfig forAccessMode(AccessMode accessMode) {
+        return accessMode == AccessMode.READ ? READ : WRITE;
+    }
+
+    public static SessionConfig read() {
+        return READ;
+    }
+
+    public static SessionConfig write() {
+        return WRITE;
+    }
+
+    /**
+     * Tempo limite padrão das transações gerenciadas ({@code executeRead}/{@code executeWrite}).
+     */
+    public static TransactionConfig txConfig() {
+        return TX_CONFIG;
+    }
+
+    /**
+     * Bookmarks mais recentes conhecidos por este processo (diagnóstico).
+     */
+    public static Set<Bookmark> getBookmarks() {
+        return BOOKMARK_MANAGER.getBookmarks();
+    }
+
+    public static String getDatabase() {
+        return DATABASE;
+    }
+
+    public static int getFetchSize() {
+        return FETCH_SIZE;
+    }
+}
@@ -1,54 +1,263 @@
 package com.cadernosegredos.config;
 
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
 import java.sql.Connection;
-import java.sql.DriverManager;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import javax.sql.DataSource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public class PostgresConfig {
     private static final Logger logger = LoggerFactory.getLogger(PostgresConfig.class);
 
-    private static final String URL = "jdbc:postgresql://localhost:5432/cadernosegredos_db";
-    private static final String USER = "cadernosegredos_user";
-    private static final String PASSWORD = "102030";
+    private static final String URL = EnvConfig.getString("POSTGRES_URL", "jdbc:postgresql://localhost:5432/cadernosegredos_db");
+    private static final String USER = EnvConfig.getString("POSTGRES_USER", "cadernosegredos_user");
+    private static final String PASSWORD = EnvConfig.getString("POSTGRES_PASSWORD", "102030");
 
-    private static Connection connection; // Conexão única para facilitar fechamento
+    // --- Parâmetros do pool (HikariCP) ---
+    private static final int POOL_MIN_IDLE = EnvConfig.getInt("POSTGRES_POOL_MIN_IDLE", 2);
+    private static final int POOL_MAX_SIZE = EnvConfig.getInt("POSTGRES_POOL_MAX_SIZE", 16);
+    private static final long BORROW_TIMEOUT_MS = EnvConfig.getLong("POSTGRES_POOL_BORROW_TIMEOUT_MS", 3_000);
+    private static final long VALIDATION_TIMEOUT_MS = EnvConfig.getLong("POSTGRES_POOL_VALIDATION_TIMEOUT_MS", 1_000);
+    private static final long IDLE_TIMEOUT_MS = EnvConfig.getLong("POSTGRES_POOL_IDLE_TIMEOUT_MS", 600_000);
+    private static final long KEEPALIVE_MS = EnvConfig.getLong("POSTGRES_POOL_KEEPALIVE_MS", 120_000);
+    private static final long MAX_LIFETIME_MS = EnvConfig.getLong("POSTGRES_POOL_MAX_LIFETIME_MS", 1_800_000);
+    private static final long LEAK_DETECTION_MS = EnvConfig.getLong("POSTGRES_POOL_LEAK_DETECTION_MS", 30_000);
 
-    public static Connection getConnection() {
-        if (connection == null) {
-            try {
-                Class.forName("org.postgresql.Driver");
-                connection = DriverManager.getConnection(URL, USER, PASSWORD);
-                logger.info("Conexão com PostgreSQL estabelecida com sucesso.");
-            } catch (SQLException e) {
-                logger.error("Erro ao conectar ao PostgreSQL: {}", e.getMessage());
-            } catch (ClassNotFoundException e) {
-                logger.error("Driver JDBC do PostgreSQL não encontrado: {}", e.getMessage());
+    // Linhas trazidas por ida ao servidor nas leituras com cursor (streaming)
+    private static final int FETCH_SIZE = EnvConfig.getInt("POSTGRES_FETCH_SIZE", 500);
+
+    // --- Cache de prepared statements do pgjdbc (por conexão física) ---
+    // Execuções de um mesmo SQL até o driver passar a usar um statement nomeado no servidor (parse/plan
+    // reaproveitados). As consultas do repositório são fixas e repetidas, então o padrão é já na primeira.
+    // Use 0 atrás de um PgBouncer em modo transaction, que não suporta statements nomeados.
+    private static final int PREPARE_THRESHOLD = EnvConfig.getInt("POSTGRES_PREPARE_THRESHOLD", 1);
+    private static final int STATEMENT_CACHE_QUERIES = EnvConfig.getInt("POSTGRES_STATEMENT_CACHE_QUERIES", 256);
+    private static final int STATEMENT_CACHE_SIZE_MIB = EnvConfig.getInt("POSTGRES_STATEMENT_CACHE_SIZE_MIB", 5);
+    private static final StatementCacheTracker statementCacheTracker = new StatementCacheTracker(STATEMENT_CACHE_QUERIES);
+
+    // --- Réplicas de leitura ---
+    // URLs JDBC separadas por vírgula; vazio = todas as leituras no primário
+    private static final String REPLICA_URLS = EnvConfig.getString("POSTGRES_REPLICA_URLS", "");
+    private static final String REPLICA_USER = EnvConfig.getString("POSTGRES_REPLICA_USER", USER);
+    private static final String REPLICA_PASSWORD = EnvConfig.getString("POSTGRES_REPLICA_PASSWORD", PASSWORD);
+    private static final int REPLICA_POOL_MAX_SIZE = EnvConfig.getInt("POSTGRES_REPLICA_POOL_MAX_SIZE", POOL_MAX_SIZE);
+    // Curto para que uma réplica fora do ar caia logo para a próxima (ou para o primário)
+    private static final long REPLICA_BORROW_TIMEOUT_MS = EnvConfig.getLong("POSTGRES_REPLICA_BORROW_TIMEOUT_MS", 500);
+    private static final String READ_ROUTING = EnvConfig.getString("POSTGRES_READ_ROUTING", "ROUND_ROBIN");
+    private static final long REPLICA_MAX_LAG_MS = EnvConfig.getLong("POSTGRES_REPLICA_MAX_LAG_MS", 5_000);
+    private static final long REPLICA_CHECK_INTERVAL_MS = EnvConfig.getLong("POSTGRES_REPLICA_CHECK_INTERVAL_MS", 2_000);
+    // Janela em que as leituras da mesma requisição ficam no primário após uma escrita; o padrão
+    // acompanha o atraso máximo tolerado, a partir do qual qualquer réplica em rotação já tem a escrita
+    private static final long READ_YOUR_WRITES_MS = EnvConfig.getLong("POSTGRES_READ_YOUR_WRITES_MS", REPLICA_MAX_LAG_MS);
+
+    private static HikariDataSource dataSource; // Pool único compartilhado por todos os repositórios
+    private static BorrowLatencyTracker metricsTracker;
+    private static volatile PostgresReadRouter readRouter; // null quando não há réplicas configuradas
+    private static volatile boolean readRouterInitialized;
+
+    public static synchronized DataSource getDataSource() {
+        if (dataSource == null || dataSource.isClosed()) {
+            metricsTracker = new BorrowLatencyTracker();
+            dataSource = new HikariDataSource(buildPoolConfig("postgres-primary", URL, USER, PASSWORD,
+                    POOL_MAX_SIZE, BORROW_TIMEOUT_MS, metricsTracker));
+            logger.info("Pool PostgreSQL inicializado (min={}, max={}) para {}.", POOL_MIN_IDLE, POOL_MAX_SIZE, URL);
+        }
+        return dataSource;
+    }
+
+    private static HikariConfig buildPoolConfig(String poolName, String url, String user, String password,
+                                                int maxPoolSize, long borrowTimeoutMs, BorrowLatencyTracker tracker) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName(poolName);
+        config.setDriverClassName("org.postgresql.Driver");
+        config.setJdbcUrl(url);
+        config.setUsername(user);
+        config.setPassword(password);
+        config.setMinimumIdle(Math.min(POOL_MIN_IDLE, maxPoolSize));
+        config.setMaximumPoolSize(maxPoolSize);
+        config.setConnectionTimeout(borrowTimeoutMs);     // Timeout de empréstimo
+        config.setValidationTimeout(VALIDATION_TIMEOUT_MS); // Validação (isValid) de conexões ociosas
+        config.setIdleTimeout(IDLE_TIMEOUT_MS);
+        config.setKeepaliveTime(KEEPALIVE_MS);            // Ping periódico em conexões ociosas
+        config.setMaxLifetime(MAX_LIFETIME_MS);
+        config.setLeakDetectionThreshold(LEAK_DETECTION_MS); // Loga conexões não devolvidas
+        config.setInitializationFailTimeout(-1);          // Não derruba a aplicação se o banco estiver fora no boot
+        if (tracker != null) {
+            config.setMetricsTrackerFactory(tracker);
+        }
+        config.addDataSourceProperty("prepareThreshold", PREPARE_THRESHOLD);
+        config.addDataSourceProperty("preparedStatementCacheQueries", STATEMENT_CACHE_QUERIES);
+        config.addDataSourceProperty("preparedStatementCacheSizeMiB", STATEMENT_CACHE_SIZE_MIB);
+        return config;
+    }
+
+    /**
+     * Empresta uma conexão do pool. Deve ser usada em try-with-resources: o {@code close()}
+     * devolve a conexão ao pool em vez de fechar o socket.
+     */
+    public static Connection getConnection() throws SQLException {
+        return getDataSource().getConnection();
+    }
+
+    /**
+     * Empresta uma conexão para leitura: de uma réplica saudável quando há réplicas configuradas,
+     * ou do primário quando não há, quando todas falharam/atrasaram ou quando a requisição atual
+     * escreveu há pouco (leia-o-que-escreveu). Usar apenas para consultas sem escrita.
+     */
+    public static Connection getReadConnection() throws SQLException {
+        PostgresReadRouter router = getReadRouter();
+        return router == null ? getConnection() : router.getReadConnection();
+    }
+
+    /**
+     * Registra que a requisição atual ({@link com.cadernosegredos.concurrent.RequestScope}) escreveu no
+     * primário: as próximas leituras dela, em qualquer thread, vão ao primário durante
+     * {@code POSTGRES_READ_YOUR_WRITES_MS}.
+     */
+    public static void markWrite() {
+        PostgresReadRouter router = getReadRouter();
+        if (router != null) {
+            router.markWrite();
+        }
+    }
+
+    private static PostgresReadRouter getReadRouter() {
+        return readRouterInitialized ? readRouter : initReadRouter(); // Sem lock no caminho de cada leitura
+    }
+
+    private static synchronized PostgresReadRouter initReadRouter() {
+        if (!readRouterInitialized) {
+            List<PostgresReplica> replicas = new ArrayList<>();
+            for (String url : REPLICA_URLS.split(",")) {
+                if (url.isBlank()) {
+                    continue;
+                }
+                String poolName = "postgres-replica-" + (replicas.size() + 1);
+                HikariDataSource replicaDataSource = new HikariDataSource(buildPoolConfig(poolName, url.trim(),
+                        REPLICA_USER, REPLICA_PASSWORD, REPLICA_POOL_MAX_SIZE, REPLICA_BORROW_TIMEOUT_MS, null));
+                replicaDataSource.setReadOnly(true);
+                replicas.add(new PostgresReplica(poolName, replicaDataSource));
             }
+            if (!replicas.isEmpty()) {
+                PostgresReadRouter.Strategy strategy;
+                try {
+                    strategy = PostgresReadRouter.Strategy.valueOf(READ_ROUTING.toUpperCase(Locale.ROOT));
+                } catch (IllegalArgumentException e) {
+                    logger.warn("POSTGRES_READ_ROUTING inválida: '{}'. Usando ROUND_ROBIN.", READ_ROUTING);
+                    strategy = PostgresReadRouter.Strategy.ROUND_ROBIN;
+                }
+                readRouter = new PostgresReadRouter(getDataSource(), replicas, strategy,
+                        REPLICA_MAX_LAG_MS, READ_YOUR_WRITES_MS, REPLICA_CHECK_INTERVAL_MS);
+                logger.info("Leituras roteadas para {} réplica(s) PostgreSQL ({}, atraso máximo {} ms).",
+                        replicas.size(), strategy, REPLICA_MAX_LAG_MS);
+            }
+            readRouterInitialized = true;
         }
-        return connection;
+        return readRouter;
     }
 
-    public static void closeConnection() {
-        if (connection != null) {
-            try {
-                connection.close();
-                logger.info("Conexão com PostgreSQL fechada.");
-            } catch (SQLException e) {
-                logger.error("Erro ao fechar conexão com PostgreSQL: {}", e.getMessage());
+    public static List<ReplicaStatus> getReplicaStatus() {
+        PostgresReadRouter router = getReadRouter();
+        return router == null ? List.of() : router.status();
+    }
+
+    /**
+     * Leituras que foram ao primário por falta de réplica utilizável (falha ou atraso).
+     */
+    public static long getReplicaFallbackReads() {
+        PostgresReadRouter router = getReadRouter();
+        return router == null ? 0 : router.getFallbackReads();
+    }
+
+    /**
+     * Leituras que foram ao primário pela janela de leia-o-que-escreveu.
+     */
+    public static long getStickyPrimaryReads() {
+        PostgresReadRouter router = getReadRouter();
+        return router == null ? 0 : router.getStickyReads();
+    }
+
+    /**
+     * Prepara o statement pela conexão, contabilizando o uso do cache de statements do driver.
+     * O SQL deve ser uma constante: é a chave do cache (SQL montado por chamada não é reaproveitado).
+     */
+    public static PreparedStatement prepareStatement(Connection conn, String sql) throws SQLException {
+        statementCacheTracker.record(conn, sql);
+        return conn.prepareStatement(sql);
+    }
+
+    /**
+     * Como {@link #prepareStatement(Connection, String)}, devolvendo as colunas geradas informadas.
+     */
+    public static PreparedStatement prepareStatement(Connection conn, String sql, String[] columnNames) throws SQLException {
+        statementCacheTracker.record(conn, sql + " RETURNING " + String.join(",", columnNames));
+        return conn.prepareStatement(sql, columnNames);
+    }
+
+    /**
+     * Estimativa do uso do cache de statements; ver {@link StatementCacheMetrics}.
+     */
+    public static StatementCacheMetrics getEstimatedStatementCacheMetrics() {
+        return statementCacheTracker.snapshot(PREPARE_THRESHOLD);
+    }
+
+    /**
+     * Testa o pool emprestando e devolvendo uma conexão.
+     */
+    public static boolean verifyConnectivity() {
+        try (Connection conn = getConnection()) {
+            boolean valid = conn.isValid((int) Math.max(1, VALIDATION_TIMEOUT_MS / 1000));
+            if (valid) {
+                logger.info("Conexão com PostgreSQL estabelecida com sucesso.");
             }
+            return valid;
+        } catch (SQLException e) {
+            logger.error("Erro ao conectar ao PostgreSQL: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    public static synchronized PostgresPoolMetrics getPoolMetrics() {
+        if (metricsTracker == null) {
+            return new PostgresPoolMetrics("postgres-primary", 0, 0, 0, 0, 0, 0, 0.0, 0.0);
+        }
+        return metricsTracker.snapshot();
+    }
+
+    public static int getMaxPoolSize() {
+        return POOL_MAX_SIZE;
+    }
+
+    public static int getFetchSize() {
+        return FETCH_SIZE;
+    }
+
+    public static synchronized void closeDataSource() {
+        if (readRouter != null) {
+            readRouter.close();
+            readRouter = null;
+            readRouterInitialized = false;
+            logger.info("Pools das réplicas PostgreSQL fechados.");
+        }
+        if (dataSource != null && !dataSource.isClosed()) {
+            dataSource.close();
+            logger.info("Pool de conexões PostgreSQL fechado.");
         }
     }
 
-    // Método opcional para compatibilidade com chamada antiga
+    // Método opcional para compatibilidade com chamada antiga: devolve a conexão ao pool
     public static void closeConnection(Connection conn) {
         if (conn != null) {
             try {
                 conn.close();
-                logger.info("Conexão com PostgreSQL fechada (manual).");
             } catch (SQLException e) {
-                logger.error("Erro ao fechar conexão com PostgreSQL: {}", e.getMessage());
+                logger.error("Erro ao devolver conexão ao pool PostgreSQL: {}", e.getMessage());
             }
         }
     }
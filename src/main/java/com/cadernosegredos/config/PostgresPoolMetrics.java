@@ -0,0 +1,25 @@
+package com.cadernosegredos.config;
+
+/**
+ * Fotografia das métricas de um pool de conexões PostgreSQL.
+ *
+ * @param poolName         nome do pool (ex.: "postgres-primary")
+ * @param active           conexões emprestadas no momento
+ * @param idle             conexões ociosas disponíveis
+ * @param total            total de conexões físicas abertas
+ * @param waiters          threads aguardando uma conexão
+ * @param borrows          empréstimos concluídos desde a inicialização
+ * @param borrowTimeouts   empréstimos que estouraram o timeout
+ * @param avgBorrowMillis  latência média de empréstimo, em milissegundos
+ * @param maxBorrowMillis  maior latência de empréstimo observada, em milissegundos
+ */
+public record PostgresPoolMetrics(String poolName,
+                                  int active,
+                                  int idle,
+                                  int total,
+                                  int waiters,
+                                  long borrows,
+                                  long borrowTimeouts,
+                                  double avgBorrowMillis,
+                                  double maxBorrowMillis) {
+}
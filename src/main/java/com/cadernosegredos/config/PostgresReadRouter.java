@@ -0,0 +1,147 @@
+package com.cadernosegredos.config;
+
+import com.cadernosegredos.concurrent.RequestScope;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Escolhe de onde vem a conexão de leitura: uma réplica saudável (round-robin ou menor latência) ou,
+ * na falta dela, o primário. Uma thread de fundo mede latência e atraso de replicação de cada réplica;
+ * réplicas que falham ou atrasam além do limite saem da rotação até a próxima verificação boa.
+ * <p>
+ * Leia-o-que-escreveu: depois de uma escrita, as leituras da mesma requisição ({@link RequestScope},
+ * que inclui as etapas paralelas do {@code FanOut}) vão ao primário por uma janela configurável, para
+ * não ler de uma réplica que ainda não recebeu a escrita.
+ */
+class PostgresReadRouter {
+    private static final Logger logger = LoggerFactory.getLogger(PostgresReadRouter.class);
+
+    // Atraso de replay em ms; 0 no primário ou quando a réplica já aplicou todo o WAL recebido
+    // (sem isso, um primário ocioso faria o atraso crescer indefinidamente). NULL quando não dá para
+    // saber: receptor de WAL fora de streaming (desconectada, a réplica não recebe nada e pareceria em
+    // dia) ou nenhuma transação reaplicada. Ler o status do receptor exige pg_read_all_stats.
+    private static final String LAG_SQL =
+            "SELECT CASE WHEN NOT pg_is_in_recovery() THEN 0 " +
+            "WHEN NOT EXISTS (SELECT 1 FROM pg_stat_wal_receiver WHERE status = 'streaming') THEN NULL " +
+            "WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000 END::bigint";
+
+    enum Strategy {
+        ROUND_ROBIN,
+        LEAST_LATENCY
+    }
+
+    private final DataSource primary;
+    private final List<PostgresReplica> replicas;
+    private final Strategy strategy;
+    private final long maxLagMillis;
+    private final long stickyNanos;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final LongAdder stickyReads = new LongAdder();
+    private final LongAdder fallbackReads = new LongAdder();
+    private final ScheduledExecutorService checker;
+
+    PostgresReadRouter(DataSource primary, List<PostgresReplica> replicas, Strategy strategy,
+                       long maxLagMillis, long stickyMillis, long checkIntervalMillis) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.strategy = strategy;
+        this.maxLagMillis = maxLagMillis;
+        this.stickyNanos = TimeUnit.MILLISECONDS.toNanos(stickyMillis);
+        this.checker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "postgres-replica-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        checkReplicas(); // Primeira verificação antes de rotear qualquer leitura
+        this.checker.scheduleWithFixedDelay(this::checkReplicas, checkIntervalMillis, checkIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    Connection getReadConnection() throws SQLException {
+        if (stickyNanos > 0 && RequestScope.current().wroteWithin(stickyNanos)) {
+            stickyReads.increment();
+            return primary.getConnection();
+        }
+        for (PostgresReplica replica : candidates()) {
+            try {
+                return replica.borrow();
+            } catch (SQLException e) {
+                replica.markDown(e.getMessage()); // Tenta a próxima réplica e, por fim, o primário
+            }
+        }
+        fallbackReads.increment();
+        return primary.getConnection();
+    }
+
+    private List<PostgresReplica> candidates() {
+        List<PostgresReplica> healthy = new ArrayList<>(replicas.size());
+        int start = Math.floorMod(nextReplica.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            PostgresReplica replica = replicas.get((start + i) % replicas.size());
+            if (replica.isHealthy()) {
+                healthy.add(replica);
+            }
+        }
+        if (strategy == Strategy.LEAST_LATENCY) {
+            healthy.sort(Comparator.comparingDouble(PostgresReplica::latencyMillis)); // Estável: empates seguem o rodízio
+        }
+        return healthy;
+    }
+
+    void markWrite() {
+        if (stickyNanos > 0) {
+            RequestScope.current().markWrite();
+        }
+    }
+
+    private void checkReplicas() {
+        for (PostgresReplica replica : replicas) {
+            long start = System.nanoTime();
+            try (Connection conn = replica.borrowForCheck();
+                 Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery(LAG_SQL)) {
+                long lag = rs.next() ? rs.getLong(1) : Long.MAX_VALUE;
+                if (rs.wasNull()) {
+                    lag = Long.MAX_VALUE; // Atraso desconhecido conta como acima do limite
+                }
+                replica.recordCheck((System.nanoTime() - start) / 1_000_000.0, lag, maxLagMillis);
+            } catch (SQLException e) {
+                replica.markDown(e.getMessage());
+            } catch (RuntimeException e) {
+                logger.error("Erro inesperado ao verificar réplica {}: {}", replica.name(), e.getMessage());
+                replica.markDown(e.getMessage());
+            }
+        }
+    }
+
+    List<ReplicaStatus> status() {
+        return replicas.stream().map(PostgresReplica::status).toList();
+    }
+
+    long getStickyReads() {
+        return stickyReads.sum();
+    }
+
+    long getFallbackReads() {
+        return fallbackReads.sum();
+    }
+
+    void close() {
+        checker.shutdownNow();
+        replicas.forEach(PostgresReplica::close);
+    }
+}
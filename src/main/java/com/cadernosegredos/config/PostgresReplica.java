@@ -0,0 +1,83 @@
+package com.cadernosegredos.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pool de uma réplica de leitura e o resultado das verificações de saúde/atraso.
+ */
+class PostgresReplica {
+    private static final Logger logger = LoggerFactory.getLogger(PostgresReplica.class);
+
+    private final String name;
+    private final HikariDataSource dataSource;
+    private final LongAdder reads = new LongAdder();
+    private volatile boolean healthy;
+    private volatile long lagMillis = -1;
+    private volatile double latencyMillisEwma = -1;
+
+    PostgresReplica(String name, HikariDataSource dataSource) {
+        this.name = name;
+        this.dataSource = dataSource;
+    }
+
+    String name() {
+        return name;
+    }
+
+    boolean isHealthy() {
+        return healthy;
+    }
+
+    double latencyMillis() {
+        return latencyMillisEwma;
+    }
+
+    Connection borrow() throws SQLException {
+        Connection conn = dataSource.getConnection();
+        reads.increment();
+        return conn;
+    }
+
+    Connection borrowForCheck() throws SQLException {
+        return dataSource.getConnection();
+    }
+
+    void recordCheck(double latencyMillis, long lagMillis, long maxLagMillis) {
+        this.latencyMillisEwma = latencyMillisEwma < 0 ? latencyMillis : 0.8 * latencyMillisEwma + 0.2 * latencyMillis;
+        this.lagMillis = lagMillis;
+        boolean ok = lagMillis <= maxLagMillis;
+        if (ok != healthy) {
+            if (ok) {
+                logger.info("Réplica {} disponível para leitura (atraso {} ms).", name, lagMillis);
+            } else {
+                if (lagMillis == Long.MAX_VALUE) {
+                    logger.warn("Réplica {} fora da rotação: atraso desconhecido (receptor de WAL sem streaming).", name);
+                } else {
+                    logger.warn("Réplica {} fora da rotação: atraso de {} ms acima do limite de {} ms.", name, lagMillis, maxLagMillis);
+                }
+            }
+        }
+        healthy = ok;
+    }
+
+    void markDown(String motivo) {
+        if (healthy) {
+            logger.warn("Réplica {} fora da rotação: {}", name, motivo);
+        }
+        healthy = false;
+    }
+
+    ReplicaStatus status() {
+        return new ReplicaStatus(name, healthy, lagMillis, latencyMillisEwma, reads.sum());
+    }
+
+    void close() {
+        dataSource.close();
+    }
+}
@@ -0,0 +1,111 @@
+package com.cadernosegredos.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Garante, de forma idempotente, o índice único em {@code pessoas(cpf)}. Sem ele o
+ * {@code INSERT ... ON CONFLICT (cpf)} de {@code bulkUpsert} falha em todo lote ("there is no unique
+ * or exclusion constraint matching the ON CONFLICT specification").
+ * <p>
+ * O índice é criado com {@code CONCURRENTLY} (sem bloquear escritas na tabela). Se a criação falhar,
+ * por exemplo com CPFs duplicados, o PostgreSQL deixa um índice INVALID com o nome; ele é removido e
+ * recriado na próxima inicialização.
+ */
+public class PostgresSchemaBootstrapper {
+    private static final Logger logger = LoggerFactory.getLogger(PostgresSchemaBootstrapper.class);
+    private static final String INDEX_NAME = "pessoas_cpf_unique";
+    private static final String MISSING_ERROR = "Índice único em pessoas(cpf) ausente.";
+
+    // Índice único, não parcial e só com a coluna cpf: o que a inferência do ON CONFLICT (cpf) aceita
+    // (uma constraint UNIQUE(cpf) também cria um índice assim)
+    private static final String FIND_CPF_INDEX_SQL =
+            "SELECT c.relname AS name, i.indisvalid AS valid " +
+            "FROM pg_index i JOIN pg_class c ON c.oid = i.indexrelid " +
+            "JOIN pg_attribute a ON a.attrelid = i.indrelid AND a.attnum = i.indkey[0] " +
+            "WHERE i.indrelid = to_regclass('pessoas') AND i.indisunique AND i.indnkeyatts = 1 " +
+            "AND i.indpred IS NULL AND i.indexprs IS NULL AND a.attname = 'cpf' " +
+            "ORDER BY i.indisvalid DESC";
+    private static final String TABLE_EXISTS_SQL = "SELECT to_regclass('pessoas') IS NOT NULL";
+    private static final String DROP_INVALID_SQL = "DROP INDEX CONCURRENTLY IF EXISTS " + INDEX_NAME;
+    private static final String CREATE_INDEX_SQL = "CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS " + INDEX_NAME + " ON pessoas (cpf)";
+
+    private volatile PostgresSchemaStatus lastStatus = new PostgresSchemaStatus(false, null, "Esquema ainda não verificado.");
+
+    /**
+     * Cria o índice se não houver um válido. {@code CONCURRENTLY} não roda dentro de transação, então
+     * a conexão fica em auto-commit.
+     */
+    public PostgresSchemaStatus bootstrap() {
+        PostgresSchemaStatus status = checkStatus();
+        boolean missing = MISSING_ERROR.equals(status.error());
+        boolean invalid = !status.ready() && status.index() != null;
+        if (!missing && !invalid) {
+            return status; // Pronto, ou erro de acesso/tabela ausente que a criação não resolveria
+        }
+        try (Connection conn = PostgresConfig.getConnection();
+             Statement stmt = conn.createStatement()) {
+            conn.setAutoCommit(true);
+            if (INDEX_NAME.equals(status.index())) {
+                logger.warn("Índice {} inválido (criação anterior falhou); removendo para recriar.", INDEX_NAME);
+                stmt.execute(DROP_INVALID_SQL);
+            }
+            logger.info("Criando índice único {} em pessoas(cpf)...", INDEX_NAME);
+            stmt.execute(CREATE_INDEX_SQL);
+        } catch (SQLException e) {
+            // Ex.: CPFs duplicados impedem o índice único; precisam ser resolvidos antes
+            logger.error("Erro ao criar índice único em pessoas(cpf): {}", e.getMessage());
+            return remember(new PostgresSchemaStatus(false, null, "Falha ao criar índice único em pessoas(cpf): " + e.getMessage()));
+        }
+        status = checkStatus();
+        if (status.ready()) {
+            logger.info("Esquema do PostgreSQL pronto: índice único {} em pessoas(cpf).", status.index());
+        } else {
+            logger.error("Esquema do PostgreSQL não está pronto: {}", status);
+        }
+        return status;
+    }
+
+    /**
+     * Consulta o estado atual do índice (usado também pelo endpoint de saúde).
+     */
+    public PostgresSchemaStatus checkStatus() {
+        try (Connection conn = PostgresConfig.getConnection()) {
+            try (Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery(TABLE_EXISTS_SQL)) {
+                if (!rs.next() || !rs.getBoolean(1)) {
+                    return remember(new PostgresSchemaStatus(false, null, "Tabela pessoas não existe."));
+                }
+            }
+            try (PreparedStatement pstmt = conn.prepareStatement(FIND_CPF_INDEX_SQL);
+                 ResultSet rs = pstmt.executeQuery()) {
+                if (!rs.next()) {
+                    return remember(new PostgresSchemaStatus(false, null, MISSING_ERROR));
+                }
+                String name = rs.getString("name");
+                if (!rs.getBoolean("valid")) {
+                    return remember(new PostgresSchemaStatus(false, name, "Índice " + name + " em pessoas(cpf) está INVALID."));
+                }
+                return remember(new PostgresSchemaStatus(true, name, null));
+            }
+        } catch (SQLException e) {
+            logger.warn("Erro ao consultar esquema do PostgreSQL: {}", e.getMessage());
+            return remember(new PostgresSchemaStatus(false, null, "Falha ao consultar índices: " + e.getMessage()));
+        }
+    }
+
+    public PostgresSchemaStatus getLastStatus() {
+        return lastStatus;
+    }
+
+    private PostgresSchemaStatus remember(PostgresSchemaStatus status) {
+        lastStatus = status;
+        return status;
+    }
+}
@@ -0,0 +1,12 @@
+package com.cadernosegredos.config;
+
+/**
+ * Estado do esquema do PostgreSQL exigido pela aplicação: o índice único em {@code pessoas(cpf)} de
+ * que o {@code INSERT ... ON CONFLICT (cpf)} da importação em massa depende.
+ *
+ * @param ready {@code true} com um índice único válido em {@code pessoas(cpf)}
+ * @param index nome do índice encontrado (null se não existe)
+ * @param error motivo de não estar pronto (null quando pronto)
+ */
+public record PostgresSchemaStatus(boolean ready, String index, String error) {
+}
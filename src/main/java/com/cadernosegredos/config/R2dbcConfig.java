@@ -0,0 +1,60 @@
+package com.cadernosegredos.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+
+/**
+ * Pool R2DBC (não bloqueante) para o PostgreSQL, usado pelos adaptadores assíncronos. As consultas
+ * rodam nos event loops do reactor-netty: nenhuma thread fica presa esperando o banco, então poucas
+ * conexões atendem muitas requisições em andamento.
+ */
+public class R2dbcConfig {
+    private static final Logger logger = LoggerFactory.getLogger(R2dbcConfig.class);
+
+    // Mesmo banco do pool JDBC: por padrão a URL é derivada de POSTGRES_URL
+    private static final String URL = EnvConfig.getString("POSTGRES_R2DBC_URL",
+            EnvConfig.getString("POSTGRES_URL", "jdbc:postgresql://localhost:5432/cadernosegredos_db").replaceFirst("^jdbc:", "r2dbc:"));
+    private static final String USER = EnvConfig.getString("POSTGRES_USER", "cadernosegredos_user");
+    private static final String PASSWORD = EnvConfig.getString("POSTGRES_PASSWORD", "102030");
+    private static final int POOL_INITIAL_SIZE = EnvConfig.getInt("POSTGRES_R2DBC_POOL_INITIAL_SIZE", 2);
+    private static final int POOL_MAX_SIZE = EnvConfig.getInt("POSTGRES_R2DBC_POOL_MAX_SIZE", 16);
+    private static final long ACQUIRE_TIMEOUT_MS = EnvConfig.getLong("POSTGRES_R2DBC_ACQUIRE_TIMEOUT_MS", 3_000);
+    private static final long MAX_IDLE_MS = EnvConfig.getLong("POSTGRES_POOL_IDLE_TIMEOUT_MS", 600_000);
+    private static final long MAX_LIFETIME_MS = EnvConfig.getLong("POSTGRES_POOL_MAX_LIFETIME_MS", 1_800_000);
+
+    private static ConnectionPool connectionPool;
+
+    public static synchronized ConnectionPool getConnectionPool() {
+        if (connectionPool == null || connectionPool.isDisposed()) {
+            ConnectionFactory factory = ConnectionFactories.get(ConnectionFactoryOptions.parse(URL).mutate()
+                    .option(ConnectionFactoryOptions.USER, USER)
+                    .option(ConnectionFactoryOptions.PASSWORD, PASSWORD)
+                    .build());
+            connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(factory)
+                    .name("postgres-r2dbc")
+                    .initialSize(Math.min(POOL_INITIAL_SIZE, POOL_MAX_SIZE))
+                    .maxSize(POOL_MAX_SIZE)
+                    .maxAcquireTime(Duration.ofMillis(ACQUIRE_TIMEOUT_MS))
+                    .maxIdleTime(Duration.ofMillis(MAX_IDLE_MS))
+                    .maxLifeTime(Duration.ofMillis(MAX_LIFETIME_MS))
+                    .validationQuery("SELECT 1")
+                    .build());
+            logger.info("Pool R2DBC PostgreSQL inicializado (max={}) para {}.", POOL_MAX_SIZE, URL);
+        }
+        return connectionPool;
+    }
+
+    public static synchronized void closeConnectionPool() {
+        if (connectionPool != null && !connectionPool.isDisposed()) {
+            connectionPool.dispose();
+            logger.info("Pool R2DBC PostgreSQL fechado.");
+        }
+    }
+}
@@ -1,5 +1,10 @@
 package com.cadernosegredos.config;
 
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.codec.ByteArrayCodec;
+import redis.clients.jedis.Jedis;
 import redis.clients.jedis.JedisPool;
 import redis.clients.jedis.JedisPoolConfig;
 import org.slf4j.Logger;
@@ -10,8 +15,14 @@ import java.time.Duration;
 public class RedisConfig {
     private static final Logger logger = LoggerFactory.getLogger(RedisConfig.class);
     private static JedisPool jedisPool;
+    private static RedisClient lettuceClient; // Cliente assíncrono (Lettuce) dos adaptadores não bloqueantes
+    private static StatefulRedisConnection<byte[], byte[]> lettuceConnection;
     private static final String REDIS_HOST = System.getenv().getOrDefault("REDIS_HOST", "localhost");
     private static final int REDIS_PORT = Integer.parseInt(System.getenv().getOrDefault("REDIS_PORT", "6379"));
+    // TTL das entradas de Pessoa no cache; o jitter espalha as expirações para evitar picos simultâneos
+    private static final long PESSOA_TTL_SECONDS = EnvConfig.getLong("REDIS_PESSOA_TTL_SECONDS", 3_600);
+    private static final long PESSOA_TTL_JITTER_SECONDS = EnvConfig.getLong("REDIS_PESSOA_TTL_JITTER_SECONDS", 300);
+    private static final int POOL_MAX_TOTAL = EnvConfig.getInt("REDIS_POOL_MAX_TOTAL", 128);
 
     static {
         try {
@@ -31,8 +42,8 @@ public class RedisConfig {
 
     private static JedisPoolConfig buildPoolConfig() {
         final JedisPoolConfig poolConfig = new JedisPoolConfig();
-        poolConfig.setMaxTotal(128);
-        poolConfig.setMaxIdle(128);
+        poolConfig.setMaxTotal(POOL_MAX_TOTAL);
+        poolConfig.setMaxIdle(POOL_MAX_TOTAL);
         poolConfig.setMinIdle(16);
         poolConfig.setTestOnBorrow(true);
         poolConfig.setTestOnReturn(true);
@@ -61,6 +72,52 @@ public class RedisConfig {
         return jedisPool;
     }
 
+    /**
+     * Conexão avulsa, fora do pool, para usos que a prendem indefinidamente (ex.: SUBSCRIBE).
+     */
+    public static Jedis createDedicatedConnection() {
+        return new Jedis(REDIS_HOST, REDIS_PORT);
+    }
+
+    public static int getMaxTotal() {
+        return POOL_MAX_TOTAL;
+    }
+
+    /**
+     * Conexão Lettuce compartilhada: é thread-safe e multiplexa os comandos de todas as requisições
+     * em um único socket, sem pool e sem bloquear threads à espera de resposta.
+     */
+    public static synchronized StatefulRedisConnection<byte[], byte[]> getLettuceConnection() {
+        if (lettuceConnection == null || !lettuceConnection.isOpen()) {
+            if (lettuceClient == null) {
+                lettuceClient = RedisClient.create(RedisURI.create(REDIS_HOST, REDIS_PORT));
+            }
+            lettuceConnection = lettuceClient.connect(ByteArrayCodec.INSTANCE);
+            logger.info("Conexão Lettuce inicializada para {}:{}", REDIS_HOST, REDIS_PORT);
+        }
+        return lettuceConnection;
+    }
+
+    public static synchronized void closeLettuce() {
+        if (lettuceConnection != null) {
+            lettuceConnection.close();
+            lettuceConnection = null;
+        }
+        if (lettuceClient != null) {
+            lettuceClient.shutdown();
+            lettuceClient = null;
+            logger.info("Cliente Lettuce fechado.");
+        }
+    }
+
+    public static long getPessoaTtlSeconds() {
+        return PESSOA_TTL_SECONDS;
+    }
+
+    public static long getPessoaTtlJitterSeconds() {
+        return PESSOA_TTL_JITTER_SECONDS;
+    }
+
     public static void closeJedisPool() {
         if (jedisPool != null && !jedisPool.isClosed()) {
             jedisPool.destroy();
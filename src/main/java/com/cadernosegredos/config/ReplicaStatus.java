@@ -0,0 +1,12 @@
+package com.cadernosegredos.config;
+
+/**
+ * Estado de uma réplica de leitura do PostgreSQL, segundo a última verificação. {@code lagMillis} é
+ * -1 antes da primeira verificação e {@link Long#MAX_VALUE} quando o atraso é desconhecido.
+ */
+public record ReplicaStatus(String name,
+                            boolean healthy,
+                            long lagMillis,
+                            double latencyMillis,
+                            long reads) {
+}
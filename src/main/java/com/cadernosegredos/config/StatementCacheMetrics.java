@@ -0,0 +1,21 @@
+package com.cadernosegredos.config;
+
+/**
+ * Uso estimado do cache de prepared statements do pgjdbc. Um acerto é um {@code prepareStatement} cujo
+ * SQL já estava no cache da conexão física (o driver reaproveita a consulta já analisada e, a partir de
+ * {@code prepareThreshold} execuções, o statement nomeado no servidor, sem novo parse/plan).
+ * <p>
+ * Os números são uma estimativa: vêm de uma simulação do LRU do driver ({@link StatementCacheTracker}),
+ * não de contadores do driver ou do servidor. Não veem, por exemplo, descartes pelo limite em MiB.
+ */
+public record StatementCacheMetrics(long estimatedHits,
+                                    long estimatedMisses,
+                                    int connections,
+                                    int prepareThreshold,
+                                    int cacheQueries) {
+
+    public double estimatedHitRate() {
+        long total = estimatedHits + estimatedMisses;
+        return total == 0 ? 0.0 : (double) estimatedHits / total;
+    }
+}
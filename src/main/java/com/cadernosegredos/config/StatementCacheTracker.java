@@ -0,0 +1,60 @@
+package com.cadernosegredos.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.postgresql.PGConnection;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Simula o cache LRU de statements do pgjdbc (um por conexão física, limitado por quantidade de
+ * consultas) para estimar acertos e falhas, já que o driver não expõe essas estatísticas. É uma
+ * estimativa: o limite em MiB do driver e invalidações feitas por ele não entram na simulação.
+ * As conexões são referenciadas fracamente e somem daqui quando o pool as descarta.
+ */
+class StatementCacheTracker {
+    private final int capacity;
+    private final Cache<Object, Map<String, Boolean>> perConnection = Caffeine.newBuilder().weakKeys().build();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    StatementCacheTracker(int capacity) {
+        this.capacity = capacity;
+    }
+
+    void record(Connection conn, String key) {
+        Object physical;
+        try {
+            physical = conn.unwrap(PGConnection.class); // Mesma instância enquanto o pool mantiver a conexão
+        } catch (SQLException e) {
+            physical = conn;
+        }
+        Map<String, Boolean> lru = perConnection.get(physical, c -> newLru());
+        boolean hit;
+        synchronized (lru) {
+            hit = lru.get(key) != null; // get() atualiza a ordem de acesso, como no LRU do driver
+            if (!hit) {
+                lru.put(key, Boolean.TRUE);
+            }
+        }
+        (hit ? hits : misses).increment();
+    }
+
+    private Map<String, Boolean> newLru() {
+        return new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    StatementCacheMetrics snapshot(int prepareThreshold) {
+        return new StatementCacheMetrics(hits.sum(), misses.sum(), (int) perConnection.estimatedSize(),
+                prepareThreshold, capacity);
+    }
+}
@@ -0,0 +1,9 @@
+package com.cadernosegredos.health;
+
+/**
+ * Verificação de um componente, executada a cada requisição ao endpoint de saúde.
+ */
+@FunctionalInterface
+public interface HealthCheck {
+    HealthStatus check();
+}
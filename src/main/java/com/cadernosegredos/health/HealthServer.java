@@ -0,0 +1,108 @@
+package com.cadernosegredos.health;
+
+import com.cadernosegredos.config.EnvConfig;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Endpoint HTTP de saúde ({@code GET /health}) sobre o servidor embutido do JDK: responde 200 quando
+ * todos os componentes registrados estão UP e 503 caso contrário, com o detalhe de cada um em JSON.
+ * Porta em {@code HEALTH_PORT} (8081); {@code HEALTH_ENABLED=false} desliga.
+ */
+public class HealthServer implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(HealthServer.class);
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, HealthCheck> checks = new LinkedHashMap<>();
+
+    public HealthServer(int port) throws IOException {
+        this.server = HttpServer.create(new InetSocketAddress(port), 0);
+        this.server.setExecutor(executor);
+        this.server.createContext("/health", this::handle);
+    }
+
+    /**
+     * Cria o servidor conforme o ambiente, ou null se desabilitado ou se a porta não puder ser aberta
+     * (a aplicação segue sem endpoint de saúde).
+     */
+    public static HealthServer fromEnvironment() {
+        if (!EnvConfig.getBoolean("HEALTH_ENABLED", true)) {
+            logger.info("Endpoint de saúde desabilitado (HEALTH_ENABLED=false).");
+            return null;
+        }
+        int port = EnvConfig.getInt("HEALTH_PORT", 8081);
+        try {
+            return new HealthServer(port);
+        } catch (IOException e) {
+            logger.error("Não foi possível abrir o endpoint de saúde na porta {}: {}", port, e.getMessage());
+            return null;
+        }
+    }
+
+    public synchronized HealthServer register(String component, HealthCheck check) {
+        checks.put(component, check);
+        return this;
+    }
+
+    public void start() {
+        server.start();
+        logger.info("Endpoint de saúde disponível em http://localhost:{}/health", server.getAddress().getPort());
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"GET".equalsIgnoreCase(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            Map<String, Object> components = new LinkedHashMap<>();
+            boolean up = true;
+            for (Map.Entry<String, HealthCheck> entry : snapshot().entrySet()) {
+                HealthStatus status;
+                try {
+                    status = entry.getValue().check();
+                } catch (RuntimeException e) {
+                    status = HealthStatus.down(Map.of("error", String.valueOf(e.getMessage())));
+                }
+                up &= status.up();
+                Map<String, Object> component = new LinkedHashMap<>();
+                component.put("status", status.up() ? "UP" : "DOWN");
+                component.putAll(status.details());
+                components.put(entry.getKey(), component);
+            }
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("status", up ? "UP" : "DOWN");
+            body.put("components", components);
+            byte[] json = objectMapper.writeValueAsBytes(body);
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            exchange.sendResponseHeaders(up ? 200 : 503, json.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(json);
+            }
+        }
+    }
+
+    private synchronized Map<String, HealthCheck> snapshot() {
+        return new LinkedHashMap<>(checks);
+    }
+
+    @Override
+    public void close() {
+        server.stop(1);
+        executor.close();
+        logger.info("Endpoint de saúde encerrado.");
+    }
+}
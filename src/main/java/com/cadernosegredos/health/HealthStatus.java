@@ -0,0 +1,18 @@
+package com.cadernosegredos.health;
+
+import java.util.Map;
+
+/**
+ * Resultado de uma verificação de saúde: {@code up} decide o código HTTP e {@code details} vai no
+ * corpo JSON como está.
+ */
+public record HealthStatus(boolean up, Map<String, Object> details) {
+
+    public static HealthStatus up(Map<String, Object> details) {
+        return new HealthStatus(true, details);
+    }
+
+    public static HealthStatus down(Map<String, Object> details) {
+        return new HealthStatus(false, details);
+    }
+}
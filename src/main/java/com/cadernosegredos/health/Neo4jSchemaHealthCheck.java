@@ -0,0 +1,30 @@
+package com.cadernosegredos.health;
+
+import com.cadernosegredos.config.Neo4jSchemaBootstrapper;
+import com.cadernosegredos.config.Neo4jSchemaStatus;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * UP apenas com todas as constraints/índices do Neo4j ONLINE; consulta o estado atual a cada chamada,
+ * então um índice que passe a FAILED (ou seja removido) aparece no próximo health check.
+ */
+public class Neo4jSchemaHealthCheck implements HealthCheck {
+    private final Neo4jSchemaBootstrapper bootstrapper;
+
+    public Neo4jSchemaHealthCheck(Neo4jSchemaBootstrapper bootstrapper) {
+        this.bootstrapper = bootstrapper;
+    }
+
+    @Override
+    public HealthStatus check() {
+        Neo4jSchemaStatus status = bootstrapper.checkStatus();
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("items", status.items());
+        if (status.error() != null) {
+            details.put("error", status.error());
+        }
+        return new HealthStatus(status.ready(), details);
+    }
+}
@@ -0,0 +1,29 @@
+package com.cadernosegredos.health;
+
+import com.cadernosegredos.config.PostgresSchemaBootstrapper;
+import com.cadernosegredos.config.PostgresSchemaStatus;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * UP apenas com um índice único válido em {@code pessoas(cpf)}; consulta o estado atual a cada chamada.
+ */
+public class PostgresSchemaHealthCheck implements HealthCheck {
+    private final PostgresSchemaBootstrapper bootstrapper;
+
+    public PostgresSchemaHealthCheck(PostgresSchemaBootstrapper bootstrapper) {
+        this.bootstrapper = bootstrapper;
+    }
+
+    @Override
+    public HealthStatus check() {
+        PostgresSchemaStatus status = bootstrapper.checkStatus();
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("index", status.index());
+        if (status.error() != null) {
+            details.put("error", status.error());
+        }
+        return new HealthStatus(status.ready(), details);
+    }
+}
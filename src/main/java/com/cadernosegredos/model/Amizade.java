@@ -0,0 +1,9 @@
+package com.cadernosegredos.model;
+
+import java.util.UUID;
+
+/**
+ * Par de pessoas de uma amizade, usado nas operações em lote.
+ */
+public record Amizade(UUID pessoa1Id, UUID pessoa2Id) {
+}
@@ -34,6 +34,11 @@ public class Pessoa {
         this.id = null; // O ID será populado após salvar no PostgreSQL
     }
 
+    // Construtor de cópia (usado pelos caches para não compartilhar instâncias mutáveis)
+    public Pessoa(Pessoa other) {
+        this(other.id, other.nome, other.email, other.cpf, other.dataNascimento);
+    }
+
     // --- GETTERS ---
     public UUID getId() { // Retorna UUID
         return id;
@@ -0,0 +1,255 @@
+package com.cadernosegredos.repository;
+
+import com.cadernosegredos.config.EnvConfig;
+import com.cadernosegredos.model.Log;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pipeline assíncrono de logs: {@link #enqueue(Log)} apenas coloca o log em um buffer circular
+ * limitado e uma thread de fundo drena o buffer em lotes, que são gravados quando atingem
+ * {@code batchSize} itens ou quando o lote mais antigo atinge {@code maxBatchAge}.
+ */
+public final class AsyncLogPipeline implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(AsyncLogPipeline.class);
+
+    /**
+     * O que fazer quando o buffer está cheio.
+     */
+    public enum OverflowPolicy {
+        /** A thread chamadora espera até haver espaço. */
+        BLOCK,
+        /** Descarta o log mais antigo do buffer para abrir espaço. */
+        DROP_OLDEST,
+        /** Acima de 75% de ocupação mantém só 1 a cada N logs INFO; WARN/ERROR nunca são amostrados. */
+        SAMPLE_INFO
+    }
+
+    /**
+     * Grava um lote de logs no destino final (ex.: insertMany no MongoDB).
+     */
+    @FunctionalInterface
+    public interface BatchWriter {
+        void write(List<Log> batch) throws Exception;
+    }
+
+    public record Settings(int capacity,
+                           int batchSize,
+                           Duration maxBatchAge,
+                           OverflowPolicy overflowPolicy,
+                           int infoSampleRate,
+                           Duration shutdownTimeout) {
+
+        public static Settings fromEnvironment() {
+            OverflowPolicy policy;
+            String policyName = EnvConfig.getString("LOG_OVERFLOW_POLICY", OverflowPolicy.SAMPLE_INFO.name());
+            try {
+                policy = OverflowPolicy.valueOf(policyName.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                logger.warn("LOG_OVERFLOW_POLICY inválida: '{}'. Usando SAMPLE_INFO.", policyName);
+                policy = OverflowPolicy.SAMPLE_INFO;
+            }
+            return new Settings(
+                    EnvConfig.getInt("LOG_BUFFER_CAPACITY", 8_192),
+                    EnvConfig.getInt("LOG_BATCH_SIZE", 500),
+                    Duration.ofMillis(EnvConfig.getLong("LOG_FLUSH_INTERVAL_MS", 200)),
+                    policy,
+                    EnvConfig.getInt("LOG_INFO_SAMPLE_RATE", 10),
+                    Duration.ofMillis(EnvConfig.getLong("LOG_SHUTDOWN_TIMEOUT_MS", 5_000)));
+        }
+    }
+
+    public record Stats(long enqueued,
+                        long dropped,
+                        long flushed,
+                        long failed,
+                        long batches,
+                        int queued,
+                        double avgBatchMillis,
+                        double maxBatchMillis) {
+    }
+
+    private final String name;
+    private final Settings settings;
+    private final BatchWriter writer;
+    private final BlockingQueue<Log> buffer;
+    private final int highWaterMark;
+    private final Thread writerThread;
+    private final Thread shutdownHook;
+    private volatile boolean running = true;
+
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder flushed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder batchNanos = new LongAdder();
+    private final AtomicLong maxBatchNanos = new AtomicLong();
+    private final AtomicLong infoCounter = new AtomicLong();
+
+    public AsyncLogPipeline(String name, Settings settings, BatchWriter writer) {
+        this.name = name;
+        this.settings = settings;
+        this.writer = writer;
+        this.buffer = new ArrayBlockingQueue<>(Math.max(1, settings.capacity()));
+        this.highWaterMark = Math.max(1, settings.capacity() * 3 / 4);
+        this.writerThread = new Thread(this::drainLoop, name + "-writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+        this.shutdownHook = new Thread(this::close, name + "-shutdown");
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+        logger.info("Pipeline de logs '{}' iniciado: {}", name, settings);
+    }
+
+    /**
+     * Enfileira o log sem fazer I/O na thread chamadora (exceto com a política BLOCK e buffer cheio).
+     */
+    public void enqueue(Log log) {
+        if (!running) {
+            // Após o shutdown grava de forma síncrona para não perder logs tardios
+            writeBatch(List.of(log));
+            return;
+        }
+        boolean accepted = switch (settings.overflowPolicy()) {
+            case BLOCK -> putBlocking(log);
+            case DROP_OLDEST -> offerDroppingOldest(log);
+            case SAMPLE_INFO -> offerSampled(log);
+        };
+        if (accepted) {
+            enqueued.increment();
+        } else {
+            dropped.increment();
+        }
+    }
+
+    private boolean putBlocking(Log log) {
+        try {
+            buffer.put(log);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private boolean offerDroppingOldest(Log log) {
+        while (!buffer.offer(log)) {
+            if (buffer.poll() != null) {
+                dropped.increment();
+            }
+        }
+        return true;
+    }
+
+    private boolean offerSampled(Log log) {
+        boolean info = "INFO".equalsIgnoreCase(log.getTipo());
+        if (!info) {
+            return putBlocking(log); // WARN/ERROR nunca são descartados
+        }
+        if (buffer.size() >= highWaterMark
+                && infoCounter.incrementAndGet() % Math.max(1, settings.infoSampleRate()) != 0) {
+            return false;
+        }
+        return buffer.offer(log);
+    }
+
+    private void drainLoop() {
+        long maxAgeNanos = settings.maxBatchAge().toNanos();
+        List<Log> batch = new ArrayList<>(settings.batchSize());
+        boolean interrupted = false;
+        while (!interrupted && (running || !buffer.isEmpty())) {
+            try {
+                Log first = buffer.poll(maxAgeNanos, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + maxAgeNanos;
+                while (batch.size() < settings.batchSize()) {
+                    buffer.drainTo(batch, settings.batchSize() - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= settings.batchSize() || remaining <= 0 || !running) {
+                        break;
+                    }
+                    Log next = buffer.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                interrupted = true; // Grava o lote parcial e sai; close() drena o restante
+            }
+            if (!batch.isEmpty()) {
+                writeBatch(batch);
+                batch = new ArrayList<>(settings.batchSize());
+            }
+        }
+    }
+
+    private void writeBatch(List<Log> batch) {
+        long start = System.nanoTime();
+        try {
+            writer.write(batch);
+            flushed.add(batch.size());
+        } catch (Exception e) {
+            failed.add(batch.size());
+            logger.error("Erro ao gravar lote de {} logs no pipeline '{}': {}", batch.size(), name, e.getMessage());
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            batches.increment();
+            batchNanos.add(elapsed);
+            maxBatchNanos.accumulateAndGet(elapsed, Math::max);
+        }
+    }
+
+    public Stats getStats() {
+        long count = batches.sum();
+        double avgMillis = count == 0 ? 0.0 : batchNanos.sum() / (double) count / 1_000_000.0;
+        return new Stats(enqueued.sum(), dropped.sum(), flushed.sum(), failed.sum(), count,
+                buffer.size(), avgMillis, maxBatchNanos.get() / 1_000_000.0);
+    }
+
+    /**
+     * Interrompe a thread de fundo e grava o que ainda estiver no buffer. Idempotente; também é
+     * executado pelo shutdown hook da JVM.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (!running) {
+                return;
+            }
+            running = false;
+        }
+        // Sem interrupt: a thread acorda em até maxBatchAge e não corta um insertMany no meio
+        try {
+            writerThread.join(settings.shutdownTimeout().toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<Log> remaining = new ArrayList<>();
+        buffer.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            writeBatch(remaining);
+        }
+        if (Thread.currentThread() != shutdownHook) {
+            try {
+                Runtime.getRuntime().removeShutdownHook(shutdownHook);
+            } catch (IllegalStateException e) {
+                // JVM já está encerrando
+            }
+        }
+        logger.info("Pipeline de logs '{}' encerrado: {}", name, getStats());
+    }
+}
@@ -0,0 +1,24 @@
+package com.cadernosegredos.repository;
+
+import com.cadernosegredos.cache.CacheTierStats;
+import com.cadernosegredos.model.Pessoa;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Variante não bloqueante de {@link PessoaCache}, sobre as mesmas chaves e o mesmo formato de valor
+ * (os dois adaptadores podem coexistir). A implementação de produção é {@link LettucePessoaCacheImpl}.
+ */
+public interface AsyncPessoaCache {
+    CompletableFuture<Void> save(Pessoa pessoa);
+    CompletableFuture<Optional<PessoaCache.CacheEntry>> findEntryById(UUID id);
+    CompletableFuture<Map<UUID, Pessoa>> findAllByIds(Collection<UUID> ids); // Apenas os acertos, indexados por ID
+    CompletableFuture<Void> saveAll(Collection<Pessoa> pessoas);
+    CompletableFuture<Optional<Pessoa>> findByCpf(String cpf);
+    CompletableFuture<Void> delete(UUID id);
+    CacheTierStats getCacheStats();
+}
@@ -0,0 +1,24 @@
+package com.cadernosegredos.repository;
+
+import com.cadernosegredos.model.Pessoa;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Variante não bloqueante de {@link PessoaRepository} para as operações por requisição. Os futures
+ * completam nas threads do driver; erros seguem a convenção dos repositórios síncronos (são logados
+ * e viram null, vazio ou false, em vez de completar o future com exceção).
+ * A implementação de produção é {@link R2dbcPessoaRepositoryImpl}.
+ */
+public interface AsyncPessoaRepository {
+    CompletableFuture<Pessoa> save(Pessoa pessoa);
+    CompletableFuture<Optional<Pessoa>> findById(UUID id);
+    CompletableFuture<Optional<Pessoa>> findByCpf(String cpf);
+    CompletableFuture<List<Pessoa>> findAllByIds(Collection<UUID> ids); // Uma única consulta (ordem não garantida)
+    CompletableFuture<Pessoa> update(Pessoa pessoa);
+    CompletableFuture<Boolean> delete(UUID id);
+}
@@ -0,0 +1,15 @@
+package com.cadernosegredos.repository;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Variante não bloqueante de {@link RelationshipRepository}. A implementação de produção é
+ * {@link Neo4jAsyncRelationshipRepositoryImpl}.
+ */
+public interface AsyncRelationshipRepository {
+    CompletableFuture<Void> createFriendship(UUID person1Id, UUID person2Id);
+    CompletableFuture<List<UUID>> findFriends(UUID personId);
+    CompletableFuture<Void> removeFriendship(UUID person1Id, UUID person2Id);
+}
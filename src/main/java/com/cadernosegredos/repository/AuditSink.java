@@ -0,0 +1,23 @@
+package com.cadernosegredos.repository;
+
+import com.cadernosegredos.model.Log;
+
+/**
+ * Destino único dos logs de auditoria da aplicação. Existe uma única instância por processo,
+ * criada em {@link AuditSinks#fromEnvironment()} e injetada nos repositórios e serviços.
+ */
+public interface AuditSink extends AutoCloseable {
+
+    /**
+     * Registra o log. Implementações não devem fazer I/O bloqueante na thread chamadora.
+     */
+    void saveLog(Log log);
+
+    AsyncLogPipeline.Stats getStats();
+
+    /**
+     * Grava o que estiver pendente e libera os recursos do backend.
+     */
+    @Override
+    void close();
+}
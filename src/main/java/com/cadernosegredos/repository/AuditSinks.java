@@ -0,0 +1,49 @@
+package com.cadernosegredos.repository;
+
+import com.cadernosegredos.config.EnvConfig;
+import com.cadernosegredos.config.MongoConfig;
+import com.mongodb.client.MongoDatabase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Cria o {@link AuditSink} do processo conforme {@code AUDIT_SINK} (mongo, mongo-reactive, file ou noop).
+ */
+public final class AuditSinks {
+    private static final Logger logger = LoggerFactory.getLogger(AuditSinks.class);
+
+    private AuditSinks() {
+    }
+
+    public static AuditSink fromEnvironment() {
+        String backend = EnvConfig.getString("AUDIT_SINK", "mongo").toLowerCase(Locale.ROOT);
+        AsyncLogPipeline.Settings settings = AsyncLogPipeline.Settings.fromEnvironment();
+        switch (backend) {
+            case "noop":
+                logger.info("Auditoria desabilitada (AUDIT_SINK=noop).");
+                return new NoOpAuditSink();
+            case "file":
+                return fileSink(settings);
+            case "mongo-reactive":
+                logger.info("Auditoria no MongoDB pelo driver reactive streams.");
+                return new ReactiveMongoLogRepositoryImpl(MongoConfig.getReactiveMongoDatabase(), settings);
+            case "mongo":
+                MongoDatabase database = MongoConfig.getMongoDatabase();
+                if (database != null) {
+                    return new MongoLogRepositoryImpl(database, settings);
+                }
+                logger.warn("MongoDB indisponível; usando auditoria em arquivo como fallback.");
+                return fileSink(settings);
+            default:
+                logger.warn("AUDIT_SINK desconhecido: '{}'. Usando auditoria em arquivo.", backend);
+                return fileSink(settings);
+        }
+    }
+
+    private static AuditSink fileSink(AsyncLogPipeline.Settings settings) {
+        return new FileAuditSink(Path.of(EnvConfig.getString("AUDIT_FILE_PATH", "logs/audit.log")), settings);
+    }
+}
@@ -0,0 +1,43 @@
+package com.cadernosegredos.repository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Resultado linha a linha de uma operação em lote.
+ *
+ * @param ids      um ID por linha de entrada, na mesma ordem: o ID gravado/atualizado/removido, ou
+ *                 null se a linha falhou
+ * @param failures as linhas que falharam, com o índice na entrada e o motivo
+ */
+public record BatchResult(List<UUID> ids, List<RowFailure> failures) {
+
+    public record RowFailure(int index, UUID id, String error) {
+    }
+
+    public int succeeded() {
+        return ids.size() - failures.size();
+    }
+
+    public boolean hasFailures() {
+        return !failures.isEmpty();
+    }
+
+    /**
+     * Junta resultados de lotes consecutivos, ajustando os índices das falhas para a entrada completa.
+     */
+    public static BatchResult concat(List<BatchResult> parts) {
+        List<UUID> ids = new ArrayList<>();
+        List<RowFailure> failures = new ArrayList<>();
+        for (BatchResult part : parts) {
+            int offset = ids.size();
+            ids.addAll(part.ids());
+            for (RowFailure failure : part.failures()) {
+                failures.add(new RowFailure(offset + failure.index(), failure.id(), failure.error()));
+            }
+        }
+        return new BatchResult(Collections.unmodifiableList(ids), List.copyOf(failures));
+    }
+}
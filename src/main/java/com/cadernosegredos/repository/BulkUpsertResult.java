@@ -0,0 +1,16 @@
+package com.cadernosegredos.repository;
+
+import com.cadernosegredos.model.Pessoa;
+
+import java.util.List;
+
+/**
+ * Resultado de um lote de upsert: pessoas inseridas e pessoas já existentes (mesmo CPF) que foram
+ * atualizadas, todas com o ID do banco.
+ */
+public record BulkUpsertResult(List<Pessoa> inserted, List<Pessoa> updated) {
+
+    public int size() {
+        return inserted.size() + updated.size();
+    }
+}
@@ -0,0 +1,92 @@
+package com.cadernosegredos.repository;
+
+import com.cadernosegredos.cache.CacheTierStats;
+import com.cadernosegredos.concurrent.Bulkhead;
+import com.cadernosegredos.concurrent.BulkheadFullException;
+import com.cadernosegredos.model.Pessoa;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * {@link PessoaCache} que limita as chamadas simultâneas ao Redis pelo bulkhead do datastore.
+ * O cache é opcional: com o bulkhead saturado a leitura vira miss e a escrita é ignorada, como
+ * já acontece quando o Redis está fora. Remoções não são descartadas (esperam a vaga ou falham),
+ * para não deixar no cache uma pessoa que já saiu do banco.
+ */
+public class BulkheadPessoaCache implements PessoaCache {
+    private static final Logger logger = LoggerFactory.getLogger(BulkheadPessoaCache.class);
+
+    private final PessoaCache delegate;
+    private final Bulkhead bulkhead;
+
+    public BulkheadPessoaCache(PessoaCache delegate, Bulkhead bulkhead) {
+        this.delegate = delegate;
+        this.bulkhead = bulkhead;
+    }
+
+    private <T> T orElse(Supplier<T> action, T fallback) {
+        try {
+            return bulkhead.call(action);
+        } catch (BulkheadFullException e) {
+            logger.debug("Cache ignorado: {}", e.getMessage());
+            return fallback;
+        }
+    }
+
+    @Override
+    public void save(Pessoa pessoa) {
+        orElse(() -> {
+            delegate.save(pessoa);
+            return null;
+        }, null);
+    }
+
+    @Override
+    public Optional<Pessoa> findById(UUID id) {
+        return orElse(() -> delegate.findById(id), Optional.empty());
+    }
+
+    @Override
+    public Optional<CacheEntry> findEntryById(UUID id) {
+        return orElse(() -> delegate.findEntryById(id), Optional.empty());
+    }
+
+    @Override
+    public Map<UUID, Pessoa> findAllByIds(Collection<UUID> ids) {
+        return orElse(() -> delegate.findAllByIds(ids), Map.of());
+    }
+
+    @Override
+    public void saveAll(Collection<Pessoa> pessoas) {
+        orElse(() -> {
+            delegate.saveAll(pessoas);
+            return null;
+        }, null);
+    }
+
+    @Override
+    public Optional<Pessoa> findByCpf(String cpf) {
+        return orElse(() -> delegate.findByCpf(cpf), Optional.empty());
+    }
+
+    @Override
+    public void delete(UUID id) {
+        bulkhead.run(() -> delegate.delete(id));
+    }
+
+    @Override
+    public void deleteAll(Collection<UUID> ids) {
+        bulkhead.run(() -> delegate.deleteAll(ids));
+    }
+
+    @Override
+    public CacheTierStats getCacheStats() {
+        return delegate.getCacheStats();
+    }
+}
@@ -0,0 +1,99 @@
+package com.cadernosegredos.repository;
+
+import com.cadernosegredos.concurrent.Bulkhead;
+import com.cadernosegredos.model.Pessoa;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * {@link PessoaRepository} que limita as chamadas simultâneas ao PostgreSQL pelo bulkhead do
+ * datastore. Com o bulkhead saturado a chamada falha com
+ * {@link com.cadernosegredos.concurrent.BulkheadFullException} (não há resposta degradada possível).
+ */
+public class BulkheadPessoaRepository implements PessoaRepository {
+    private final PessoaRepository delegate;
+    private final Bulkhead bulkhead;
+
+    public BulkheadPessoaRepository(PessoaRepository delegate, Bulkhead bulkhead) {
+        this.delegate = delegate;
+        this.bulkhead = bulkhead;
+    }
+
+    @Override
+    public Pessoa save(Pessoa pessoa) {
+        return bulkhead.call(() -> delegate.save(pessoa));
+    }
+
+    @Override
+    public Optional<Pessoa> findById(UUID id) {
+        return bulkhead.call(() -> delegate.findById(id));
+    }
+
+    @Override
+    public Optional<Pessoa> findByCpf(String cpf) {
+        return bulkhead.call(() -> delegate.findByCpf(cpf));
+    }
+
+    @Override
+    public List<Pessoa> findAllByIds(Collection<UUID> ids) {
+        return bulkhead.call(() -> delegate.findAllByIds(ids));
+    }
+
+    @Override
+    public Pessoa update(Pessoa pessoa) {
+        return bulkhead.call(() -> delegate.update(pessoa));
+    }
+
+    @Override
+    public boolean delete(UUID id) {
+        return bulkhead.call(() -> delegate.delete(id));
+    }
+
+    @Override
+    public List<Pessoa> findAll() {
+        return bulkhead.call(delegate::findAll);
+    }
+
+    /**
+     * A vaga fica ocupada enquanto o stream (e a conexão do cursor) estiver aberto.
+     */
+    @Override
+    public Stream<Pessoa> streamAll() {
+        Bulkhead.Permit permit = bulkhead.acquire();
+        try {
+            return delegate.streamAll().onClose(permit::close);
+        } catch (RuntimeException e) {
+            permit.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public List<Pessoa> findPage(UUID afterId, int limit) {
+        return bulkhead.call(() -> delegate.findPage(afterId, limit));
+    }
+
+    @Override
+    public BatchResult saveAll(List<Pessoa> pessoas) {
+        return bulkhead.call(() -> delegate.saveAll(pessoas));
+    }
+
+    @Override
+    public BatchResult updateAll(List<Pessoa> pessoas) {
+        return bulkhead.call(() -> delegate.updateAll(pessoas));
+    }
+
+    @Override
+    public BatchResult deleteAllByIds(List<UUID> ids) {
+        return bulkhead.call(() -> delegate.deleteAllByIds(ids));
+    }
+
+    @Override
+    public BulkUpsertResult bulkUpsert(List<Pessoa> pessoas) {
+        return bulkhead.call(() -> delegate.bulkUpsert(pessoas));
+    }
+}
@@ -0,0 +1,62 @@
+package com.cadernosegredos.repository;
+
+import com.cadernosegredos.concurrent.Bulkhead;
+import com.cadernosegredos.model.Amizade;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * {@link RelationshipRepository} que limita as chamadas simultâneas ao Neo4j pelo bulkhead do
+ * datastore. Com o bulkhead saturado a chamada falha com
+ * {@link com.cadernosegredos.concurrent.BulkheadFullException}.
+ */
+public class BulkheadRelationshipRepository implements RelationshipRepository {
+    private final RelationshipRepository delegate;
+    private final Bulkhead bulkhead;
+
+    public BulkheadRelationshipRepository(RelationshipRepository delegate, Bulkhead bulkhead) {
+        this.delegate = delegate;
+        this.bulkhead = bulkhead;
+    }
+
+    @Override
+    public void createFriendship(UUID person1Id, UUID person2Id) {
+        bulkhead.run(() -> delegate.createFriendship(person1Id, person2Id));
+    }
+
+    @Override
+    public FriendshipBatchResult createFriendships(List<Amizade> amizades) {
+        return bulkhead.call(() -> delegate.createFriendships(amizades));
+    }
+
+    @Override
+    public List<UUID> findFriends(UUID personId) {
+        return bulkhead.call(() -> delegate.findFriends(personId));
+    }
+
+    @Override
+    public void removeFriendship(UUID person1Id, UUID person2Id) {
+        bulkhead.run(() -> delegate.removeFriendship(person1Id, person2Id));
+    }
+
+    @Override
+    public List<UUID> findMutualFriends(UUID person1Id, UUID person2Id, int limit) {
+        return bulkhead.call(() -> delegate.findMutualFriends(person1Id, person2Id, limit));
+    }
+
+    @Override
+    public List<FriendSuggestion> suggestFriends(UUID personId, int limit) {
+        return bulkhead.call(() -> delegate.suggestFriends(personId, limit));
+    }
+
+    @Override
+    public List<UUID> findShortestPath(UUID person1Id, UUID person2Id, int maxDepth) {
+        return bulkhead.call(() -> delegate.findShortestPath(person1Id, person2Id, maxDepth));
+    }
+
+    @Override
+    public void closeDriver() {
+        delegate.closeDriver();
+    }
+}
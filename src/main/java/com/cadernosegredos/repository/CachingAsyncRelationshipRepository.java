@@ -0,0 +1,70 @@
+package com.cadernosegredos.repository;
+
+import com.cadernosegredos.concurrent.FanOut;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * {@link AsyncRelationshipRepository} com o mesmo {@link FriendListCache} do repositório síncrono.
+ * Leituras usam só o L1 (o cliente Redis do cache é bloqueante); escritas invalidam as duas pontas em
+ * todos os níveis e avisam os demais nós, em uma thread do {@link FanOut} para não bloquear o event
+ * loop do driver. O future da escrita só completa depois da invalidação.
+ */
+public class CachingAsyncRelationshipRepository implements AsyncRelationshipRepository {
+    private static final Logger logger = LoggerFactory.getLogger(CachingAsyncRelationshipRepository.class);
+
+    private final AsyncRelationshipRepository delegate;
+    private final FriendListCache cache;
+    private final FanOut fanOut;
+
+    public CachingAsyncRelationshipRepository(AsyncRelationshipRepository delegate, FriendListCache cache, FanOut fanOut) {
+        this.delegate = delegate;
+        this.cache = cache;
+        this.fanOut = fanOut;
+    }
+
+    @Override
+    public CompletableFuture<List<UUID>> findFriends(UUID personId) {
+        Optional<List<UUID>> cached = cache.getLocal(personId);
+        if (cached.isPresent()) {
+            return CompletableFuture.completedFuture(cached.get());
+        }
+        long version = cache.localVersion(personId);
+        return delegate.findFriends(personId).thenApply(friends -> {
+            cache.putLocal(personId, friends, version);
+            return friends;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> createFriendship(UUID person1Id, UUID person2Id) {
+        return invalidateAfter(delegate.createFriendship(person1Id, person2Id), person1Id, person2Id);
+    }
+
+    @Override
+    public CompletableFuture<Void> removeFriendship(UUID person1Id, UUID person2Id) {
+        return invalidateAfter(delegate.removeFriendship(person1Id, person2Id), person1Id, person2Id);
+    }
+
+    // Invalida com a escrita concluída, com sucesso ou não; uma falha da invalidação só é registrada (o TTL corrige)
+    private CompletableFuture<Void> invalidateAfter(CompletableFuture<Void> write, UUID person1Id, UUID person2Id) {
+        return write.handle((ignored, writeError) -> writeError)
+                .thenCompose(writeError -> fanOut.run("invalidar listas de amigos", fanOut.redisTimeout(),
+                                () -> cache.invalidate(List.of(person1Id, person2Id)))
+                        .exceptionally(e -> {
+                            logger.warn("Listas de amigos de {} e {} não invalidadas: {}", person1Id, person2Id, FanOut.unwrap(e).getMessage());
+                            return null;
+                        })
+                        .thenRun(() -> {
+                            if (writeError != null) {
+                                throw writeError instanceof CompletionException ce ? ce : new CompletionException(writeError);
+                            }
+                        }));
+    }
+}
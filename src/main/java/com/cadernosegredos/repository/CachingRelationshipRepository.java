@@ -0,0 +1,82 @@
+package com.cadernosegredos.repository;
+
+import com.cadernosegredos.model.Amizade;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * {@link RelationshipRepository} com cache de listas de amigos ({@link FriendListCache}) na frente do
+ * Neo4j. Escritas invalidam as duas pontas de cada amizade em todos os níveis (write-through por
+ * invalidação), mesmo quando falham.
+ */
+public class CachingRelationshipRepository implements RelationshipRepository {
+    private final RelationshipRepository delegate;
+    private final FriendListCache cache;
+
+    public CachingRelationshipRepository(RelationshipRepository delegate, FriendListCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public List<UUID> findFriends(UUID personId) {
+        return cache.getOrLoad(personId, delegate::findFriends);
+    }
+
+    @Override
+    public void createFriendship(UUID person1Id, UUID person2Id) {
+        try {
+            delegate.createFriendship(person1Id, person2Id);
+        } finally {
+            cache.invalidate(List.of(person1Id, person2Id));
+        }
+    }
+
+    @Override
+    public FriendshipBatchResult createFriendships(List<Amizade> amizades) {
+        try {
+            return delegate.createFriendships(amizades);
+        } finally {
+            if (amizades != null && !amizades.isEmpty()) {
+                Set<UUID> endpoints = new LinkedHashSet<>();
+                for (Amizade amizade : amizades) {
+                    endpoints.add(amizade.pessoa1Id());
+                    endpoints.add(amizade.pessoa2Id());
+                }
+                cache.invalidate(endpoints);
+            }
+        }
+    }
+
+    @Override
+    public void removeFriendship(UUID person1Id, UUID person2Id) {
+        try {
+            delegate.removeFriendship(person1Id, person2Id);
+        } finally {
+            cache.invalidate(List.of(person1Id, person2Id));
+        }
+    }
+
+    @Override
+    public List<UUID> findMutualFriends(UUID person1Id, UUID person2Id, int limit) {
+        return delegate.findMutualFriends(person1Id, person2Id, limit);
+    }
+
+    @Override
+    public List<FriendSuggestion> suggestFriends(UUID personId, int limit) {
+        return delegate.suggestFriends(personId, limit);
+    }
+
+    @Override
+    public List<UUID> findShortestPath(UUID person1Id, UUID person2Id, int maxDepth) {
+        return delegate.findShortestPath(person1Id, person2Id, maxDepth);
+    }
+
+    @Override
+    public void closeDriver() {
+        delegate.closeDriver();
+    }
+}
@@ -0,0 +1,79 @@
+package com.cadernosegredos.repository;
+
+import com.cadernosegredos.model.Log;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Grava os logs em um arquivo local append-only, um JSON por linha, usando o mesmo pipeline
+ * assíncrono em lote do backend MongoDB.
+ */
+public class FileAuditSink implements AuditSink {
+    private static final Logger logger = LoggerFactory.getLogger(FileAuditSink.class);
+
+    private final ObjectMapper objectMapper;
+    private final BufferedWriter fileWriter;
+    private final AsyncLogPipeline pipeline;
+
+    public FileAuditSink(Path path, AsyncLogPipeline.Settings settings) {
+        this.objectMapper = new ObjectMapper();
+        this.objectMapper.registerModule(new JavaTimeModule());
+        this.objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        try {
+            Path parent = path.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            this.fileWriter = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível abrir o arquivo de auditoria " + path, e);
+        }
+        this.pipeline = new AsyncLogPipeline("file-logs", settings, this::writeBatch);
+        logger.info("Auditoria em arquivo habilitada: {}", path.toAbsolutePath());
+    }
+
+    private void writeBatch(List<Log> batch) throws IOException {
+        synchronized (fileWriter) {
+            for (Log log : batch) {
+                fileWriter.write(objectMapper.writeValueAsString(log));
+                fileWriter.newLine();
+            }
+            fileWriter.flush();
+        }
+    }
+
+    @Override
+    public void saveLog(Log log) {
+        pipeline.enqueue(log);
+    }
+
+    @Override
+    public AsyncLogPipeline.Stats getStats() {
+        return pipeline.getStats();
+    }
+
+    @Override
+    public void close() {
+        pipeline.close();
+        synchronized (fileWriter) {
+            try {
+                fileWriter.close();
+            } catch (IOException e) {
+                logger.error("Erro ao fechar arquivo de auditoria: {}", e.getMessage());
+            }
+        }
+    }
+}
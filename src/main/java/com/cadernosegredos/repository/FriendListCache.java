@@ -0,0 +1,115 @@
+package com.cadernosegredos.repository;
+
+import com.cadernosegredos.cache.CacheInvalidationBus;
+import com.cadernosegredos.cache.CacheTierStats;
+import com.cadernosegredos.cache.FriendListNearCache;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Níveis do cache de listas de amigos, compartilhados pelos repositórios síncrono
+ * ({@link CachingRelationshipRepository}) e não bloqueante ({@link CachingAsyncRelationshipRepository}):
+ * L1 na JVM ({@link FriendListNearCache}) e, opcionalmente, SETs no Redis compartilhados entre os nós
+ * ({@link RedisFriendListCache}, {@code null} quando desabilitado).
+ * <p>
+ * {@link #invalidate} limpa todos os níveis e avisa os demais nós pelo {@link CacheInvalidationBus}.
+ */
+public class FriendListCache {
+    static final String INVALIDACAO_AMIGOS = "amigos";
+    private static final int PUBLISH_CHUNK_SIZE = 1_000; // IDs por mensagem de invalidação
+
+    private final FriendListNearCache nearCache;
+    private final RedisFriendListCache redisCache;
+    private final CacheInvalidationBus invalidationBus;
+
+    public FriendListCache(FriendListNearCache nearCache, RedisFriendListCache redisCache, CacheInvalidationBus invalidationBus) {
+        this.nearCache = nearCache;
+        this.redisCache = redisCache;
+        this.invalidationBus = invalidationBus;
+        // Outro nó alterou amizades: o Redis já foi limpo por ele, basta o L1 local
+        this.invalidationBus.onInvalidation(INVALIDACAO_AMIGOS,
+                chaves -> nearCache.invalidate(Arrays.stream(chaves).map(UUID::fromString).toList()));
+    }
+
+    /**
+     * L1, depois Redis, depois {@code loader}, preenchendo os níveis que faltaram. Listas vazias vindas
+     * do {@code loader} não são cacheadas: a implementação Neo4j devolve lista vazia também em caso de erro.
+     */
+    public List<UUID> getOrLoad(UUID personId, Function<UUID, List<UUID>> loader) {
+        Optional<List<UUID>> cached = nearCache.get(personId);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        long localVersion = nearCache.version(personId); // Antes de ir ao Redis/Neo4j; ver FriendListNearCache
+        RedisFriendListCache.Snapshot shared = null;
+        if (redisCache != null) {
+            shared = redisCache.get(personId); // Traz também a versão, lida antes da consulta ao Neo4j
+            if (shared.hit()) {
+                nearCache.put(personId, shared.friends(), localVersion);
+                return shared.friends();
+            }
+        }
+        List<UUID> friends = loader.apply(personId);
+        if (!friends.isEmpty()) {
+            if (shared != null) {
+                redisCache.put(personId, friends, shared.version()); // Descartada se outro nó invalidou no meio
+            }
+            nearCache.put(personId, friends, localVersion);
+        }
+        return friends;
+    }
+
+    /**
+     * Só o L1 (sem ida ao Redis), para o caminho não bloqueante.
+     */
+    public Optional<List<UUID>> getLocal(UUID personId) {
+        return nearCache.get(personId);
+    }
+
+    public long localVersion(UUID personId) {
+        return nearCache.version(personId);
+    }
+
+    public void putLocal(UUID personId, List<UUID> friends, long loadVersion) {
+        if (!friends.isEmpty()) {
+            nearCache.put(personId, friends, loadVersion);
+        }
+    }
+
+    public void invalidate(Collection<UUID> personIds) {
+        if (personIds.isEmpty()) {
+            return;
+        }
+        nearCache.invalidate(personIds);
+        if (redisCache != null) {
+            redisCache.invalidate(personIds);
+        }
+        List<String> chaves = personIds.stream().map(UUID::toString).toList();
+        for (int from = 0; from < chaves.size(); from += PUBLISH_CHUNK_SIZE) {
+            invalidationBus.publish(INVALIDACAO_AMIGOS,
+                    chaves.subList(from, Math.min(chaves.size(), from + PUBLISH_CHUNK_SIZE)).toArray(String[]::new));
+        }
+    }
+
+    public List<CacheTierStats> getCacheStats() {
+        List<CacheTierStats> stats = new ArrayList<>();
+        stats.add(nearCache.stats());
+        if (redisCache != null) {
+            stats.add(redisCache.stats());
+        }
+        return stats;
+    }
+
+    /**
+     * Bytes estimados das listas de amigos no L1 desta JVM.
+     */
+    public long getMemoryBytes() {
+        return nearCache.getMemoryBytes();
+    }
+}
@@ -0,0 +1,9 @@
+package com.cadernosegredos.repository;
+
+import java.util.UUID;
+
+/**
+ * Amigo de amigo ainda não conectado à pessoa, com quantos amigos os dois têm em comum.
+ */
+public record FriendSuggestion(UUID personId, long mutualFriends) {
+}
@@ -0,0 +1,27 @@
+package com.cadernosegredos.repository;
+
+import java.util.List;
+
+/**
+ * Resultado de uma criação de amizades em lote.
+ *
+ * @param created relacionamentos efetivamente criados (os que já existiam não contam)
+ * @param failed  pares de lotes que falharam mesmo após as novas tentativas (nada desses lotes foi gravado)
+ * @param batches transações executadas
+ */
+public record FriendshipBatchResult(long created, long failed, int batches) {
+
+    public static final FriendshipBatchResult EMPTY = new FriendshipBatchResult(0, 0, 0);
+
+    public static FriendshipBatchResult concat(List<FriendshipBatchResult> parts) {
+        long created = 0;
+        long failed = 0;
+        int batches = 0;
+        for (FriendshipBatchResult part : parts) {
+            created += part.created();
+            failed += part.failed();
+            batches += part.batches();
+        }
+        return new FriendshipBatchResult(created, failed, batches);
+    }
+}
@@ -0,0 +1,54 @@
+package com.cadernosegredos.repository;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Cypher do modelo de amizade, compartilhado pelos repositórios Neo4j síncrono e assíncrono.
+ * <p>
+ * Amizade é simétrica: um único relacionamento {@code :FRIENDS_WITH} por par, criado sempre do menor
+ * para o maior ID (ordem de string) e consultado sem direção. O MERGE também é sem direção, então um
+ * par antigo gravado no sentido oposto é reaproveitado em vez de ganhar uma segunda aresta.
+ */
+final class FriendshipCypher {
+    static final String CREATE_FRIENDSHIP =
+            "MERGE (p1:Person {id: $person1Id}) " +
+            "MERGE (p2:Person {id: $person2Id}) " +
+            "MERGE (p1)-[:FRIENDS_WITH]-(p2)";
+    static final String CREATE_FRIENDSHIPS =
+            "UNWIND $rows AS row " +
+            "MERGE (p1:Person {id: row.person1Id}) " +
+            "MERGE (p2:Person {id: row.person2Id}) " +
+            "MERGE (p1)-[:FRIENDS_WITH]-(p2)";
+    // DISTINCT: até a migração, pares recíprocos antigos devolveriam o amigo duas vezes
+    static final String FIND_FRIENDS =
+            "MATCH (p:Person {id: $personId})-[:FRIENDS_WITH]-(f:Person) RETURN DISTINCT f.id AS friendId";
+    static final String REMOVE_FRIENDSHIP =
+            "MATCH (p1:Person {id: $person1Id})-[r:FRIENDS_WITH]-(p2:Person {id: $person2Id}) DELETE r";
+    static final String MUTUAL_FRIENDS =
+            "MATCH (p1:Person {id: $person1Id})-[:FRIENDS_WITH]-(m:Person)-[:FRIENDS_WITH]-(p2:Person {id: $person2Id}) " +
+            "RETURN DISTINCT m.id AS friendId ORDER BY friendId LIMIT $limit";
+    static final String SUGGEST_FRIENDS =
+            "MATCH (p:Person {id: $personId})-[:FRIENDS_WITH]-(f:Person)-[:FRIENDS_WITH]-(s:Person) " +
+            "WHERE s <> p AND NOT (p)-[:FRIENDS_WITH]-(s) " +
+            "RETURN s.id AS personId, count(DISTINCT f) AS mutual ORDER BY mutual DESC, personId LIMIT $limit";
+    // A profundidade máxima de um padrão de tamanho variável não pode ser parâmetro: entra formatada (int já validado)
+    static final String SHORTEST_PATH =
+            "MATCH (p1:Person {id: $person1Id}), (p2:Person {id: $person2Id}) " +
+            "MATCH path = shortestPath((p1)-[:FRIENDS_WITH*..%d]-(p2)) " +
+            "RETURN [n IN nodes(path) | n.id] AS ids";
+
+    private FriendshipCypher() {
+    }
+
+    /**
+     * Parâmetros {@code person1Id}/{@code person2Id} na ordem canônica (menor ID primeiro).
+     */
+    static Map<String, Object> pair(UUID a, UUID b) {
+        String id1 = a.toString();
+        String id2 = b.toString();
+        return id1.compareTo(id2) <= 0
+                ? Map.of("person1Id", id1, "person2Id", id2)
+                : Map.of("person1Id", id2, "person2Id", id1);
+    }
+}
@@ -0,0 +1,228 @@
+package com.cadernosegredos.repository;
+
+import com.cadernosegredos.cache.CacheTierStats;
+import com.cadernosegredos.cache.PessoaCodec;
+import com.cadernosegredos.cache.PessoaCodecs;
+import com.cadernosegredos.config.RedisConfig;
+import com.cadernosegredos.model.Log;
+import com.cadernosegredos.model.Pessoa;
+import io.lettuce.core.KeyValue;
+import io.lettuce.core.RedisNoScriptException;
+import io.lettuce.core.ScriptOutputType;
+import io.lettuce.core.SetArgs;
+import io.lettuce.core.api.async.RedisAsyncCommands;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link AsyncPessoaCache} sobre Lettuce: os comandos de todas as requisições são multiplexados na
+ * conexão compartilhada e as respostas completam os futures no event loop do cliente. Usa as mesmas
+ * chaves, codec e scripts Lua de {@link RedisPessoaRepositoryImpl}.
+ */
+public class LettucePessoaCacheImpl implements AsyncPessoaCache {
+    private static final Logger logger = LoggerFactory.getLogger(LettucePessoaCacheImpl.class);
+
+    private final RedisAsyncCommands<byte[], byte[]> commands;
+    private final PessoaCodec codec;
+    private final AuditSink auditSink;
+    private final long ttlSeconds;
+    private final long ttlJitterSeconds;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public LettucePessoaCacheImpl(AuditSink auditSink) {
+        this(RedisConfig.getLettuceConnection().async(), auditSink, PessoaCodecs.fromEnvironment());
+    }
+
+    public LettucePessoaCacheImpl(RedisAsyncCommands<byte[], byte[]> commands, AuditSink auditSink, PessoaCodec codec) {
+        this.commands = commands;
+        this.auditSink = auditSink;
+        this.codec = codec;
+        this.ttlSeconds = RedisConfig.getPessoaTtlSeconds();
+        this.ttlJitterSeconds = RedisConfig.getPessoaTtlJitterSeconds();
+    }
+
+    private SetArgs expiryArgs() {
+        long jitter = ttlJitterSeconds > 0 ? ThreadLocalRandom.current().nextLong(ttlJitterSeconds + 1) : 0;
+        return SetArgs.Builder.ex(ttlSeconds + jitter);
+    }
+
+    // EVALSHA com fallback para EVAL quando o servidor ainda não tem o script (NOSCRIPT)
+    private <T> CompletableFuture<T> evalScript(RedisScript script, ScriptOutputType type, byte[]... keys) {
+        return commands.<T>evalsha(script.sha1(), type, keys).toCompletableFuture()
+                .handle((value, e) -> {
+                    if (e == null) {
+                        return CompletableFuture.completedFuture(value);
+                    }
+                    Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                    if (cause instanceof RedisNoScriptException) {
+                        return commands.<T>eval(script.source(), type, keys).toCompletableFuture();
+                    }
+                    return CompletableFuture.<T>failedFuture(cause);
+                })
+                .thenCompose(future -> future);
+    }
+
+    // Os dois SETs vão no mesmo flush da conexão; sem MULTI, que não é seguro em uma conexão compartilhada
+    private CompletableFuture<Void> set(Pessoa pessoa) {
+        byte[] idKey = RedisPessoaRepositoryImpl.idKey(pessoa.getId());
+        SetArgs args = expiryArgs();
+        return CompletableFuture.allOf(
+                commands.set(idKey, codec.encode(pessoa), args).toCompletableFuture(),
+                commands.set(RedisPessoaRepositoryImpl.cpfKey(pessoa.getCpf()), idKey, args).toCompletableFuture());
+    }
+
+    @Override
+    public CompletableFuture<Void> save(Pessoa pessoa) {
+        if (pessoa == null || pessoa.getId() == null) {
+            logger.warn("Tentativa de salvar pessoa nula ou sem ID no Redis.");
+            return CompletableFuture.completedFuture(null);
+        }
+        return set(pessoa).handle((ok, e) -> {
+            if (e != null) {
+                logger.error("Erro ao salvar pessoa no Redis: {}", e.getMessage());
+                auditSink.saveLog(new Log("ERROR", "Erro ao salvar pessoa no Redis", e.getMessage()));
+            } else {
+                logger.info("Pessoa com ID {} salva no Redis.", pessoa.getId());
+                auditSink.saveLog(new Log("INFO", "Pessoa salva no Redis", "ID: " + pessoa.getId()));
+            }
+            return null;
+        });
+    }
+
+    /**
+     * GET + PTTL enviados juntos; devolve a entrada com o TTL restante (renovação antecipada).
+     */
+    @Override
+    public CompletableFuture<Optional<PessoaCache.CacheEntry>> findEntryById(UUID id) {
+        byte[] key = RedisPessoaRepositoryImpl.idKey(id);
+        CompletionStage<byte[]> value = commands.get(key);
+        CompletionStage<Long> ttl = commands.pttl(key);
+        return value.thenCombine(ttl, (data, ttlMillis) -> {
+                    if (data == null) {
+                        misses.increment();
+                        return Optional.<PessoaCache.CacheEntry>empty();
+                    }
+                    hits.increment();
+                    logger.info("Pessoa com ID {} encontrada no Redis.", id);
+                    return Optional.of(new PessoaCache.CacheEntry(codec.decode(data), ttlMillis));
+                })
+                .toCompletableFuture()
+                .exceptionally(e -> {
+                    misses.increment();
+                    logger.error("Erro ao buscar pessoa por ID {} no Redis: {}", id, e.getMessage());
+                    auditSink.saveLog(new Log("ERROR", "Erro ao buscar pessoa por ID no Redis", "ID: " + id + ", Erro: " + e.getMessage()));
+                    return Optional.empty();
+                });
+    }
+
+    @Override
+    public CompletableFuture<Map<UUID, Pessoa>> findAllByIds(Collection<UUID> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return CompletableFuture.completedFuture(new HashMap<>());
+        }
+        byte[][] keys = ids.stream().map(RedisPessoaRepositoryImpl::idKey).toArray(byte[][]::new);
+        return commands.mget(keys).toCompletableFuture()
+                .thenApply(values -> {
+                    Map<UUID, Pessoa> found = new HashMap<>();
+                    for (KeyValue<byte[], byte[]> kv : values) {
+                        if (kv.hasValue()) {
+                            Pessoa pessoa = codec.decode(kv.getValue());
+                            found.put(pessoa.getId(), pessoa);
+                        }
+                    }
+                    hits.add(found.size());
+                    misses.add(keys.length - found.size());
+                    logger.info("MGET no Redis: {} de {} pessoas encontradas.", found.size(), keys.length);
+                    return found;
+                })
+                .exceptionally(e -> {
+                    misses.add(keys.length);
+                    logger.error("Erro ao buscar {} pessoas por ID no Redis: {}", keys.length, e.getMessage());
+                    auditSink.saveLog(new Log("ERROR", "Erro ao buscar pessoas por IDs no Redis", "Total de IDs: " + keys.length + ", Erro: " + e.getMessage()));
+                    return new HashMap<>();
+                });
+    }
+
+    @Override
+    public CompletableFuture<Void> saveAll(Collection<Pessoa> pessoas) {
+        if (pessoas == null || pessoas.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        CompletableFuture<?>[] writes = pessoas.stream()
+                .filter(pessoa -> pessoa != null && pessoa.getId() != null)
+                .map(this::set)
+                .toArray(CompletableFuture[]::new);
+        return CompletableFuture.allOf(writes).handle((ok, e) -> {
+            if (e != null) {
+                logger.error("Erro ao salvar {} pessoas no Redis: {}", pessoas.size(), e.getMessage());
+                auditSink.saveLog(new Log("ERROR", "Erro ao salvar pessoas no Redis", e.getMessage()));
+            } else {
+                logger.info("{} pessoas salvas no Redis.", writes.length);
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Optional<Pessoa>> findByCpf(String cpf) {
+        return this.<byte[]>evalScript(RedisPessoaRepositoryImpl.FIND_BY_CPF_SCRIPT, ScriptOutputType.VALUE,
+                        RedisPessoaRepositoryImpl.cpfKey(cpf))
+                .thenApply(data -> {
+                    if (data != null) {
+                        Pessoa pessoa = codec.decode(data);
+                        if (cpf.equals(pessoa.getCpf())) { // Ignora mapeamento obsoleto (CPF reatribuído)
+                            logger.info("Pessoa com CPF {} encontrada no Redis (ID {}).", cpf, pessoa.getId());
+                            hits.increment();
+                            return Optional.of(pessoa);
+                        }
+                    }
+                    misses.increment();
+                    return Optional.<Pessoa>empty();
+                })
+                .exceptionally(e -> {
+                    misses.increment();
+                    logger.error("Erro ao buscar pessoa por CPF {} no Redis: {}", cpf, e.getMessage());
+                    auditSink.saveLog(new Log("ERROR", "Erro ao buscar pessoa por CPF no Redis", "CPF: " + cpf + ", Erro: " + e.getMessage()));
+                    return Optional.empty();
+                });
+    }
+
+    @Override
+    public CompletableFuture<Void> delete(UUID id) {
+        return this.<Long>evalScript(RedisPessoaRepositoryImpl.DELETE_SCRIPT, ScriptOutputType.INTEGER,
+                        RedisPessoaRepositoryImpl.idKey(id))
+                .handle((deleted, e) -> {
+                    if (e != null) {
+                        logger.error("Erro ao deletar pessoa com ID {} do Redis: {}", id, e.getMessage());
+                        auditSink.saveLog(new Log("ERROR", "Erro ao deletar pessoa do Redis", "ID: " + id + ", Erro: " + e.getMessage()));
+                    } else if (deleted != null && deleted > 0) {
+                        logger.info("Pessoa com ID {} deletada do Redis.", id);
+                        auditSink.saveLog(new Log("INFO", "Pessoa deletada do Redis", "ID: " + id));
+                    } else {
+                        logger.warn("Tentativa de deletar pessoa com ID {} que não foi encontrada no Redis.", id);
+                    }
+                    return null;
+                });
+    }
+
+    /**
+     * Acertos/falhas deste adaptador; evictions e tamanho do servidor ficam com
+     * {@link RedisPessoaRepositoryImpl#getCacheStats()} (-1 aqui).
+     */
+    @Override
+    public CacheTierStats getCacheStats() {
+        return new CacheTierStats("redis-async", hits.sum(), misses.sum(), -1, -1);
+    }
+}
@@ -4,6 +4,7 @@ import com.cadernosegredos.config.MongoConfig;
 import com.cadernosegredos.model.Log;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.InsertManyOptions;
 import org.bson.Document;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -15,27 +16,66 @@ import java.util.Date;          // Importe para java.util.Date (necessário para
 import java.sql.Timestamp;      // Importe para java.sql.Timestamp (necessário para conversão)
 
 
-public class MongoLogRepositoryImpl {
+public class MongoLogRepositoryImpl implements AuditSink {
     private static final Logger logger = LoggerFactory.getLogger(MongoLogRepositoryImpl.class);
-    private MongoCollection<Document> logCollection;
+    private static final InsertManyOptions UNORDERED = new InsertManyOptions().ordered(false);
+
+    private final MongoCollection<Document> logCollection;
+    private final AsyncLogPipeline pipeline;
 
     public MongoLogRepositoryImpl() {
-        MongoDatabase database = MongoConfig.getMongoClient().getDatabase("cadernosegredos_mongo_db");
+        this(MongoConfig.getMongoDatabase(), AsyncLogPipeline.Settings.fromEnvironment());
+    }
+
+    /**
+     * Um único writer do pipeline grava no MongoDB, então há no máximo um {@code insertMany} em voo por
+     * processo, sem precisar de bulkhead. Um lote que falha é contado em {@code failed} nas
+     * estatísticas do pipeline e descartado (não é reenfileirado).
+     */
+    public MongoLogRepositoryImpl(MongoDatabase database, AsyncLogPipeline.Settings settings) {
         this.logCollection = database.getCollection("logs");
+        this.pipeline = new AsyncLogPipeline("mongo-logs", settings, this::writeBatch);
+    }
+
+    private void writeBatch(List<Log> batch) {
+        List<Document> docs = new ArrayList<>(batch.size());
+        for (Log log : batch) {
+            docs.add(toDocument(log));
+        }
+        logCollection.insertMany(docs, UNORDERED); // Não ordenado: uma falha não bloqueia o resto do lote
+        logger.debug("Lote de {} logs registrado no MongoDB.", docs.size());
+    }
+
+    /**
+     * Documento gravado na coleção {@code logs} para um {@link Log}.
+     */
+    public static Document toDocument(Log log) {
+        return new Document("tipo", log.getTipo())
+                .append("acao", log.getAcao())
+                .append("detalhes", log.getDetalhes())
+                .append("timestamp", log.getTimestamp());
     }
 
+    /**
+     * Enfileira o log no pipeline assíncrono; a gravação no MongoDB acontece em lote, fora da
+     * thread chamadora.
+     */
+    @Override
     public void saveLog(Log log) { // Nome do método é saveLog, não save
-        try {
-            Document doc = new Document("tipo", log.getTipo())
-                            .append("acao", log.getAcao())
-                            .append("detalhes", log.getDetalhes())
-                            .append("timestamp", log.getTimestamp());
+        pipeline.enqueue(log);
+    }
 
-            logCollection.insertOne(doc);
-            logger.info("Log registrado no MongoDB: Tipo={}, Ação='{}'", log.getTipo(), log.getAcao());
-        } catch (Exception e) {
-            logger.error("Erro ao salvar log no MongoDB: {}", e.getMessage());
-        }
+    @Override
+    public AsyncLogPipeline.Stats getStats() {
+        return pipeline.getStats();
+    }
+
+    /**
+     * Grava os logs pendentes e encerra o pipeline. Deve ser chamado antes de fechar o MongoClient.
+     */
+    @Override
+    public void close() {
+        pipeline.close();
     }
 
     public List<Log> findAllLogs() { // Este é o método que o App.java tenta chamar
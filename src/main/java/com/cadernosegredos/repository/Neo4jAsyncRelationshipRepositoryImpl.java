@@ -0,0 +1,104 @@
+package com.cadernosegredos.repository;
+
+import com.cadernosegredos.config.Neo4jConfig;
+import com.cadernosegredos.config.Neo4jSessions;
+import com.cadernosegredos.model.Log;
+import org.neo4j.driver.AccessMode;
+import org.neo4j.driver.Driver;
+import org.neo4j.driver.async.AsyncSession;
+import org.neo4j.driver.async.ResultCursor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+
+import static org.neo4j.driver.Values.parameters;
+
+/**
+ * {@link AsyncRelationshipRepository} sobre o {@link AsyncSession} do driver Neo4j: as mesmas
+ * consultas de {@link Neo4jRelationshipRepositoryImpl}, em transações gerenciadas (com retry de
+ * erros transitórios) que completam no event loop do driver, com as sessões de {@link Neo4jSessions}.
+ */
+public class Neo4jAsyncRelationshipRepositoryImpl implements AsyncRelationshipRepository {
+    private static final Logger logger = LoggerFactory.getLogger(Neo4jAsyncRelationshipRepositoryImpl.class);
+
+    private final Driver driver;
+    private final AuditSink auditSink;
+
+    public Neo4jAsyncRelationshipRepositoryImpl(AuditSink auditSink) {
+        this(Neo4jConfig.getDriver(), auditSink);
+    }
+
+    public Neo4jAsyncRelationshipRepositoryImpl(Driver driver, AuditSink auditSink) {
+        this.driver = driver;
+        this.auditSink = auditSink;
+    }
+
+    // Abre a sessão no modo de acesso pedido, executa e a fecha ao final (com sucesso ou erro), sem bloquear
+    private <T> CompletableFuture<T> withSession(AccessMode accessMode, Function<AsyncSession, CompletionStage<T>> work) {
+        AsyncSession session = driver.session(AsyncSession.class, Neo4jSessions.forAccessMode(accessMode));
+        CompletableFuture<T> result = new CompletableFuture<>();
+        work.apply(session).whenComplete((value, error) -> session.closeAsync().whenComplete((closed, closeError) -> {
+            if (error != null) {
+                result.completeExceptionally(error);
+            } else {
+                result.complete(value);
+            }
+        }));
+        return result;
+    }
+
+    @Override
+    public CompletableFuture<Void> createFriendship(UUID person1Id, UUID person2Id) {
+        return withSession(AccessMode.WRITE, session -> session.executeWriteAsync(tx -> tx.runAsync(FriendshipCypher.CREATE_FRIENDSHIP,
+                        FriendshipCypher.pair(person1Id, person2Id))
+                .thenCompose(ResultCursor::consumeAsync), Neo4jSessions.txConfig()))
+                .handle((summary, e) -> {
+                    if (e != null) {
+                        logger.error("Erro Neo4j ao criar amizade entre {} e {}: {}", person1Id, person2Id, e.getMessage());
+                        auditSink.saveLog(new Log("ERROR", "Erro Neo4j", "Falha ao criar amizade: " + e.getMessage()));
+                    } else {
+                        logger.info("Amizade criada entre pessoas com IDs: {} e {}", person1Id, person2Id);
+                        auditSink.saveLog(new Log("INFO", "Amizade Neo4j criada", "Entre " + person1Id + " e " + person2Id));
+                    }
+                    return null;
+                });
+    }
+
+    @Override
+    public CompletableFuture<List<UUID>> findFriends(UUID personId) {
+        return withSession(AccessMode.READ, session -> session.executeReadAsync(tx -> tx.runAsync(FriendshipCypher.FIND_FRIENDS, parameters("personId", personId.toString()))
+                .thenCompose(cursor -> cursor.listAsync(record -> UUID.fromString(record.get("friendId").asString()))), Neo4jSessions.txConfig()))
+                .handle((friendIds, e) -> {
+                    if (e != null) {
+                        logger.error("Erro Neo4j ao buscar amigos para {}: {}", personId, e.getMessage());
+                        auditSink.saveLog(new Log("ERROR", "Erro Neo4j", "Falha ao buscar amigos: " + e.getMessage()));
+                        return List.of();
+                    }
+                    logger.info("Encontrados {} amigos para a pessoa com ID: {}", friendIds.size(), personId);
+                    auditSink.saveLog(new Log("INFO", "Amigos Neo4j listados", "Para " + personId + ": " + friendIds.size() + " amigos."));
+                    return friendIds;
+                });
+    }
+
+    @Override
+    public CompletableFuture<Void> removeFriendship(UUID person1Id, UUID person2Id) {
+        return withSession(AccessMode.WRITE, session -> session.executeWriteAsync(tx -> tx.runAsync(FriendshipCypher.REMOVE_FRIENDSHIP,
+                        FriendshipCypher.pair(person1Id, person2Id))
+                .thenCompose(ResultCursor::consumeAsync), Neo4jSessions.txConfig()))
+                .handle((summary, e) -> {
+                    if (e != null) {
+                        logger.error("Erro Neo4j ao remover amizade entre {} e {}: {}", person1Id, person2Id, e.getMessage());
+                        auditSink.saveLog(new Log("ERROR", "Erro Neo4j", "Falha ao remover amizade: " + e.getMessage()));
+                    } else {
+                        logger.info("Amizade removida entre pessoas com IDs: {} e {}", person1Id, person2Id);
+                        auditSink.saveLog(new Log("INFO", "Amizade Neo4j removida", "Entre " + person1Id + " e " + person2Id));
+                    }
+                    return null;
+                });
+    }
+}
@@ -0,0 +1,148 @@
+package com.cadernosegredos.repository;
+
+import com.cadernosegredos.config.EnvConfig;
+import com.cadernosegredos.config.Neo4jSessions;
+import com.cadernosegredos.model.Log;
+import org.neo4j.driver.Driver;
+import org.neo4j.driver.Record;
+import org.neo4j.driver.Session;
+import org.neo4j.driver.exceptions.Neo4jException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.neo4j.driver.Values.parameters;
+
+/**
+ * Migração para o modelo de amizade simétrico (ver {@link FriendshipCypher}): onde existem as duas
+ * arestas {@code (a)->(b)} e {@code (b)->(a)}, mantém a que sai do menor ID e apaga a outra.
+ * <p>
+ * Percorre as pessoas em ordem de ID por páginas de {@code NEO4J_MIGRATION_BATCH_SIZE} (keyset pelo
+ * índice da constraint de {@code :Person(id)}), uma transação {@code executeWrite} por página, com
+ * pausa de {@code NEO4J_MIGRATION_PAUSE_MS} entre páginas para não disputar o cluster com o tráfego
+ * normal. É idempotente: pode ser interrompida e executada de novo do início.
+ */
+public class Neo4jFriendshipMigration implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(Neo4jFriendshipMigration.class);
+
+    // Para cada pessoa a da página, apaga as arestas b->a (b > a) que têm a recíproca a->b
+    private static final String COLLAPSE_PAGE =
+            "MATCH (a:Person) WHERE a.id > $afterId " +
+            "WITH a ORDER BY a.id LIMIT $pageSize " +
+            "OPTIONAL MATCH (a)<-[r:FRIENDS_WITH]-(b:Person) " +
+            "WHERE b.id > a.id AND (a)-[:FRIENDS_WITH]->(b) " +
+            "WITH a, r, CASE WHEN r IS NULL THEN 0 ELSE 1 END AS collapsed " +
+            "DELETE r " +
+            "RETURN max(a.id) AS lastId, sum(collapsed) AS collapsed";
+
+    /**
+     * Progresso da migração: arestas recíprocas removidas, páginas processadas e último ID visitado.
+     */
+    public record Progress(long collapsed, long pages, String lastId, boolean finished) {
+    }
+
+    private final Driver driver;
+    private final AuditSink auditSink;
+    private final int pageSize;
+    private final Duration pause;
+    private final AtomicLong collapsed = new AtomicLong();
+    private final AtomicLong pages = new AtomicLong();
+    private final AtomicReference<String> lastId = new AtomicReference<>("");
+    private volatile boolean finished;
+    private volatile boolean stopped;
+    private volatile Thread worker;
+
+    public Neo4jFriendshipMigration(Driver driver, AuditSink auditSink, int pageSize, Duration pause) {
+        this.driver = driver;
+        this.auditSink = auditSink;
+        this.pageSize = Math.max(1, pageSize);
+        this.pause = pause;
+    }
+
+    public static Neo4jFriendshipMigration fromEnvironment(Driver driver, AuditSink auditSink) {
+        return new Neo4jFriendshipMigration(driver, auditSink,
+                EnvConfig.getInt("NEO4J_MIGRATION_BATCH_SIZE", 10_000),
+                Duration.ofMillis(EnvConfig.getLong("NEO4J_MIGRATION_PAUSE_MS", 100)));
+    }
+
+    /**
+     * Executa a migração inteira na thread atual (migração pontual, para grafos pequenos ou janelas
+     * de manutenção).
+     */
+    public Progress run() {
+        if (driver == null) {
+            logger.error("Driver Neo4j indisponível; migração de amizades não executada.");
+            return getProgress();
+        }
+        logger.info("Iniciando migração de amizades recíprocas (páginas de {} pessoas).", pageSize);
+        long start = System.nanoTime();
+        try (Session session = driver.session(Neo4jSessions.write())) {
+            while (!stopped) {
+                String afterId = lastId.get();
+                Record page = session.executeWrite(tx -> tx.run(COLLAPSE_PAGE,
+                        parameters("afterId", afterId, "pageSize", pageSize)).single());
+                if (page.get("lastId").isNull()) {
+                    finished = true;
+                    break;
+                }
+                lastId.set(page.get("lastId").asString());
+                collapsed.addAndGet(page.get("collapsed").asLong());
+                long done = pages.incrementAndGet();
+                if (done % 100 == 0) {
+                    logger.info("Migração de amizades em andamento: {}", getProgress());
+                }
+                if (!pause.isZero()) {
+                    Thread.sleep(pause.toMillis());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Neo4jException e) {
+            // O progresso até a última página confirmada permanece; basta executar de novo
+            logger.error("Erro Neo4j na migração de amizades após o ID {}: {}", lastId.get(), e.getMessage());
+            auditSink.saveLog(new Log("ERROR", "Erro Neo4j", "Falha na migração de amizades após o ID " + lastId.get() + ": " + e.getMessage()));
+        }
+        Progress progress = getProgress();
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        logger.info("Migração de amizades {} em {} ms: {}", finished ? "concluída" : "interrompida", millis, progress);
+        auditSink.saveLog(new Log(finished ? "INFO" : "WARN", "Migração de amizades recíprocas", progress + ", Tempo: " + millis + "ms"));
+        return progress;
+    }
+
+    /**
+     * Executa a migração em uma thread de fundo (grafos grandes, com a aplicação atendendo normalmente).
+     */
+    public synchronized CompletableFuture<Progress> start() {
+        CompletableFuture<Progress> result = new CompletableFuture<>();
+        Thread thread = new Thread(() -> result.complete(run()), "neo4j-friendship-migration");
+        thread.setDaemon(true);
+        worker = thread;
+        thread.start();
+        return result;
+    }
+
+    public Progress getProgress() {
+        return new Progress(collapsed.get(), pages.get(), lastId.get(), finished);
+    }
+
+    /**
+     * Interrompe a execução em fundo ao fim da página atual.
+     */
+    @Override
+    public void close() {
+        stopped = true;
+        Thread thread = worker;
+        if (thread != null) {
+            // Sem interrupt: não corta uma transação no meio; a thread sai ao fim da página atual
+            try {
+                thread.join(Duration.ofSeconds(10).toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -1,82 +1,178 @@
 package com.cadernosegredos.repository;
 
+import com.cadernosegredos.config.EnvConfig;
 import com.cadernosegredos.config.Neo4jConfig;
+import com.cadernosegredos.config.Neo4jSessions;
+import com.cadernosegredos.model.Amizade;
 import com.cadernosegredos.model.Log;
 import org.neo4j.driver.Driver;
 import org.neo4j.driver.Result;
 import org.neo4j.driver.Session;
+import org.neo4j.driver.TransactionConfig;
 import org.neo4j.driver.exceptions.Neo4jException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 import static org.neo4j.driver.Values.parameters;
 
-public class Neo4jRelationshipRepositoryImpl {
+/**
+ * {@link RelationshipRepository} sobre o driver Neo4j. Toda consulta roda em transação gerenciada
+ * ({@code executeRead}/{@code executeWrite}, com retry de erros transitórios) em sessões configuradas
+ * por {@link Neo4jSessions}: leituras vão para os seguidores do cluster e escritas para o líder.
+ */
+public class Neo4jRelationshipRepositoryImpl implements RelationshipRepository {
     private static final Logger logger = LoggerFactory.getLogger(Neo4jRelationshipRepositoryImpl.class);
     private final Driver driver;
-    private final MongoLogRepositoryImpl logRepository = new MongoLogRepositoryImpl();
+    private final AuditSink auditSink;
+    // Pares por transação em createFriendships: um UNWIND por lote em vez de uma ida ao servidor por par
+    private final int unwindBatchSize = Math.max(1, EnvConfig.getInt("NEO4J_UNWIND_BATCH_SIZE", 5_000));
 
-    public Neo4jRelationshipRepositoryImpl() {
+    // Consultas de travessia rodam com tempo limite no servidor: o Neo4j aborta a transação e libera a conexão
+    private final TransactionConfig analyticsTxConfig = TransactionConfig.builder()
+            .withTimeout(Duration.ofMillis(EnvConfig.getLong("NEO4J_ANALYTICS_TIMEOUT_MS", 2_000)))
+            .build();
+
+    public Neo4jRelationshipRepositoryImpl(AuditSink auditSink) {
+        this.auditSink = auditSink;
         this.driver = Neo4jConfig.getDriver();
         logger.info("Neo4jRelationshipRepositoryImpl inicializado e driver obtido.");
     }
 
+    @Override
     public void createFriendship(UUID person1Id, UUID person2Id) {
-        String query = "MERGE (p1:Person {id: $person1Id}) " +
-                       "MERGE (p2:Person {id: $person2Id}) " +
-                       "MERGE (p1)-[:FRIENDS_WITH]->(p2)";
-        try (Session session = driver.session()) {
-            session.run(query, parameters("person1Id", person1Id.toString(), "person2Id", person2Id.toString()));
+        try (Session session = driver.session(Neo4jSessions.write())) {
+            session.executeWrite(tx -> tx.run(FriendshipCypher.CREATE_FRIENDSHIP, FriendshipCypher.pair(person1Id, person2Id))
+                    .consume(), Neo4jSessions.txConfig());
             logger.info("Amizade criada entre pessoas com IDs: {} e {}", person1Id, person2Id);
-            logRepository.saveLog(new Log("INFO", "Amizade Neo4j criada", "Entre " + person1Id + " e " + person2Id));
+            auditSink.saveLog(new Log("INFO", "Amizade Neo4j criada", "Entre " + person1Id + " e " + person2Id));
         } catch (Neo4jException e) {
             logger.error("Erro Neo4j ao criar amizade entre {} e {}: {}", person1Id, person2Id, e.getMessage());
-            logRepository.saveLog(new Log("ERROR", "Erro Neo4j", "Falha ao criar amizade: " + e.getMessage()));
+            auditSink.saveLog(new Log("ERROR", "Erro Neo4j", "Falha ao criar amizade: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Cria as amizades em lotes de {@code NEO4J_UNWIND_BATCH_SIZE} pares, cada lote um único
+     * {@code UNWIND ... MERGE} em uma transação gerenciada ({@code executeWrite}), que o driver repete
+     * sozinho em erros transitórios (deadlock, troca de líder). Um lote que falha mesmo assim é
+     * registrado e os demais seguem; como tudo é MERGE, repetir a importação é seguro.
+     */
+    @Override
+    public FriendshipBatchResult createFriendships(List<Amizade> amizades) {
+        if (amizades == null || amizades.isEmpty()) {
+            return FriendshipBatchResult.EMPTY;
+        }
+        long created = 0;
+        long failed = 0;
+        int batches = 0;
+        // Sem o tempo limite padrão: um lote de UNWIND grande pode levar mais que uma escrita unitária
+        try (Session session = driver.session(Neo4jSessions.write())) {
+            for (int from = 0; from < amizades.size(); from += unwindBatchSize) {
+                List<Amizade> chunk = amizades.subList(from, Math.min(amizades.size(), from + unwindBatchSize));
+                List<Map<String, Object>> rows = new ArrayList<>(chunk.size());
+                for (Amizade amizade : chunk) {
+                    rows.add(FriendshipCypher.pair(amizade.pessoa1Id(), amizade.pessoa2Id()));
+                }
+                batches++;
+                try {
+                    created += session.executeWrite(tx -> tx.run(FriendshipCypher.CREATE_FRIENDSHIPS, parameters("rows", rows))
+                            .consume().counters().relationshipsCreated());
+                } catch (Neo4jException e) {
+                    failed += chunk.size();
+                    logger.error("Erro Neo4j ao criar lote {} de {} amizades: {}", batches, chunk.size(), e.getMessage());
+                    auditSink.saveLog(new Log("ERROR", "Erro Neo4j", "Falha ao criar lote de " + chunk.size() + " amizades: " + e.getMessage()));
+                }
+            }
+        } catch (Neo4jException e) {
+            // Falhas dos lotes já foram contadas acima; aqui só o fechamento da sessão
+            logger.warn("Erro Neo4j ao fechar sessão da criação de amizades em lote: {}", e.getMessage());
         }
+        logger.info("Amizades em lote: {} pares, {} relacionamentos criados, {} pares com falha, {} transações.",
+                amizades.size(), created, failed, batches);
+        return new FriendshipBatchResult(created, failed, batches);
     }
 
+    @Override
     public List<UUID> findFriends(UUID personId) {
-        String query = "MATCH (p:Person {id: $personId})-[:FRIENDS_WITH]->(f:Person) RETURN f.id AS friendId";
-        try (Session session = driver.session()) {
-            Result result = session.run(query, parameters("personId", personId.toString()));
-            List<UUID> friendIds = result.stream()
-                                         .map(record -> UUID.fromString(record.get("friendId").asString()))
-                                         .collect(Collectors.toList());
+        try (Session session = driver.session(Neo4jSessions.read())) {
+            List<UUID> friendIds = session.executeRead(tx -> tx.run(FriendshipCypher.FIND_FRIENDS, parameters("personId", personId.toString()))
+                    .list(record -> UUID.fromString(record.get("friendId").asString())), Neo4jSessions.txConfig());
             logger.info("Encontrados {} amigos para a pessoa com ID: {}", friendIds.size(), personId);
-            logRepository.saveLog(new Log("INFO", "Amigos Neo4j listados", "Para " + personId + ": " + friendIds.size() + " amigos."));
+            auditSink.saveLog(new Log("INFO", "Amigos Neo4j listados", "Para " + personId + ": " + friendIds.size() + " amigos."));
             return friendIds;
         } catch (Neo4jException e) {
             logger.error("Erro Neo4j ao buscar amigos para {}: {}", personId, e.getMessage());
-            logRepository.saveLog(new Log("ERROR", "Erro Neo4j", "Falha ao buscar amigos: " + e.getMessage()));
+            auditSink.saveLog(new Log("ERROR", "Erro Neo4j", "Falha ao buscar amigos: " + e.getMessage()));
+            return List.of();
+        }
+    }
+
+    @Override
+    public List<UUID> findMutualFriends(UUID person1Id, UUID person2Id, int limit) {
+        try (Session session = driver.session(Neo4jSessions.read())) {
+            return session.executeRead(tx -> tx.run(FriendshipCypher.MUTUAL_FRIENDS, parameters(
+                            "person1Id", person1Id.toString(), "person2Id", person2Id.toString(), "limit", limit))
+                    .list(record -> UUID.fromString(record.get("friendId").asString())), analyticsTxConfig);
+        } catch (Neo4jException e) {
+            logger.error("Erro Neo4j ao buscar amigos em comum de {} e {}: {}", person1Id, person2Id, e.getMessage());
+            auditSink.saveLog(new Log("ERROR", "Erro Neo4j", "Falha ao buscar amigos em comum: " + e.getMessage()));
+            return List.of();
+        }
+    }
+
+    @Override
+    public List<FriendSuggestion> suggestFriends(UUID personId, int limit) {
+        try (Session session = driver.session(Neo4jSessions.read())) {
+            return session.executeRead(tx -> tx.run(FriendshipCypher.SUGGEST_FRIENDS, parameters("personId", personId.toString(), "limit", limit))
+                    .list(record -> new FriendSuggestion(UUID.fromString(record.get("personId").asString()),
+                            record.get("mutual").asLong())), analyticsTxConfig);
+        } catch (Neo4jException e) {
+            logger.error("Erro Neo4j ao sugerir amizades para {}: {}", personId, e.getMessage());
+            auditSink.saveLog(new Log("ERROR", "Erro Neo4j", "Falha ao sugerir amizades: " + e.getMessage()));
+            return List.of();
+        }
+    }
+
+    @Override
+    public List<UUID> findShortestPath(UUID person1Id, UUID person2Id, int maxDepth) {
+        String query = String.format(FriendshipCypher.SHORTEST_PATH, Math.max(1, maxDepth));
+        try (Session session = driver.session(Neo4jSessions.read())) {
+            return session.executeRead(tx -> {
+                Result result = tx.run(query, parameters("person1Id", person1Id.toString(), "person2Id", person2Id.toString()));
+                if (!result.hasNext()) {
+                    return List.<UUID>of();
+                }
+                return result.next().get("ids").asList(value -> UUID.fromString(value.asString()));
+            }, analyticsTxConfig);
+        } catch (Neo4jException e) {
+            logger.error("Erro Neo4j ao buscar caminho entre {} e {}: {}", person1Id, person2Id, e.getMessage());
+            auditSink.saveLog(new Log("ERROR", "Erro Neo4j", "Falha ao buscar caminho entre pessoas: " + e.getMessage()));
             return List.of();
         }
     }
 
     // --- NOVO MÉTODO: removeFriendship() ---
+    @Override
     public void removeFriendship(UUID person1Id, UUID person2Id) {
-        String query = "MATCH (p1:Person {id: $person1Id})-[r:FRIENDS_WITH]->(p2:Person {id: $person2Id}) DELETE r";
-        try (Session session = driver.session()) {
-            session.run(query, parameters("person1Id", person1Id.toString(), "person2Id", person2Id.toString()));
+        try (Session session = driver.session(Neo4jSessions.write())) {
+            session.executeWrite(tx -> tx.run(FriendshipCypher.REMOVE_FRIENDSHIP, FriendshipCypher.pair(person1Id, person2Id))
+                    .consume(), Neo4jSessions.txConfig());
             logger.info("Amizade removida entre pessoas com IDs: {} e {}", person1Id, person2Id);
-            logRepository.saveLog(new Log("INFO", "Amizade Neo4j removida", "Entre " + person1Id + " e " + person2Id));
+            auditSink.saveLog(new Log("INFO", "Amizade Neo4j removida", "Entre " + person1Id + " e " + person2Id));
         } catch (Neo4jException e) {
             logger.error("Erro Neo4j ao remover amizade entre {} e {}: {}", person1Id, person2Id, e.getMessage());
-            logRepository.saveLog(new Log("ERROR", "Erro Neo4j", "Falha ao remover amizade: " + e.getMessage()));
+            auditSink.saveLog(new Log("ERROR", "Erro Neo4j", "Falha ao remover amizade: " + e.getMessage()));
         }
     }
 
+    @Override
     public void closeDriver() {
-        if (driver != null) {
-            try {
-                driver.close();
-                logger.info("Driver Neo4j fechado com sucesso.");
-            } catch (Exception e) {
-                logger.error("Erro ao fechar driver Neo4j: {}", e.getMessage());
-            }
-        }
+        Neo4jConfig.closeDriver(); // Driver compartilhado: fecha e libera a instância única
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,26 @@
+package com.cadernosegredos.repository;
+
+import com.cadernosegredos.model.Log;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Descarta todos os logs. Usado em benchmarks para medir os caminhos quentes sem o custo de auditoria.
+ */
+public class NoOpAuditSink implements AuditSink {
+    private final LongAdder discarded = new LongAdder();
+
+    @Override
+    public void saveLog(Log log) {
+        discarded.increment();
+    }
+
+    @Override
+    public AsyncLogPipeline.Stats getStats() {
+        return new AsyncLogPipeline.Stats(0, discarded.sum(), 0, 0, 0, 0, 0.0, 0.0);
+    }
+
+    @Override
+    public void close() {
+    }
+}
@@ -0,0 +1,40 @@
+package com.cadernosegredos.repository;
+
+import com.cadernosegredos.cache.CacheTierStats;
+import com.cadernosegredos.model.Pessoa;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Cache compartilhado de pessoas (L2), na frente do PostgreSQL. A implementação de produção é
+ * {@link RedisPessoaRepositoryImpl}; os benchmarks usam uma implementação em memória.
+ */
+public interface PessoaCache {
+
+    /**
+     * Entrada do cache junto com o TTL restante (ms; negativo se a chave não expira).
+     */
+    record CacheEntry(Pessoa pessoa, long ttlMillis) {
+    }
+
+    void save(Pessoa pessoa);
+
+    Optional<Pessoa> findById(UUID id);
+
+    Optional<CacheEntry> findEntryById(UUID id);
+
+    Map<UUID, Pessoa> findAllByIds(Collection<UUID> ids); // Apenas os acertos, indexados por ID
+
+    void saveAll(Collection<Pessoa> pessoas);
+
+    Optional<Pessoa> findByCpf(String cpf);
+
+    void delete(UUID id);
+
+    void deleteAll(Collection<UUID> ids); // Um único pipeline para o lote inteiro
+
+    CacheTierStats getCacheStats();
+}
@@ -1,15 +1,24 @@
 package com.cadernosegredos.repository;
 
 import com.cadernosegredos.model.Pessoa;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID; // Importe UUID
+import java.util.stream.Stream;
 
 public interface PessoaRepository {
     Pessoa save(Pessoa pessoa);
     Optional<Pessoa> findById(UUID id); // <--- ID agora é UUID
     Optional<Pessoa> findByCpf(String cpf);
+    List<Pessoa> findAllByIds(Collection<UUID> ids); // Uma única consulta para vários IDs (ordem não garantida)
     Pessoa update(Pessoa pessoa);
     boolean delete(UUID id); // <--- ID agora é UUID, e o retorno é boolean
     List<Pessoa> findAll();
+    Stream<Pessoa> streamAll(); // Lê sob demanda; deve ser fechado (try-with-resources)
+    List<Pessoa> findPage(UUID afterId, int limit);
+    BatchResult saveAll(List<Pessoa> pessoas); // Lote JDBC em uma transação; IDs gerados na ordem da entrada
+    BatchResult updateAll(List<Pessoa> pessoas);
+    BatchResult deleteAllByIds(List<UUID> ids);
+    BulkUpsertResult bulkUpsert(List<Pessoa> pessoas); // Insere ou atualiza por CPF em lote; null em caso de falha // Paginação por chave (keyset): ordem de ID, afterId null = primeira página
 }
\ No newline at end of file
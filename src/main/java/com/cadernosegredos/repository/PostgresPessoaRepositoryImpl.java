@@ -3,25 +3,65 @@ package com.cadernosegredos.repository;
 import com.cadernosegredos.config.PostgresConfig;
 import com.cadernosegredos.model.Log;
 import com.cadernosegredos.model.Pessoa;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.sql.*;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.UUID; // Importe UUID
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class PostgresPessoaRepositoryImpl implements PessoaRepository {
     private static final Logger logger = LoggerFactory.getLogger(PostgresPessoaRepositoryImpl.class);
-    private final MongoLogRepositoryImpl logRepository = new MongoLogRepositoryImpl();
+    // SQL em constantes: o texto é a chave do cache de statements do pgjdbc em cada conexão
+    private static final String COLUMNS = "id, nome, email, cpf, dataNascimento";
+    private static final String INSERT_RETURNING_ID_SQL = "INSERT INTO pessoas (nome, email, cpf, dataNascimento) VALUES (?, ?, ?, ?) RETURNING id";
+    private static final String INSERT_SQL = "INSERT INTO pessoas (nome, email, cpf, dataNascimento) VALUES (?, ?, ?, ?)";
+    private static final String FIND_BY_ID_SQL = "SELECT " + COLUMNS + " FROM pessoas WHERE id = ?";
+    private static final String FIND_BY_CPF_SQL = "SELECT " + COLUMNS + " FROM pessoas WHERE cpf = ?";
+    private static final String FIND_ALL_BY_IDS_SQL = "SELECT " + COLUMNS + " FROM pessoas WHERE id = ANY(?)";
+    private static final String FIND_ALL_SQL = "SELECT " + COLUMNS + " FROM pessoas";
+    private static final String FIRST_PAGE_SQL = "SELECT " + COLUMNS + " FROM pessoas ORDER BY id LIMIT ?";
+    private static final String NEXT_PAGE_SQL = "SELECT " + COLUMNS + " FROM pessoas WHERE id > ? ORDER BY id LIMIT ?";
+    private static final String UPDATE_SQL = "UPDATE pessoas SET nome = ?, email = ?, cpf = ?, dataNascimento = ? WHERE id = ?";
+    private static final String DELETE_SQL = "DELETE FROM pessoas WHERE id = ?";
+    // Importação em massa. A staging é temporária por sessão: como as conexões do pool são reutilizadas, é criada uma vez por conexão
+    private static final String CREATE_STAGING_SQL = "CREATE TEMP TABLE IF NOT EXISTS pessoas_staging " +
+            "(linha bigint, nome text, email text, cpf text, dataNascimento date) ON COMMIT DELETE ROWS";
+    private static final String COPY_TO_STAGING_SQL = "COPY pessoas_staging (linha, nome, email, cpf, dataNascimento) FROM STDIN WITH (FORMAT csv)";
+    private static final String UPSERT_FROM_STAGING_SQL = "INSERT INTO pessoas (nome, email, cpf, dataNascimento) " +
+            "SELECT DISTINCT ON (cpf) nome, email, cpf, dataNascimento FROM pessoas_staging ORDER BY cpf, linha DESC " +
+            "ON CONFLICT (cpf) DO UPDATE SET nome = EXCLUDED.nome, email = EXCLUDED.email, dataNascimento = EXCLUDED.dataNascimento " +
+            "RETURNING " + COLUMNS + ", (xmax = 0) AS inserida";
+    private final AuditSink auditSink;
+
+    public PostgresPessoaRepositoryImpl(AuditSink auditSink) {
+        this.auditSink = auditSink;
+    }
 
     @Override
     public Pessoa save(Pessoa pessoa) {
-        String sql = "INSERT INTO pessoas (nome, email, cpf, dataNascimento) VALUES (?, ?, ?, ?) RETURNING id";
         try (Connection conn = PostgresConfig.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) { // Statement.RETURN_GENERATED_KEYS é geralmente implícito com RETURNING no PostgreSQL
+             PreparedStatement pstmt = PostgresConfig.prepareStatement(conn, INSERT_RETURNING_ID_SQL)) { // Statement.RETURN_GENERATED_KEYS é geralmente implícito com RETURNING no PostgreSQL
             pstmt.setString(1, pessoa.getNome());
             pstmt.setString(2, pessoa.getEmail());
             pstmt.setString(3, pessoa.getCpf());
@@ -31,26 +71,26 @@ public class PostgresPessoaRepositoryImpl implements PessoaRepository {
             if (rs.next()) {
                 UUID generatedId = (UUID) rs.getObject("id"); // Obtém o UUID gerado
                 pessoa.setId(generatedId); // Define o ID na sua Pessoa
+                PostgresConfig.markWrite();
                 logger.info("Pessoa salva no PostgreSQL com ID: {}", generatedId);
-                logRepository.saveLog(new Log("INFO", "Pessoa salva no PostgreSQL", "ID: " + generatedId + ", Nome: " + pessoa.getNome()));
+                auditSink.saveLog(new Log("INFO", "Pessoa salva no PostgreSQL", "ID: " + generatedId + ", Nome: " + pessoa.getNome()));
                 return pessoa;
             } else {
                 logger.error("Falha ao obter ID gerado para a pessoa: {}", pessoa.getNome());
-                logRepository.saveLog(new Log("ERROR", "Falha ao salvar pessoa no PostgreSQL", "Nenhum ID retornado para " + pessoa.getNome()));
+                auditSink.saveLog(new Log("ERROR", "Falha ao salvar pessoa no PostgreSQL", "Nenhum ID retornado para " + pessoa.getNome()));
                 return null;
             }
         } catch (SQLException e) {
             logger.error("Erro ao salvar pessoa no PostgreSQL: {}", e.getMessage());
-            logRepository.saveLog(new Log("ERROR", "Erro SQL ao salvar pessoa", e.getMessage()));
+            auditSink.saveLog(new Log("ERROR", "Erro SQL ao salvar pessoa", e.getMessage()));
             return null;
         }
     }
 
     @Override
     public Optional<Pessoa> findById(UUID id) { // <--- Mude para UUID
-        String sql = "SELECT id, nome, email, cpf, dataNascimento FROM pessoas WHERE id = ?";
-        try (Connection conn = PostgresConfig.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try (Connection conn = PostgresConfig.getReadConnection();
+             PreparedStatement pstmt = PostgresConfig.prepareStatement(conn, FIND_BY_ID_SQL)) {
             pstmt.setObject(1, id); // Use setObject para UUID
             ResultSet rs = pstmt.executeQuery();
             if (rs.next()) {
@@ -58,16 +98,15 @@ public class PostgresPessoaRepositoryImpl implements PessoaRepository {
             }
         } catch (SQLException e) {
             logger.error("Erro ao buscar pessoa por ID {} no PostgreSQL: {}", id, e.getMessage());
-            logRepository.saveLog(new Log("ERROR", "Erro SQL ao buscar pessoa por ID", "ID: " + id + ", Erro: " + e.getMessage()));
+            auditSink.saveLog(new Log("ERROR", "Erro SQL ao buscar pessoa por ID", "ID: " + id + ", Erro: " + e.getMessage()));
         }
         return Optional.empty();
     }
 
     @Override
     public Optional<Pessoa> findByCpf(String cpf) {
-        String sql = "SELECT id, nome, email, cpf, dataNascimento FROM pessoas WHERE cpf = ?";
-        try (Connection conn = PostgresConfig.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try (Connection conn = PostgresConfig.getReadConnection();
+             PreparedStatement pstmt = PostgresConfig.prepareStatement(conn, FIND_BY_CPF_SQL)) {
             pstmt.setString(1, cpf);
             ResultSet rs = pstmt.executeQuery();
             if (rs.next()) {
@@ -75,16 +114,40 @@ public class PostgresPessoaRepositoryImpl implements PessoaRepository {
             }
         } catch (SQLException e) {
             logger.error("Erro ao buscar pessoa por CPF {} no PostgreSQL: {}", cpf, e.getMessage());
-            logRepository.saveLog(new Log("ERROR", "Erro SQL ao buscar pessoa por CPF", "CPF: " + cpf + ", Erro: " + e.getMessage()));
+            auditSink.saveLog(new Log("ERROR", "Erro SQL ao buscar pessoa por CPF", "CPF: " + cpf + ", Erro: " + e.getMessage()));
         }
         return Optional.empty();
     }
 
+    /**
+     * Busca várias pessoas em uma única ida ao banco com {@code WHERE id = ANY(?)}.
+     * A ordem do resultado não é garantida; IDs inexistentes são simplesmente ignorados.
+     */
+    @Override
+    public List<Pessoa> findAllByIds(Collection<UUID> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return List.of();
+        }
+        List<Pessoa> pessoas = new ArrayList<>(ids.size());
+        try (Connection conn = PostgresConfig.getReadConnection();
+             PreparedStatement pstmt = PostgresConfig.prepareStatement(conn, FIND_ALL_BY_IDS_SQL)) {
+            pstmt.setArray(1, conn.createArrayOf("uuid", ids.toArray()));
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    pessoas.add(mapResultSetToPessoa(rs));
+                }
+            }
+        } catch (SQLException e) {
+            logger.error("Erro ao buscar {} pessoas por ID no PostgreSQL: {}", ids.size(), e.getMessage());
+            auditSink.saveLog(new Log("ERROR", "Erro SQL ao buscar pessoas por IDs", "Total de IDs: " + ids.size() + ", Erro: " + e.getMessage()));
+        }
+        return pessoas;
+    }
+
     @Override
     public Pessoa update(Pessoa pessoa) {
-        String sql = "UPDATE pessoas SET nome = ?, email = ?, cpf = ?, dataNascimento = ? WHERE id = ?";
         try (Connection conn = PostgresConfig.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+             PreparedStatement pstmt = PostgresConfig.prepareStatement(conn, UPDATE_SQL)) {
             pstmt.setString(1, pessoa.getNome());
             pstmt.setString(2, pessoa.getEmail());
             pstmt.setString(3, pessoa.getCpf());
@@ -92,53 +155,400 @@ public class PostgresPessoaRepositoryImpl implements PessoaRepository {
             pstmt.setObject(5, pessoa.getId()); // Use setObject para UUID
             int affectedRows = pstmt.executeUpdate();
             if (affectedRows > 0) {
+                PostgresConfig.markWrite();
                 logger.info("Pessoa atualizada no PostgreSQL com ID: {}", pessoa.getId());
-                logRepository.saveLog(new Log("INFO", "Pessoa atualizada no PostgreSQL", "ID: " + pessoa.getId()));
+                auditSink.saveLog(new Log("INFO", "Pessoa atualizada no PostgreSQL", "ID: " + pessoa.getId()));
                 return pessoa;
             }
         } catch (SQLException e) {
             logger.error("Erro ao atualizar pessoa com ID {} no PostgreSQL: {}", pessoa.getId(), e.getMessage());
-            logRepository.saveLog(new Log("ERROR", "Erro SQL ao atualizar pessoa", "ID: " + pessoa.getId() + ", Erro: " + e.getMessage()));
+            auditSink.saveLog(new Log("ERROR", "Erro SQL ao atualizar pessoa", "ID: " + pessoa.getId() + ", Erro: " + e.getMessage()));
         }
         return null;
     }
 
     @Override
     public boolean delete(UUID id) { // <--- Mude para UUID e retorne boolean
-        String sql = "DELETE FROM pessoas WHERE id = ?";
         try (Connection conn = PostgresConfig.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+             PreparedStatement pstmt = PostgresConfig.prepareStatement(conn, DELETE_SQL)) {
             pstmt.setObject(1, id); // Use setObject para UUID
             int affectedRows = pstmt.executeUpdate();
             if (affectedRows > 0) {
+                PostgresConfig.markWrite();
                 logger.info("Pessoa deletada do PostgreSQL com ID: {}", id);
-                logRepository.saveLog(new Log("INFO", "Pessoa deletada do PostgreSQL", "ID: " + id));
+                auditSink.saveLog(new Log("INFO", "Pessoa deletada do PostgreSQL", "ID: " + id));
                 return true;
             }
         } catch (SQLException e) {
             logger.error("Erro ao deletar pessoa com ID {} do PostgreSQL: {}", id, e.getMessage());
-            logRepository.saveLog(new Log("ERROR", "Erro SQL ao deletar pessoa", "ID: " + id + ", Erro: " + e.getMessage()));
+            auditSink.saveLog(new Log("ERROR", "Erro SQL ao deletar pessoa", "ID: " + id + ", Erro: " + e.getMessage()));
         }
         return false;
     }
 
     @Override
     public List<Pessoa> findAll() {
-        String sql = "SELECT id, nome, email, cpf, dataNascimento FROM pessoas";
         List<Pessoa> pessoas = new ArrayList<>();
-        try (Connection conn = PostgresConfig.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+        try (Connection conn = PostgresConfig.getReadConnection();
+             PreparedStatement pstmt = PostgresConfig.prepareStatement(conn, FIND_ALL_SQL);
+             ResultSet rs = pstmt.executeQuery()) {
             while (rs.next()) {
                 pessoas.add(mapResultSetToPessoa(rs));
             }
         } catch (SQLException e) {
             logger.error("Erro ao listar todas as pessoas do PostgreSQL: {}", e.getMessage());
-            logRepository.saveLog(new Log("ERROR", "Erro SQL ao listar todas as pessoas", e.getMessage()));
+            auditSink.saveLog(new Log("ERROR", "Erro SQL ao listar todas as pessoas", e.getMessage()));
+        }
+        return pessoas;
+    }
+
+    /**
+     * Percorre a tabela inteira sob demanda, com um cursor no servidor: o driver só usa cursor com
+     * autocommit desligado e fetch size positivo, e então traz {@code POSTGRES_FETCH_SIZE} linhas por
+     * ida ao banco em vez do resultado inteiro. A conexão fica emprestada até o stream ser fechado,
+     * por isso ele deve ser usado em try-with-resources.
+     */
+    @Override
+    public Stream<Pessoa> streamAll() {
+        Connection conn = null;
+        PreparedStatement pstmt = null;
+        try {
+            conn = PostgresConfig.getReadConnection();
+            conn.setAutoCommit(false); // Necessário para o driver abrir um cursor (portal) no servidor
+            pstmt = PostgresConfig.prepareStatement(conn, FIND_ALL_SQL); // TYPE_FORWARD_ONLY, como o cursor exige
+            pstmt.setFetchSize(PostgresConfig.getFetchSize());
+            ResultSet rs = pstmt.executeQuery();
+            Connection cursorConn = conn;
+            PreparedStatement cursorStmt = pstmt;
+            return StreamSupport.stream(new PessoaCursor(rs), false)
+                    .onClose(() -> closeCursor(cursorConn, cursorStmt));
+        } catch (SQLException e) {
+            logger.error("Erro ao abrir cursor de pessoas no PostgreSQL: {}", e.getMessage());
+            auditSink.saveLog(new Log("ERROR", "Erro SQL ao percorrer pessoas", e.getMessage()));
+            closeCursor(conn, pstmt);
+            return Stream.empty();
+        }
+    }
+
+    private void closeCursor(Connection conn, PreparedStatement pstmt) {
+        if (conn == null) {
+            return;
+        }
+        try {
+            if (pstmt != null) {
+                pstmt.close(); // Fecha o ResultSet e o portal no servidor
+            }
+            conn.rollback(); // Só leitura: encerra a transação aberta para o cursor
+            conn.setAutoCommit(true);
+        } catch (SQLException e) {
+            logger.warn("Erro ao fechar cursor de pessoas no PostgreSQL: {}", e.getMessage());
+        } finally {
+            PostgresConfig.closeConnection(conn); // Devolve a conexão ao pool
+        }
+    }
+
+    /**
+     * Lê uma linha do cursor por vez. Uma falha no meio da leitura é propagada (e não tratada como
+     * fim do resultado) para que uma listagem ou exportação incompleta não pareça completa.
+     */
+    private final class PessoaCursor extends Spliterators.AbstractSpliterator<Pessoa> {
+        private final ResultSet rs;
+
+        PessoaCursor(ResultSet rs) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.rs = rs;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Pessoa> action) {
+            try {
+                if (!rs.next()) {
+                    return false;
+                }
+                action.accept(mapResultSetToPessoa(rs));
+                return true;
+            } catch (SQLException e) {
+                logger.error("Erro ao ler cursor de pessoas no PostgreSQL: {}", e.getMessage());
+                auditSink.saveLog(new Log("ERROR", "Erro SQL ao percorrer pessoas", e.getMessage()));
+                throw new IllegalStateException("Falha ao ler pessoas do PostgreSQL: " + e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Página de até {@code limit} pessoas em ordem de ID, a partir do ID seguinte a {@code afterId}
+     * (paginação por chave: usa o índice da chave primária e custa o mesmo em qualquer página, ao
+     * contrário de OFFSET). Para a próxima página, passe o ID da última pessoa retornada.
+     */
+    @Override
+    public List<Pessoa> findPage(UUID afterId, int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        String sql = afterId == null ? FIRST_PAGE_SQL : NEXT_PAGE_SQL;
+        List<Pessoa> pessoas = new ArrayList<>(Math.min(limit, 1_000));
+        try (Connection conn = PostgresConfig.getReadConnection();
+             PreparedStatement pstmt = PostgresConfig.prepareStatement(conn, sql)) {
+            int index = 1;
+            if (afterId != null) {
+                pstmt.setObject(index++, afterId);
+            }
+            pstmt.setInt(index, limit);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    pessoas.add(mapResultSetToPessoa(rs));
+                }
+            }
+        } catch (SQLException e) {
+            logger.error("Erro ao buscar página de pessoas após ID {} no PostgreSQL: {}", afterId, e.getMessage());
+            auditSink.saveLog(new Log("ERROR", "Erro SQL ao paginar pessoas", "Após ID: " + afterId + ", Erro: " + e.getMessage()));
         }
         return pessoas;
     }
 
+    /**
+     * Insere todas as pessoas com um único lote JDBC (addBatch/executeBatch) em uma transação.
+     * Os IDs gerados voltam na ordem da entrada e também são definidos nas próprias pessoas.
+     */
+    @Override
+    public BatchResult saveAll(List<Pessoa> pessoas) {
+        BatchResult result = executeBatch("inserir", INSERT_SQL, true, pessoas, (pstmt, pessoa) -> {
+            pstmt.setString(1, pessoa.getNome());
+            pstmt.setString(2, pessoa.getEmail());
+            pstmt.setString(3, pessoa.getCpf());
+            pstmt.setDate(4, Date.valueOf(pessoa.getDataNascimento()));
+        }, Pessoa::getId);
+        for (int i = 0; i < pessoas.size(); i++) {
+            if (result.ids().get(i) != null) {
+                pessoas.get(i).setId(result.ids().get(i));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public BatchResult updateAll(List<Pessoa> pessoas) {
+        return executeBatch("atualizar", UPDATE_SQL, false, pessoas, (pstmt, pessoa) -> {
+            pstmt.setString(1, pessoa.getNome());
+            pstmt.setString(2, pessoa.getEmail());
+            pstmt.setString(3, pessoa.getCpf());
+            pstmt.setDate(4, Date.valueOf(pessoa.getDataNascimento()));
+            pstmt.setObject(5, Objects.requireNonNull(pessoa.getId(), "pessoa sem ID"));
+        }, Pessoa::getId);
+    }
+
+    @Override
+    public BatchResult deleteAllByIds(List<UUID> ids) {
+        return executeBatch("remover", DELETE_SQL, false, ids,
+                (pstmt, id) -> pstmt.setObject(1, Objects.requireNonNull(id, "ID nulo")), Function.identity());
+    }
+
+    @FunctionalInterface
+    private interface RowBinder<T> {
+        void bind(PreparedStatement pstmt, T row) throws SQLException;
+    }
+
+    /**
+     * Executa um lote JDBC em uma única transação e devolve o resultado de cada linha.
+     * <p>
+     * No PostgreSQL um erro aborta a transação inteira, e dentro de uma transação o pgjdbc marca
+     * todas as linhas do lote como {@code EXECUTE_FAILED}, sem apontar a culpada. Por isso cada
+     * (sub)lote roda sob um savepoint: se falha, volta ao savepoint e é dividido ao meio, até isolar
+     * as linhas com erro (bisseção; k linhas ruins custam O(k log n) sublotes). Sem erros, o custo é
+     * o de um único lote. Linhas que não podem ser vinculadas (ex.: campos nulos) e UPDATE/DELETE
+     * que não encontram a linha também são reportados como falha.
+     */
+    private <T> BatchResult executeBatch(String operacao, String sql, boolean generatedKeys, List<T> rows,
+                                         RowBinder<T> binder, Function<T, UUID> idOf) {
+        if (rows == null || rows.isEmpty()) {
+            return new BatchResult(List.of(), List.of());
+        }
+        UUID[] ids = new UUID[rows.size()];
+        String[] errors = new String[rows.size()];
+        try (Connection conn = PostgresConfig.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement pstmt = generatedKeys
+                    ? PostgresConfig.prepareStatement(conn, sql, new String[]{"id"})
+                    : PostgresConfig.prepareStatement(conn, sql)) {
+                List<Integer> all = new ArrayList<>(rows.size());
+                for (int i = 0; i < rows.size(); i++) {
+                    all.add(i);
+                }
+                new BatchRun<>(conn, pstmt, operacao, generatedKeys, rows, binder, idOf, ids, errors).execute(all);
+                conn.commit();
+                PostgresConfig.markWrite();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            logger.error("Erro ao {} {} pessoas em lote no PostgreSQL: {}", operacao, rows.size(), e.getMessage());
+            auditSink.saveLog(new Log("ERROR", "Erro SQL ao " + operacao + " pessoas em lote", "Linhas: " + rows.size() + ", Erro: " + e.getMessage()));
+            Arrays.fill(ids, null);
+            for (int i = 0; i < errors.length; i++) {
+                if (errors[i] == null) {
+                    errors[i] = e.getMessage();
+                }
+            }
+        }
+
+        List<BatchResult.RowFailure> failures = new ArrayList<>();
+        for (int i = 0; i < errors.length; i++) {
+            if (errors[i] != null) {
+                T row = rows.get(i);
+                failures.add(new BatchResult.RowFailure(i, row == null ? null : idOf.apply(row), errors[i]));
+            }
+        }
+        logger.info("Lote para {} {} pessoas no PostgreSQL: {} com sucesso, {} com falha.",
+                operacao, rows.size(), rows.size() - failures.size(), failures.size());
+        return new BatchResult(Collections.unmodifiableList(Arrays.asList(ids)), List.copyOf(failures));
+    }
+
+    /**
+     * Estado de uma execução de {@link #executeBatch}: o resultado de cada linha é gravado em
+     * {@code ids}/{@code errors} pelo índice original.
+     */
+    private record BatchRun<T>(Connection conn, PreparedStatement pstmt, String operacao, boolean generatedKeys,
+                               List<T> rows, RowBinder<T> binder, Function<T, UUID> idOf, UUID[] ids, String[] errors) {
+
+        void execute(List<Integer> chunk) throws SQLException {
+            List<Integer> batchRows = new ArrayList<>(chunk.size());
+            for (int row : chunk) {
+                if (errors[row] != null) {
+                    continue;
+                }
+                try {
+                    binder.bind(pstmt, rows.get(row));
+                } catch (RuntimeException e) {
+                    errors[row] = "Dados inválidos: " + e.getMessage();
+                    continue;
+                }
+                pstmt.addBatch();
+                batchRows.add(row);
+            }
+            if (batchRows.isEmpty()) {
+                return;
+            }
+            Savepoint savepoint = conn.setSavepoint();
+            int[] counts;
+            try {
+                counts = pstmt.executeBatch();
+            } catch (BatchUpdateException e) {
+                conn.rollback(savepoint);
+                pstmt.clearBatch();
+                if (batchRows.size() == 1) {
+                    int failed = batchRows.get(0);
+                    SQLException cause = e.getNextException() != null ? e.getNextException() : e;
+                    errors[failed] = cause.getMessage();
+                    logger.warn("Linha {} rejeitada ao {} pessoas em lote: {}", failed, operacao, cause.getMessage());
+                    return;
+                }
+                int middle = batchRows.size() / 2;
+                execute(batchRows.subList(0, middle));
+                execute(batchRows.subList(middle, batchRows.size()));
+                return;
+            }
+            conn.releaseSavepoint(savepoint);
+            if (generatedKeys) {
+                try (ResultSet keys = pstmt.getGeneratedKeys()) {
+                    for (int row : batchRows) {
+                        if (keys.next()) {
+                            ids[row] = (UUID) keys.getObject(1);
+                        }
+                    }
+                }
+            } else {
+                for (int j = 0; j < batchRows.size(); j++) {
+                    int row = batchRows.get(j);
+                    if (counts[j] > 0 || counts[j] == Statement.SUCCESS_NO_INFO) {
+                        ids[row] = idOf.apply(rows.get(row));
+                    } else {
+                        errors[row] = "Pessoa não encontrada";
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Importa um lote em uma transação: COPY (protocolo de cópia do PostgreSQL, sem um INSERT por
+     * linha) para uma tabela temporária de staging e um único INSERT ... ON CONFLICT (cpf) para
+     * {@code pessoas}, que devolve os IDs. Requer o índice único em {@code pessoas.cpf}
+     * criado por {@link com.cadernosegredos.config.PostgresSchemaBootstrapper}. CPFs repetidos
+     * no lote contam uma vez (vale a última ocorrência). Retorna null se o lote falhar (nada é gravado).
+     */
+    @Override
+    public BulkUpsertResult bulkUpsert(List<Pessoa> pessoas) {
+        if (pessoas == null || pessoas.isEmpty()) {
+            return new BulkUpsertResult(List.of(), List.of());
+        }
+        try (Connection conn = PostgresConfig.getConnection()) {
+            conn.setAutoCommit(false);
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute(CREATE_STAGING_SQL);
+                copyToStaging(conn, pessoas);
+                List<Pessoa> inserted = new ArrayList<>(pessoas.size());
+                List<Pessoa> updated = new ArrayList<>();
+                try (ResultSet rs = stmt.executeQuery(UPSERT_FROM_STAGING_SQL)) {
+                    while (rs.next()) {
+                        (rs.getBoolean("inserida") ? inserted : updated).add(mapResultSetToPessoa(rs));
+                    }
+                }
+                conn.commit();
+                PostgresConfig.markWrite();
+                logger.info("Lote de {} pessoas importado no PostgreSQL: {} inseridas, {} atualizadas.",
+                        pessoas.size(), inserted.size(), updated.size());
+                return new BulkUpsertResult(inserted, updated);
+            } catch (SQLException | IOException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException | IOException e) {
+            logger.error("Erro ao importar lote de {} pessoas no PostgreSQL: {}", pessoas.size(), e.getMessage());
+            auditSink.saveLog(new Log("ERROR", "Erro SQL ao importar lote de pessoas", "Linhas: " + pessoas.size() + ", Erro: " + e.getMessage()));
+            return null;
+        }
+    }
+
+    /**
+     * Envia o lote em CSV pelo CopyManager do pgjdbc, escrevendo direto no socket em blocos de 64 KB.
+     */
+    private static void copyToStaging(Connection conn, List<Pessoa> pessoas) throws SQLException, IOException {
+        PGConnection pgConn = conn.unwrap(PGConnection.class); // O proxy do Hikari expõe a conexão do driver
+        try (Writer out = new BufferedWriter(new OutputStreamWriter(
+                new PGCopyOutputStream(pgConn, COPY_TO_STAGING_SQL), StandardCharsets.UTF_8), 64 * 1024)) {
+            long linha = 0;
+            for (Pessoa pessoa : pessoas) {
+                out.write(Long.toString(linha++));
+                out.write(',');
+                writeCsvField(out, pessoa.getNome());
+                out.write(',');
+                writeCsvField(out, pessoa.getEmail());
+                out.write(',');
+                writeCsvField(out, pessoa.getCpf());
+                out.write(',');
+                if (pessoa.getDataNascimento() != null) {
+                    out.write(pessoa.getDataNascimento().toString()); // ISO AAAA-MM-DD
+                }
+                out.write('\n');
+            }
+        }
+    }
+
+    // Campo sempre entre aspas (aspas internas duplicadas); null vira campo vazio sem aspas, que o COPY lê como NULL
+    private static void writeCsvField(Writer out, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        out.write('"');
+        out.write(value.replace("\"", "\"\""));
+        out.write('"');
+    }
+
     private Pessoa mapResultSetToPessoa(ResultSet rs) throws SQLException {
         UUID id = (UUID) rs.getObject("id"); // Cast para UUID
         String nome = rs.getString("nome");
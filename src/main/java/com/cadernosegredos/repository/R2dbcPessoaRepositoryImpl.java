@@ -0,0 +1,185 @@
+package com.cadernosegredos.repository;
+
+import com.cadernosegredos.config.R2dbcConfig;
+import com.cadernosegredos.model.Log;
+import com.cadernosegredos.model.Pessoa;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.Statement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * {@link AsyncPessoaRepository} sobre R2DBC: mesmas consultas de {@link PostgresPessoaRepositoryImpl},
+ * com parâmetros posicionais do protocolo ({@code $1}) e execução nos event loops do driver.
+ * Lê e escreve sempre no primário (o roteamento para réplicas é do pool JDBC).
+ */
+public class R2dbcPessoaRepositoryImpl implements AsyncPessoaRepository {
+    private static final Logger logger = LoggerFactory.getLogger(R2dbcPessoaRepositoryImpl.class);
+
+    private static final String COLUMNS = "id, nome, email, cpf, dataNascimento";
+    private static final String INSERT_RETURNING_ID_SQL = "INSERT INTO pessoas (nome, email, cpf, dataNascimento) VALUES ($1, $2, $3, $4) RETURNING id";
+    private static final String FIND_BY_ID_SQL = "SELECT " + COLUMNS + " FROM pessoas WHERE id = $1";
+    private static final String FIND_BY_CPF_SQL = "SELECT " + COLUMNS + " FROM pessoas WHERE cpf = $1";
+    private static final String FIND_ALL_BY_IDS_SQL = "SELECT " + COLUMNS + " FROM pessoas WHERE id = ANY($1)";
+    private static final String UPDATE_SQL = "UPDATE pessoas SET nome = $1, email = $2, cpf = $3, dataNascimento = $4 WHERE id = $5";
+    private static final String DELETE_SQL = "DELETE FROM pessoas WHERE id = $1";
+
+    private final ConnectionPool pool;
+    private final AuditSink auditSink;
+
+    public R2dbcPessoaRepositoryImpl(AuditSink auditSink) {
+        this(R2dbcConfig.getConnectionPool(), auditSink);
+    }
+
+    public R2dbcPessoaRepositoryImpl(ConnectionPool pool, AuditSink auditSink) {
+        this.pool = pool;
+        this.auditSink = auditSink;
+    }
+
+    // Empresta uma conexão do pool, executa e a devolve ao terminar (com sucesso, erro ou cancelamento)
+    private <T> Flux<T> withConnection(Function<Connection, Flux<T>> action) {
+        return Flux.usingWhen(pool.create(), action, Connection::close);
+    }
+
+    private Flux<Pessoa> query(String sql, Object param) {
+        return withConnection(conn -> Flux.from(conn.createStatement(sql).bind(0, param).execute())
+                .flatMap(result -> result.map((row, meta) -> mapRow(row))));
+    }
+
+    private Mono<Long> rowsUpdated(Flux<? extends io.r2dbc.spi.Result> results) {
+        return results.flatMap(result -> Mono.from(result.getRowsUpdated())).reduce(0L, Long::sum);
+    }
+
+    // R2DBC não aceita bind(null): valores nulos precisam do tipo da coluna
+    private static Statement bindPessoa(Statement stmt, Pessoa pessoa) {
+        bindNullable(stmt, 0, pessoa.getNome(), String.class);
+        bindNullable(stmt, 1, pessoa.getEmail(), String.class);
+        bindNullable(stmt, 2, pessoa.getCpf(), String.class);
+        bindNullable(stmt, 3, pessoa.getDataNascimento(), LocalDate.class);
+        return stmt;
+    }
+
+    private static void bindNullable(Statement stmt, int index, Object value, Class<?> type) {
+        if (value == null) {
+            stmt.bindNull(index, type);
+        } else {
+            stmt.bind(index, value);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Pessoa> save(Pessoa pessoa) {
+        return withConnection(conn -> Flux.from(bindPessoa(conn.createStatement(INSERT_RETURNING_ID_SQL), pessoa).execute())
+                .flatMap(result -> result.map((row, meta) -> row.get("id", UUID.class))))
+                .next()
+                .toFuture()
+                .handle((generatedId, e) -> {
+                    if (e != null) {
+                        logger.error("Erro ao salvar pessoa no PostgreSQL (R2DBC): {}", e.getMessage());
+                        auditSink.saveLog(new Log("ERROR", "Erro SQL ao salvar pessoa", e.getMessage()));
+                        return null;
+                    }
+                    if (generatedId == null) {
+                        logger.error("Falha ao obter ID gerado para a pessoa: {}", pessoa.getNome());
+                        auditSink.saveLog(new Log("ERROR", "Falha ao salvar pessoa no PostgreSQL", "Nenhum ID retornado para " + pessoa.getNome()));
+                        return null;
+                    }
+                    pessoa.setId(generatedId);
+                    logger.info("Pessoa salva no PostgreSQL com ID: {}", generatedId);
+                    auditSink.saveLog(new Log("INFO", "Pessoa salva no PostgreSQL", "ID: " + generatedId + ", Nome: " + pessoa.getNome()));
+                    return pessoa;
+                });
+    }
+
+    @Override
+    public CompletableFuture<Optional<Pessoa>> findById(UUID id) {
+        return query(FIND_BY_ID_SQL, id).next().map(Optional::of).defaultIfEmpty(Optional.empty()).toFuture()
+                .exceptionally(e -> {
+                    logger.error("Erro ao buscar pessoa por ID {} no PostgreSQL (R2DBC): {}", id, e.getMessage());
+                    auditSink.saveLog(new Log("ERROR", "Erro SQL ao buscar pessoa por ID", "ID: " + id + ", Erro: " + e.getMessage()));
+                    return Optional.empty();
+                });
+    }
+
+    @Override
+    public CompletableFuture<Optional<Pessoa>> findByCpf(String cpf) {
+        return query(FIND_BY_CPF_SQL, cpf).next().map(Optional::of).defaultIfEmpty(Optional.empty()).toFuture()
+                .exceptionally(e -> {
+                    logger.error("Erro ao buscar pessoa por CPF {} no PostgreSQL (R2DBC): {}", cpf, e.getMessage());
+                    auditSink.saveLog(new Log("ERROR", "Erro SQL ao buscar pessoa por CPF", "CPF: " + cpf + ", Erro: " + e.getMessage()));
+                    return Optional.empty();
+                });
+    }
+
+    @Override
+    public CompletableFuture<List<Pessoa>> findAllByIds(Collection<UUID> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+        return query(FIND_ALL_BY_IDS_SQL, ids.toArray(UUID[]::new)).collectList().toFuture()
+                .exceptionally(e -> {
+                    logger.error("Erro ao buscar {} pessoas por ID no PostgreSQL (R2DBC): {}", ids.size(), e.getMessage());
+                    auditSink.saveLog(new Log("ERROR", "Erro SQL ao buscar pessoas por IDs", "Total de IDs: " + ids.size() + ", Erro: " + e.getMessage()));
+                    return List.of();
+                });
+    }
+
+    @Override
+    public CompletableFuture<Pessoa> update(Pessoa pessoa) {
+        return withConnection(conn -> rowsUpdated(Flux.from(bindPessoa(conn.createStatement(UPDATE_SQL), pessoa)
+                        .bind(4, pessoa.getId())
+                        .execute())).flux())
+                .next()
+                .toFuture()
+                .handle((affectedRows, e) -> {
+                    if (e != null) {
+                        logger.error("Erro ao atualizar pessoa com ID {} no PostgreSQL (R2DBC): {}", pessoa.getId(), e.getMessage());
+                        auditSink.saveLog(new Log("ERROR", "Erro SQL ao atualizar pessoa", "ID: " + pessoa.getId() + ", Erro: " + e.getMessage()));
+                        return null;
+                    }
+                    if (affectedRows > 0) {
+                        logger.info("Pessoa atualizada no PostgreSQL com ID: {}", pessoa.getId());
+                        auditSink.saveLog(new Log("INFO", "Pessoa atualizada no PostgreSQL", "ID: " + pessoa.getId()));
+                        return pessoa;
+                    }
+                    return null;
+                });
+    }
+
+    @Override
+    public CompletableFuture<Boolean> delete(UUID id) {
+        return withConnection(conn -> rowsUpdated(Flux.from(conn.createStatement(DELETE_SQL).bind(0, id).execute())).flux())
+                .next()
+                .toFuture()
+                .handle((affectedRows, e) -> {
+                    if (e != null) {
+                        logger.error("Erro ao deletar pessoa com ID {} do PostgreSQL (R2DBC): {}", id, e.getMessage());
+                        auditSink.saveLog(new Log("ERROR", "Erro SQL ao deletar pessoa", "ID: " + id + ", Erro: " + e.getMessage()));
+                        return false;
+                    }
+                    if (affectedRows > 0) {
+                        logger.info("Pessoa deletada do PostgreSQL com ID: {}", id);
+                        auditSink.saveLog(new Log("INFO", "Pessoa deletada do PostgreSQL", "ID: " + id));
+                        return true;
+                    }
+                    return false;
+                });
+    }
+
+    private static Pessoa mapRow(Row row) {
+        return new Pessoa(row.get("id", UUID.class), row.get("nome", String.class), row.get("email", String.class),
+                row.get("cpf", String.class), row.get("dataNascimento", LocalDate.class));
+    }
+}
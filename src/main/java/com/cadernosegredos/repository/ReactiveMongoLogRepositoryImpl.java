@@ -0,0 +1,108 @@
+package com.cadernosegredos.repository;
+
+import com.cadernosegredos.config.EnvConfig;
+import com.cadernosegredos.model.Log;
+import com.mongodb.client.model.InsertManyOptions;
+import com.mongodb.client.result.InsertManyResult;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import com.mongodb.reactivestreams.client.MongoDatabase;
+import org.bson.Document;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link AuditSink} sobre o driver reactive streams do MongoDB. Os logs passam pelo mesmo
+ * {@link AsyncLogPipeline}; a thread do pipeline apenas dispara o insertMany de cada lote e segue
+ * para o próximo, com até {@code MONGO_LOG_MAX_IN_FLIGHT} lotes em voo. Acima disso ela espera,
+ * e a pressão volta para o buffer do pipeline.
+ */
+public class ReactiveMongoLogRepositoryImpl implements AuditSink {
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveMongoLogRepositoryImpl.class);
+    private static final InsertManyOptions UNORDERED = new InsertManyOptions().ordered(false);
+
+    private final MongoCollection<Document> logCollection;
+    private final int maxInFlight = Math.max(1, EnvConfig.getInt("MONGO_LOG_MAX_IN_FLIGHT", 4));
+    private final Semaphore inFlight = new Semaphore(maxInFlight);
+    private final LongAdder failed = new LongAdder();
+    private final AsyncLogPipeline pipeline;
+    private final long shutdownTimeoutMillis;
+
+    public ReactiveMongoLogRepositoryImpl(MongoDatabase database, AsyncLogPipeline.Settings settings) {
+        this.logCollection = database.getCollection("logs");
+        this.shutdownTimeoutMillis = settings.shutdownTimeout().toMillis();
+        this.pipeline = new AsyncLogPipeline("mongo-reactive-logs", settings, this::writeBatch);
+    }
+
+    private void writeBatch(List<Log> batch) throws InterruptedException {
+        List<Document> docs = new ArrayList<>(batch.size());
+        for (Log log : batch) {
+            docs.add(MongoLogRepositoryImpl.toDocument(log));
+        }
+        inFlight.acquire();
+        logCollection.insertMany(docs, UNORDERED).subscribe(new Subscriber<InsertManyResult>() {
+            @Override
+            public void onSubscribe(Subscription subscription) {
+                subscription.request(1);
+            }
+
+            @Override
+            public void onNext(InsertManyResult result) {
+                logger.debug("Lote de {} logs registrado no MongoDB.", docs.size());
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                failed.add(docs.size());
+                inFlight.release();
+                logger.error("Erro ao gravar lote de {} logs no MongoDB: {}", docs.size(), error.getMessage());
+            }
+
+            @Override
+            public void onComplete() {
+                inFlight.release();
+            }
+        });
+    }
+
+    @Override
+    public void saveLog(Log log) {
+        pipeline.enqueue(log);
+    }
+
+    /**
+     * Estatísticas do pipeline; {@code flushed} conta os lotes enviados, e as falhas assíncronas
+     * do MongoDB são logadas à parte.
+     */
+    @Override
+    public AsyncLogPipeline.Stats getStats() {
+        return pipeline.getStats();
+    }
+
+    /**
+     * Drena o pipeline e espera os lotes em voo (até o timeout de shutdown) antes de liberar o cliente.
+     */
+    @Override
+    public void close() {
+        pipeline.close();
+        try {
+            if (inFlight.tryAcquire(maxInFlight, shutdownTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                inFlight.release(maxInFlight);
+            } else {
+                logger.warn("Lotes de logs ainda em voo no encerramento do MongoDB reactive.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (failed.sum() > 0) {
+            logger.warn("{} logs não gravados no MongoDB (falhas assíncronas).", failed.sum());
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.cadernosegredos.repository;
+
+import com.cadernosegredos.cache.CacheTierStats;
+import com.cadernosegredos.config.EnvConfig;
+import com.cadernosegredos.model.Log;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Listas de amigos compartilhadas entre os nós da aplicação: um SET do Redis por pessoa
+ * ({@code amigos:{<uuid>}}) com cada amigo como membro binário de 16 bytes. Chave ausente é miss;
+ * listas vazias não são guardadas. Falhas do Redis são logadas e tratadas como miss.
+ * <p>
+ * Cada pessoa tem também uma versão ({@code amigos:{<uuid>}:v}) incrementada a cada invalidação. Quem
+ * carrega do Neo4j lê a versão junto com o SET (antes da consulta) e só grava se ela não mudou
+ * ({@link #STORE_IF_VERSION_SCRIPT}): uma escrita em outro nó entre a leitura no Neo4j e a gravação
+ * não é sobrescrita pela lista anterior a ela.
+ */
+public class RedisFriendListCache {
+    private static final Logger logger = LoggerFactory.getLogger(RedisFriendListCache.class);
+    private static final int DELETE_CHUNK_SIZE = 1_000;
+    private static final String NO_VERSION = "0";
+
+    // KEYS[1] = SET da lista, KEYS[2] = versão; ARGV[1] = versão lida antes da carga, ARGV[2] = TTL, ARGV[3..] = membros.
+    // SADD em blocos para não estourar a pilha do Lua com listas grandes.
+    static final RedisScript STORE_IF_VERSION_SCRIPT = new RedisScript(
+            "local v = redis.call('GET', KEYS[2]) or '0' " +
+            "if v ~= ARGV[1] then return 0 end " +
+            "redis.call('DEL', KEYS[1]) " +
+            "for i = 3, #ARGV, 1000 do " +
+            "  redis.call('SADD', KEYS[1], unpack(ARGV, i, math.min(i + 999, #ARGV))) " +
+            "end " +
+            "redis.call('EXPIRE', KEYS[1], ARGV[2]) " +
+            "return 1");
+
+    /**
+     * Resultado de uma leitura: {@code friends} é null no miss; {@code version} é a versão a passar
+     * para {@link #put}, ou null se o Redis falhou (nada deve ser gravado).
+     */
+    public record Snapshot(List<UUID> friends, String version) {
+        public boolean hit() {
+            return friends != null;
+        }
+    }
+
+    private final JedisPool jedisPool;
+    private final AuditSink auditSink;
+    private final long ttlSeconds;
+    private final long versionTtlSeconds;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public RedisFriendListCache(JedisPool jedisPool, AuditSink auditSink, long ttlSeconds) {
+        this.jedisPool = jedisPool;
+        this.auditSink = auditSink;
+        this.ttlSeconds = ttlSeconds;
+        // A versão precisa sobreviver a qualquer carga em andamento; o dobro do TTL da lista sobra
+        this.versionTtlSeconds = Math.max(60, ttlSeconds * 2);
+    }
+
+    public static RedisFriendListCache fromEnvironment(JedisPool jedisPool, AuditSink auditSink) {
+        return new RedisFriendListCache(jedisPool, auditSink, EnvConfig.getLong("FRIEND_CACHE_REDIS_TTL_SECONDS", 600));
+    }
+
+    // Hash tag: lista e versão da mesma pessoa ficam no mesmo slot em um Redis Cluster
+    static byte[] key(UUID personId) {
+        return ("amigos:{" + personId + "}").getBytes(StandardCharsets.UTF_8);
+    }
+
+    static byte[] versionKey(UUID personId) {
+        return ("amigos:{" + personId + "}:v").getBytes(StandardCharsets.UTF_8);
+    }
+
+    static byte[] member(UUID id) {
+        return ByteBuffer.allocate(16).putLong(id.getMostSignificantBits()).putLong(id.getLeastSignificantBits()).array();
+    }
+
+    /**
+     * SMEMBERS e GET da versão no mesmo pipeline (uma ida ao Redis).
+     */
+    public Snapshot get(UUID personId) {
+        try (Jedis jedis = jedisPool.getResource()) {
+            Pipeline pipeline = jedis.pipelined();
+            Response<Set<byte[]>> members = pipeline.smembers(key(personId));
+            Response<byte[]> version = pipeline.get(versionKey(personId));
+            pipeline.sync();
+            String currentVersion = version.get() == null ? NO_VERSION : new String(version.get(), StandardCharsets.UTF_8);
+            Set<byte[]> found = members.get();
+            if (found != null && !found.isEmpty()) {
+                List<UUID> friends = new ArrayList<>(found.size());
+                for (byte[] m : found) {
+                    ByteBuffer buffer = ByteBuffer.wrap(m);
+                    friends.add(new UUID(buffer.getLong(), buffer.getLong()));
+                }
+                hits.increment();
+                return new Snapshot(friends, currentVersion);
+            }
+            misses.increment();
+            return new Snapshot(null, currentVersion);
+        } catch (Exception e) {
+            logger.error("Erro ao buscar lista de amigos de {} no Redis: {}", personId, e.getMessage());
+            auditSink.saveLog(new Log("ERROR", "Erro ao buscar lista de amigos no Redis", "ID: " + personId + ", Erro: " + e.getMessage()));
+        }
+        misses.increment();
+        return new Snapshot(null, null);
+    }
+
+    /**
+     * Grava a lista se a versão da pessoa ainda for {@code version} (lida em {@link #get} antes da
+     * carga); caso contrário houve uma invalidação no meio e a lista é descartada.
+     */
+    public void put(UUID personId, List<UUID> friends, String version) {
+        if (friends == null || friends.isEmpty() || version == null) {
+            return;
+        }
+        List<byte[]> args = new ArrayList<>(friends.size() + 2);
+        args.add(version.getBytes(StandardCharsets.UTF_8));
+        args.add(Long.toString(ttlSeconds).getBytes(StandardCharsets.UTF_8));
+        for (UUID friend : friends) {
+            args.add(member(friend));
+        }
+        try (Jedis jedis = jedisPool.getResource()) {
+            Object stored = STORE_IF_VERSION_SCRIPT.evalBinary(jedis, List.of(key(personId), versionKey(personId)), args);
+            if (Long.valueOf(0L).equals(stored)) {
+                logger.debug("Lista de amigos de {} não gravada no Redis: invalidada durante a carga.", personId);
+            }
+        } catch (Exception e) {
+            logger.error("Erro ao gravar lista de amigos de {} no Redis: {}", personId, e.getMessage());
+            auditSink.saveLog(new Log("ERROR", "Erro ao gravar lista de amigos no Redis", "ID: " + personId + ", Erro: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Incrementa a versão e remove a lista de cada pessoa, tudo num único pipeline (o DEL em blocos
+     * de até {@value #DELETE_CHUNK_SIZE} chaves).
+     */
+    public void invalidate(Collection<UUID> personIds) {
+        if (personIds == null || personIds.isEmpty()) {
+            return;
+        }
+        List<UUID> ids = List.copyOf(personIds);
+        try (Jedis jedis = jedisPool.getResource()) {
+            Pipeline pipeline = jedis.pipelined();
+            for (UUID id : ids) {
+                byte[] versionKey = versionKey(id);
+                pipeline.incr(versionKey);
+                pipeline.expire(versionKey, versionTtlSeconds);
+            }
+            for (int from = 0; from < ids.size(); from += DELETE_CHUNK_SIZE) {
+                pipeline.del(ids.subList(from, Math.min(ids.size(), from + DELETE_CHUNK_SIZE)).stream()
+                        .map(RedisFriendListCache::key).toArray(byte[][]::new));
+            }
+            pipeline.sync();
+        } catch (Exception e) {
+            // As listas antigas ficam até o TTL; o L1 dos nós é invalidado pelo barramento mesmo assim
+            logger.error("Erro ao invalidar {} listas de amigos no Redis: {}", ids.size(), e.getMessage());
+            auditSink.saveLog(new Log("ERROR", "Erro ao invalidar listas de amigos no Redis", "Total de IDs: " + ids.size() + ", Erro: " + e.getMessage()));
+        }
+    }
+
+    public CacheTierStats stats() {
+        return new CacheTierStats("amigos-redis", hits.sum(), misses.sum(), -1, -1);
+    }
+}
@@ -1,89 +1,292 @@
 package com.cadernosegredos.repository;
 
+import com.cadernosegredos.cache.CacheTierStats;
+import com.cadernosegredos.cache.PessoaCodec;
+import com.cadernosegredos.cache.PessoaCodecs;
 import com.cadernosegredos.config.RedisConfig;
 import com.cadernosegredos.model.Log;
 import com.cadernosegredos.model.Pessoa;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule; // Para LocalDate
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import redis.clients.jedis.Jedis;
 import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
+import redis.clients.jedis.Transaction;
+import redis.clients.jedis.params.SetParams;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID; // Importe UUID
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
 
-public class RedisPessoaRepositoryImpl { // Não implementa PessoaRepository diretamente aqui
+public class RedisPessoaRepositoryImpl implements PessoaCache { // Não implementa PessoaRepository diretamente aqui
     private static final Logger logger = LoggerFactory.getLogger(RedisPessoaRepositoryImpl.class);
+
+    // Remove a entrada da pessoa e o mapeamento cpf:<cpf> em uma única ida ao servidor.
+    // O mapeamento só é removido se ainda apontar para este ID (o CPF pode ter sido reatribuído).
+    // Lê o CPF dos dois formatos do cache: JSON (começa com '{') e binário v1 (CPF logo após o ID,
+    // com tamanho em varint; ver BinaryPessoaCodec).
+    static final RedisScript DELETE_SCRIPT = new RedisScript(
+            "local v = redis.call('GET', KEYS[1]) " +
+            "if not v then return 0 end " +
+            "redis.call('DEL', KEYS[1]) " +
+            "local cpf = nil " +
+            "local first = string.byte(v, 1) " +
+            "if first == 123 then " +
+            "  local ok, p = pcall(cjson.decode, v) " +
+            "  if ok and type(p) == 'table' and type(p['cpf']) == 'string' then cpf = p['cpf'] end " +
+            "elseif first == 1 then " +
+            "  local pos, len, mult = 18, 0, 1 " +
+            "  while true do " +
+            "    local c = string.byte(v, pos) " +
+            "    if not c then len = 0 break end " +
+            "    len = len + (c % 128) * mult " +
+            "    pos = pos + 1 " +
+            "    if c < 128 then break end " +
+            "    mult = mult * 128 " +
+            "  end " +
+            "  if len > 0 then cpf = string.sub(v, pos, pos + len - 2) end " +
+            "end " +
+            "if cpf then " +
+            "  local cpfKey = 'cpf:' .. cpf " +
+            "  if redis.call('GET', cpfKey) == KEYS[1] then redis.call('DEL', cpfKey) end " +
+            "end " +
+            "return 1");
+
+    // Resolve cpf:<cpf> -> ID -> valor da pessoa no próprio servidor: uma ida ao Redis e uma única conexão do pool.
+    // Obs.: a chave da pessoa é derivada dentro do script; em Redis Cluster exigiria hash tags.
+    static final RedisScript FIND_BY_CPF_SCRIPT = new RedisScript(
+            "local id = redis.call('GET', KEYS[1]) " +
+            "if not id then return false end " +
+            "return redis.call('GET', id)");
+
     private final JedisPool jedisPool;
-    private final ObjectMapper objectMapper;
-    private final MongoLogRepositoryImpl logRepository = new MongoLogRepositoryImpl();
+    private final PessoaCodec codec;
+    private final AuditSink auditSink;
+    private final long ttlSeconds;
+    private final long ttlJitterSeconds;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
 
-    public RedisPessoaRepositoryImpl() {
+    public RedisPessoaRepositoryImpl(AuditSink auditSink) {
+        this(auditSink, PessoaCodecs.fromEnvironment());
+    }
+
+    public RedisPessoaRepositoryImpl(AuditSink auditSink, PessoaCodec codec) {
+        this.auditSink = auditSink;
         this.jedisPool = RedisConfig.getJedisPool(); // Certifique-se de ter um método para obter JedisPool
-        this.objectMapper = new ObjectMapper();
-        this.objectMapper.registerModule(new JavaTimeModule()); // Para serializar LocalDate
+        this.codec = codec; // Binário compacto por padrão; lê também entradas JSON antigas
+        this.ttlSeconds = RedisConfig.getPessoaTtlSeconds();
+        this.ttlJitterSeconds = RedisConfig.getPessoaTtlJitterSeconds();
+    }
+
+    /**
+     * TTL da entrada com jitter aleatório, para que entradas gravadas juntas não expirem juntas.
+     */
+    private SetParams expiryParams() {
+        long jitter = ttlJitterSeconds > 0 ? ThreadLocalRandom.current().nextLong(ttlJitterSeconds + 1) : 0;
+        return SetParams.setParams().ex(ttlSeconds + jitter);
+    }
+
+    static byte[] idKey(UUID id) {
+        return id.toString().getBytes(StandardCharsets.UTF_8); // Use .toString() para UUID
+    }
+
+    static byte[] cpfKey(String cpf) {
+        return ("cpf:" + cpf).getBytes(StandardCharsets.UTF_8);
     }
 
+    @Override
     public void save(Pessoa pessoa) {
         if (pessoa == null || pessoa.getId() == null) {
             logger.warn("Tentativa de salvar pessoa nula ou sem ID no Redis.");
             return;
         }
         try (Jedis jedis = jedisPool.getResource()) {
-            String pessoaJson = objectMapper.writeValueAsString(pessoa);
-            jedis.set(pessoa.getId().toString(), pessoaJson); // Use .toString() para UUID
-            jedis.set("cpf:" + pessoa.getCpf(), pessoa.getId().toString()); // Mapeia CPF para ID
+            byte[] idKey = idKey(pessoa.getId());
+            SetParams params = expiryParams();
+            // MULTI/EXEC: as duas chaves são enviadas juntas (uma ida ao Redis) e aplicadas atomicamente
+            Transaction tx = jedis.multi();
+            tx.set(idKey, codec.encode(pessoa), params);
+            tx.set(cpfKey(pessoa.getCpf()), idKey, params); // Mapeia CPF para ID
+            tx.exec();
             logger.info("Pessoa com ID {} salva no Redis.", pessoa.getId());
-            logRepository.saveLog(new Log("INFO", "Pessoa salva no Redis", "ID: " + pessoa.getId()));
+            auditSink.saveLog(new Log("INFO", "Pessoa salva no Redis", "ID: " + pessoa.getId()));
         } catch (Exception e) {
             logger.error("Erro ao salvar pessoa no Redis: {}", e.getMessage());
-            logRepository.saveLog(new Log("ERROR", "Erro ao salvar pessoa no Redis", e.getMessage()));
+            auditSink.saveLog(new Log("ERROR", "Erro ao salvar pessoa no Redis", e.getMessage()));
         }
     }
 
+    @Override
     public Optional<Pessoa> findById(UUID id) { // <--- Mude para UUID
+        return findEntryById(id).map(CacheEntry::pessoa);
+    }
+
+    /**
+     * Como {@link #findById(UUID)}, mas devolve também o TTL restante (GET + PTTL no mesmo pipeline,
+     * uma única ida ao Redis), usado para a renovação antecipada de chaves quentes.
+     */
+    @Override
+    public Optional<CacheEntry> findEntryById(UUID id) {
         try (Jedis jedis = jedisPool.getResource()) {
-            String pessoaJson = jedis.get(id.toString()); // Use .toString() para UUID
-            if (pessoaJson != null) {
+            Pipeline pipeline = jedis.pipelined();
+            Response<byte[]> value = pipeline.get(idKey(id));
+            Response<Long> ttl = pipeline.pttl(idKey(id));
+            pipeline.sync();
+            byte[] data = value.get();
+            if (data != null) {
                 logger.info("Pessoa com ID {} encontrada no Redis.", id);
-                return Optional.of(objectMapper.readValue(pessoaJson, Pessoa.class));
+                Pessoa pessoa = codec.decode(data);
+                hits.increment();
+                return Optional.of(new CacheEntry(pessoa, ttl.get()));
             }
         } catch (Exception e) {
             logger.error("Erro ao buscar pessoa por ID {} no Redis: {}", id, e.getMessage());
-            logRepository.saveLog(new Log("ERROR", "Erro ao buscar pessoa por ID no Redis", "ID: " + id + ", Erro: " + e.getMessage()));
+            auditSink.saveLog(new Log("ERROR", "Erro ao buscar pessoa por ID no Redis", "ID: " + id + ", Erro: " + e.getMessage()));
         }
+        misses.increment();
         return Optional.empty();
     }
 
+    /**
+     * Busca várias pessoas com um único MGET. Retorna apenas os acertos (cache hits), indexados por ID.
+     */
+    @Override
+    public Map<UUID, Pessoa> findAllByIds(Collection<UUID> ids) {
+        Map<UUID, Pessoa> found = new HashMap<>();
+        if (ids == null || ids.isEmpty()) {
+            return found;
+        }
+        byte[][] keys = ids.stream().map(RedisPessoaRepositoryImpl::idKey).toArray(byte[][]::new);
+        try (Jedis jedis = jedisPool.getResource()) {
+            List<byte[]> values = jedis.mget(keys);
+            for (byte[] data : values) {
+                if (data != null) {
+                    Pessoa pessoa = codec.decode(data);
+                    found.put(pessoa.getId(), pessoa);
+                }
+            }
+            logger.info("MGET no Redis: {} de {} pessoas encontradas.", found.size(), keys.length);
+        } catch (Exception e) {
+            logger.error("Erro ao buscar {} pessoas por ID no Redis: {}", keys.length, e.getMessage());
+            auditSink.saveLog(new Log("ERROR", "Erro ao buscar pessoas por IDs no Redis", "Total de IDs: " + keys.length + ", Erro: " + e.getMessage()));
+        }
+        hits.add(found.size());
+        misses.add(keys.length - found.size());
+        return found;
+    }
+
+    /**
+     * Grava várias pessoas no cache em um único pipeline (uma ida ao Redis para o lote inteiro).
+     */
+    @Override
+    public void saveAll(Collection<Pessoa> pessoas) {
+        if (pessoas == null || pessoas.isEmpty()) {
+            return;
+        }
+        try (Jedis jedis = jedisPool.getResource()) {
+            Pipeline pipeline = jedis.pipelined();
+            for (Pessoa pessoa : pessoas) {
+                if (pessoa == null || pessoa.getId() == null) {
+                    continue;
+                }
+                byte[] idKey = idKey(pessoa.getId());
+                SetParams params = expiryParams();
+                pipeline.set(idKey, codec.encode(pessoa), params);
+                pipeline.set(cpfKey(pessoa.getCpf()), idKey, params);
+            }
+            pipeline.sync();
+            logger.info("{} pessoas salvas no Redis em pipeline.", pessoas.size());
+        } catch (Exception e) {
+            logger.error("Erro ao salvar {} pessoas no Redis: {}", pessoas.size(), e.getMessage());
+            auditSink.saveLog(new Log("ERROR", "Erro ao salvar pessoas no Redis", e.getMessage()));
+        }
+    }
+
+    @Override
     public Optional<Pessoa> findByCpf(String cpf) {
         try (Jedis jedis = jedisPool.getResource()) {
-            String idString = jedis.get("cpf:" + cpf); // Pega o ID associado ao CPF
-            if (idString != null) {
-                logger.info("CPF {} encontrado no Redis, buscando pessoa por ID {}.", cpf, idString);
-                return findById(UUID.fromString(idString)); // Converte String para UUID
+            Object value = FIND_BY_CPF_SCRIPT.evalBinary(jedis, List.of(cpfKey(cpf)), List.of());
+            if (value instanceof byte[] data) {
+                Pessoa pessoa = codec.decode(data);
+                if (cpf.equals(pessoa.getCpf())) { // Ignora mapeamento obsoleto (CPF reatribuído)
+                    logger.info("Pessoa com CPF {} encontrada no Redis (ID {}).", cpf, pessoa.getId());
+                    hits.increment();
+                    return Optional.of(pessoa);
+                }
             }
         } catch (Exception e) {
             logger.error("Erro ao buscar pessoa por CPF {} no Redis: {}", cpf, e.getMessage());
-            logRepository.saveLog(new Log("ERROR", "Erro ao buscar pessoa por CPF no Redis", "CPF: " + cpf + ", Erro: " + e.getMessage()));
+            auditSink.saveLog(new Log("ERROR", "Erro ao buscar pessoa por CPF no Redis", "CPF: " + cpf + ", Erro: " + e.getMessage()));
         }
+        misses.increment();
         return Optional.empty();
     }
 
+    @Override
     public void delete(UUID id) { // <--- Mude para UUID
         try (Jedis jedis = jedisPool.getResource()) {
-            Optional<Pessoa> pessoa = findById(id); // Busca a pessoa para obter o CPF
-            if (pessoa.isPresent()) {
-                jedis.del(pessoa.get().getId().toString()); // Deleta a pessoa pelo ID
-                jedis.del("cpf:" + pessoa.get().getCpf()); // Deleta o mapeamento CPF para ID
+            // Lê o CPF e remove as duas chaves no servidor, em uma única ida ao Redis
+            Object deleted = DELETE_SCRIPT.eval(jedis, List.of(id.toString()), List.of());
+            if (deleted instanceof Long count && count > 0) {
                 logger.info("Pessoa com ID {} deletada do Redis.", id);
-                logRepository.saveLog(new Log("INFO", "Pessoa deletada do Redis", "ID: " + id));
+                auditSink.saveLog(new Log("INFO", "Pessoa deletada do Redis", "ID: " + id));
             } else {
                 logger.warn("Tentativa de deletar pessoa com ID {} que não foi encontrada no Redis.", id);
             }
         } catch (Exception e) {
             logger.error("Erro ao deletar pessoa com ID {} do Redis: {}", id, e.getMessage());
-            logRepository.saveLog(new Log("ERROR", "Erro ao deletar pessoa do Redis", "ID: " + id + ", Erro: " + e.getMessage()));
+            auditSink.saveLog(new Log("ERROR", "Erro ao deletar pessoa do Redis", "ID: " + id + ", Erro: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Remove várias pessoas (e seus mapeamentos de CPF) com o script de remoção enviado em um único pipeline.
+     */
+    @Override
+    public void deleteAll(Collection<UUID> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return;
+        }
+        try (Jedis jedis = jedisPool.getResource()) {
+            DELETE_SCRIPT.ensureLoaded(jedis);
+            Pipeline pipeline = jedis.pipelined();
+            for (UUID id : ids) {
+                DELETE_SCRIPT.evalsha(pipeline, List.of(id.toString()), List.of());
+            }
+            pipeline.sync();
+            logger.info("{} pessoas removidas do Redis em pipeline.", ids.size());
+        } catch (Exception e) {
+            logger.error("Erro ao remover {} pessoas do Redis: {}", ids.size(), e.getMessage());
+            auditSink.saveLog(new Log("ERROR", "Erro ao remover pessoas do Redis", "Total de IDs: " + ids.size() + ", Erro: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Acertos/falhas deste nó no Redis. Evictions e tamanho vêm do servidor (INFO stats / DBSIZE)
+     * e cobrem o banco Redis inteiro; ficam em -1 se o servidor não responder.
+     */
+    @Override
+    public CacheTierStats getCacheStats() {
+        long evictions = -1;
+        long size = -1;
+        try (Jedis jedis = jedisPool.getResource()) {
+            for (String line : jedis.info("stats").split("\\r?\\n")) {
+                if (line.startsWith("evicted_keys:")) {
+                    evictions = Long.parseLong(line.substring("evicted_keys:".length()).trim());
+                }
+            }
+            size = jedis.dbSize();
+        } catch (Exception e) {
+            logger.warn("Não foi possível obter estatísticas do Redis: {}", e.getMessage());
         }
+        return new CacheTierStats("redis", hits.sum(), misses.sum(), evictions, size);
     }
 }
\ No newline at end of file
@@ -0,0 +1,77 @@
+package com.cadernosegredos.repository;
+
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
+import redis.clients.jedis.exceptions.JedisNoScriptException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Script Lua executado via EVALSHA, com fallback para EVAL quando o servidor ainda não tem o
+ * script em cache (NOSCRIPT). O SHA1 é calculado localmente, sem ida extra ao Redis.
+ */
+final class RedisScript {
+    private final String source;
+    private final String sha1;
+    private final byte[] sourceBytes;
+    private final byte[] sha1Bytes;
+
+    RedisScript(String source) {
+        this.source = source;
+        this.sha1 = sha1Hex(source);
+        this.sourceBytes = source.getBytes(StandardCharsets.UTF_8);
+        this.sha1Bytes = sha1.getBytes(StandardCharsets.UTF_8);
+    }
+
+    String source() {
+        return source;
+    }
+
+    String sha1() {
+        return sha1;
+    }
+
+    Object eval(Jedis jedis, List<String> keys, List<String> args) {
+        try {
+            return jedis.evalsha(sha1, keys, args);
+        } catch (JedisNoScriptException e) {
+            return jedis.eval(source, keys, args); // EVAL também carrega o script no cache do servidor
+        }
+    }
+
+    Object evalBinary(Jedis jedis, List<byte[]> keys, List<byte[]> args) {
+        try {
+            return jedis.evalsha(sha1Bytes, keys, args);
+        } catch (JedisNoScriptException e) {
+            return jedis.eval(sourceBytes, keys, args);
+        }
+    }
+
+    /**
+     * Carrega o script no servidor se ainda não estiver lá. Deve ser chamado antes de
+     * {@link #evalsha(Pipeline, List, List)}: um NOSCRIPT no meio de um pipeline não pode ser refeito com EVAL.
+     */
+    void ensureLoaded(Jedis jedis) {
+        if (!Boolean.TRUE.equals(jedis.scriptExists(sha1))) {
+            jedis.scriptLoad(source);
+        }
+    }
+
+    Response<Object> evalsha(Pipeline pipeline, List<String> keys, List<String> args) {
+        return pipeline.evalsha(sha1, keys, args);
+    }
+
+    private static String sha1Hex(String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            return HexFormat.of().formatHex(digest.digest(text.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-1 indisponível na JVM", e);
+        }
+    }
+}
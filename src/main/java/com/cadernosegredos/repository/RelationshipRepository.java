@@ -0,0 +1,21 @@
+package com.cadernosegredos.repository;
+
+import com.cadernosegredos.model.Amizade;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Relacionamentos de amizade entre pessoas. A implementação de produção é
+ * {@link Neo4jRelationshipRepositoryImpl}.
+ */
+public interface RelationshipRepository {
+    void createFriendship(UUID person1Id, UUID person2Id);
+    FriendshipBatchResult createFriendships(List<Amizade> amizades); // UNWIND em lotes, uma transação por lote
+    List<UUID> findFriends(UUID personId);
+    void removeFriendship(UUID person1Id, UUID person2Id);
+    List<UUID> findMutualFriends(UUID person1Id, UUID person2Id, int limit);
+    List<FriendSuggestion> suggestFriends(UUID personId, int limit); // Amigos de amigos, mais amigos em comum primeiro
+    List<UUID> findShortestPath(UUID person1Id, UUID person2Id, int maxDepth); // IDs do caminho, vazio se não houver
+    void closeDriver();
+}
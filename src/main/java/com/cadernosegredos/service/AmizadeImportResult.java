@@ -0,0 +1,28 @@
+package com.cadernosegredos.service;
+
+/**
+ * Resumo de uma criação de amizades em lote.
+ *
+ * @param requested pares recebidos
+ * @param created   relacionamentos criados no Neo4j (pares já existentes não contam)
+ * @param rejected  pares com alguma das pessoas inexistente no PostgreSQL
+ * @param failed    pares de lotes que falharam no Neo4j
+ * @param batches   lotes processados
+ */
+public record AmizadeImportResult(long requested,
+                                  long created,
+                                  long rejected,
+                                  long failed,
+                                  int batches,
+                                  long elapsedMillis) {
+
+    public double pairsPerSecond() {
+        return elapsedMillis == 0 ? 0.0 : (requested - rejected - failed) * 1000.0 / elapsedMillis;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("AmizadeImportResult{pares=%d, criadas=%d, rejeitadas=%d, falhas=%d, lotes=%d, tempo=%dms, pares/s=%.0f}",
+                requested, created, rejected, failed, batches, elapsedMillis, pairsPerSecond());
+    }
+}
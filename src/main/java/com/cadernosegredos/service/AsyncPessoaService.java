@@ -0,0 +1,339 @@
+package com.cadernosegredos.service;
+
+import com.cadernosegredos.cache.CacheInvalidationBus;
+import com.cadernosegredos.cache.CacheTierStats;
+import com.cadernosegredos.cache.PessoaNearCache;
+import com.cadernosegredos.cache.SingleFlight;
+import com.cadernosegredos.concurrent.FanOut;
+import com.cadernosegredos.model.Log;
+import com.cadernosegredos.model.Pessoa;
+import com.cadernosegredos.repository.AsyncPessoaCache;
+import com.cadernosegredos.repository.AsyncPessoaRepository;
+import com.cadernosegredos.repository.AuditSink;
+import com.cadernosegredos.repository.PessoaCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Versão não bloqueante do {@link PessoaService} sobre os adaptadores assíncronos (R2DBC e Lettuce):
+ * nenhuma thread fica parada esperando o PostgreSQL ou o Redis, então muitas requisições em voo
+ * cabem nas poucas threads de I/O dos drivers. Mesmos níveis de cache (L1, Redis, PostgreSQL),
+ * mesmas mensagens de invalidação e mesmos logs de auditoria do serviço síncrono.
+ * <p>
+ * Os futures retornados nunca completam com exceção: erros são logados e viram null, vazio ou false.
+ */
+public class AsyncPessoaService {
+    private static final Logger logger = LoggerFactory.getLogger(AsyncPessoaService.class);
+    private static final String INVALIDACAO_PESSOA = "pessoa"; // Mesmo tipo de mensagem do PessoaService
+
+    private final AsyncPessoaRepository postgresRepository;
+    private final AsyncPessoaCache redisRepository;
+    private final AuditSink auditSink;
+    private final PessoaNearCache nearCache;
+    private final CacheInvalidationBus invalidationBus;
+    private final FanOut fanOut; // Tempos limite por etapa; a publicação (Jedis, bloqueante) roda em thread virtual
+
+    private final SingleFlight<UUID, Optional<Pessoa>> loadsById = new SingleFlight<>();
+    private final SingleFlight<String, Optional<Pessoa>> loadsByCpf = new SingleFlight<>();
+
+    public AsyncPessoaService(AsyncPessoaRepository postgresRepository,
+                              AsyncPessoaCache redisRepository,
+                              AuditSink auditSink,
+                              PessoaNearCache nearCache,
+                              CacheInvalidationBus invalidationBus,
+                              FanOut fanOut) {
+        this.postgresRepository = postgresRepository;
+        this.redisRepository = redisRepository;
+        this.auditSink = auditSink;
+        this.nearCache = nearCache;
+        this.invalidationBus = invalidationBus;
+        this.fanOut = fanOut;
+        // As invalidações recebidas de outros nós já são aplicadas ao L1 pelo PessoaService
+        logger.info("AsyncPessoaService inicializado com dependências injetadas.");
+    }
+
+    public CompletableFuture<Pessoa> savePessoa(Pessoa pessoa) {
+        logger.info("Tentando criar pessoa (assíncrono): {}", pessoa.getNome());
+        return postgresRepository.save(pessoa)
+                .thenCompose(savedPessoa -> {
+                    if (savedPessoa == null || savedPessoa.getId() == null) {
+                        String errorMessage = "Falha ao criar pessoa no PostgreSQL: " + pessoa.getNome() + ". ID não foi gerado.";
+                        auditSink.saveLog(new Log("ERROR", "Falha ao criar pessoa", errorMessage));
+                        logger.error(errorMessage);
+                        return CompletableFuture.completedFuture(null);
+                    }
+                    CompletableFuture<Void> cacheFill = cacheStep("salvar pessoa no Redis", savedPessoa.getId(),
+                            redisRepository.save(savedPessoa));
+                    nearCache.put(savedPessoa);
+                    auditSink.saveLog(new Log("INFO", "Pessoa criada", "ID: " + savedPessoa.getId() + ", Nome: " + savedPessoa.getNome()));
+                    return cacheFill.thenApply(ignored -> {
+                        logger.info("Pessoa criada e cacheada: {} (ID: {})", savedPessoa.getNome(), savedPessoa.getId());
+                        return savedPessoa;
+                    });
+                })
+                .exceptionally(e -> {
+                    String errorMessage = "Erro inesperado ao salvar pessoa: " + pessoa.getNome() + ". Erro: " + FanOut.unwrap(e).getMessage();
+                    auditSink.saveLog(new Log("ERROR", "Erro no serviço de criação de pessoa", errorMessage));
+                    logger.error(errorMessage, e);
+                    return null;
+                });
+    }
+
+    public CompletableFuture<Optional<Pessoa>> findPessoaById(UUID id) {
+        logger.info("Tentando buscar pessoa por ID (assíncrono): {}", id);
+        Optional<Pessoa> pessoaFromL1 = nearCache.getById(id);
+        if (pessoaFromL1.isPresent()) {
+            auditSink.saveLog(new Log("INFO", "Pessoa buscada (cache L1)", "ID: " + id));
+            return CompletableFuture.completedFuture(pessoaFromL1);
+        }
+        return optionalCacheRead("buscar pessoa no Redis", redisRepository.findEntryById(id))
+                .thenCompose(entry -> {
+                    if (entry.isPresent()) {
+                        Pessoa pessoaFromCache = entry.get().pessoa();
+                        logger.info("Pessoa encontrada no cache Redis por ID: {}", id);
+                        auditSink.saveLog(new Log("INFO", "Pessoa buscada (cache hit)", "ID: " + id));
+                        nearCache.put(pessoaFromCache);
+                        return CompletableFuture.completedFuture(Optional.of(pessoaFromCache));
+                    }
+                    return loadsById.loadAsync(id, () -> loadFromPostgres(postgresRepository.findById(id)))
+                            .thenApply(pessoa -> logLoad(pessoa.map(Pessoa::new), "ID: " + id));
+                })
+                .exceptionally(e -> {
+                    logger.error("Erro inesperado ao buscar pessoa por ID {}: {}", id, FanOut.unwrap(e).getMessage(), FanOut.unwrap(e));
+                    auditSink.saveLog(new Log("ERROR", "Erro no serviço de busca de pessoa", "ID: " + id + ", Erro: " + FanOut.unwrap(e).getMessage()));
+                    return Optional.empty();
+                });
+    }
+
+    public CompletableFuture<Optional<Pessoa>> findPessoaByCpf(String cpf) {
+        logger.info("Tentando buscar pessoa por CPF (assíncrono): {}", cpf);
+        Optional<Pessoa> pessoaFromL1 = nearCache.getByCpf(cpf);
+        if (pessoaFromL1.isPresent()) {
+            auditSink.saveLog(new Log("INFO", "Pessoa buscada (cache L1)", "CPF: " + cpf));
+            return CompletableFuture.completedFuture(pessoaFromL1);
+        }
+        return optionalCacheRead("buscar pessoa no Redis por CPF", redisRepository.findByCpf(cpf))
+                .thenCompose(pessoaFromCache -> {
+                    if (pessoaFromCache.isPresent()) {
+                        logger.info("Pessoa encontrada no cache Redis por CPF: {}", cpf);
+                        auditSink.saveLog(new Log("INFO", "Pessoa buscada (cache hit)", "CPF: " + cpf));
+                        nearCache.put(pessoaFromCache.get());
+                        return CompletableFuture.completedFuture(pessoaFromCache);
+                    }
+                    return loadsByCpf.loadAsync(cpf, () -> loadFromPostgres(postgresRepository.findByCpf(cpf)))
+                            .thenApply(pessoa -> logLoad(pessoa.map(Pessoa::new), "CPF: " + cpf));
+                })
+                .exceptionally(e -> {
+                    logger.error("Erro inesperado ao buscar pessoa por CPF {}: {}", cpf, FanOut.unwrap(e).getMessage(), FanOut.unwrap(e));
+                    auditSink.saveLog(new Log("ERROR", "Erro no serviço de busca de pessoa", "CPF: " + cpf + ", Erro: " + FanOut.unwrap(e).getMessage()));
+                    return Optional.empty();
+                });
+    }
+
+    /**
+     * Carga do PostgreSQL que preenche Redis e L1; executada uma única vez por chave em voo.
+     */
+    private CompletableFuture<Optional<Pessoa>> loadFromPostgres(CompletableFuture<Optional<Pessoa>> query) {
+        return FanOut.within("buscar pessoa no PostgreSQL", fanOut.postgresTimeout(), query)
+                .thenCompose(pessoa -> {
+                    if (pessoa.isEmpty()) {
+                        return CompletableFuture.completedFuture(pessoa);
+                    }
+                    nearCache.put(pessoa.get());
+                    return cacheStep("salvar pessoa no Redis", pessoa.get().getId(), redisRepository.save(pessoa.get()))
+                            .thenApply(ignored -> pessoa);
+                });
+    }
+
+    private Optional<Pessoa> logLoad(Optional<Pessoa> pessoa, String chave) {
+        if (pessoa.isPresent()) {
+            logger.info("Pessoa encontrada no PostgreSQL ({}). Adicionando ao cache Redis.", chave);
+            auditSink.saveLog(new Log("INFO", "Pessoa buscada (cache miss)", chave));
+        } else {
+            logger.warn("Pessoa ({}) não encontrada no Redis ou PostgreSQL.", chave);
+            auditSink.saveLog(new Log("WARN", "Pessoa não encontrada", chave));
+        }
+        return pessoa;
+    }
+
+    /**
+     * Busca várias pessoas: L1, um MGET no Redis e uma consulta {@code id = ANY($1)} só para os
+     * ausentes, com backfill do cache. O resultado segue a ordem dos IDs informados.
+     */
+    public CompletableFuture<List<Pessoa>> findPessoasByIds(Collection<UUID> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+        Set<UUID> distinctIds = new LinkedHashSet<>(ids);
+        Map<UUID, Pessoa> found = new HashMap<>();
+        List<UUID> l1Misses = new ArrayList<>();
+        for (UUID id : distinctIds) {
+            Optional<Pessoa> cached = nearCache.getById(id);
+            if (cached.isPresent()) {
+                found.put(id, cached.get());
+            } else {
+                l1Misses.add(id);
+            }
+        }
+        CompletableFuture<Map<UUID, Pessoa>> fromRedis = l1Misses.isEmpty()
+                ? CompletableFuture.completedFuture(Map.of())
+                : FanOut.within("buscar pessoas no Redis", fanOut.redisTimeout(), redisRepository.findAllByIds(l1Misses))
+                        .exceptionally(e -> {
+                            logger.warn("Cache Redis indisponível na busca em lote: {}", FanOut.unwrap(e).getMessage());
+                            return Map.of();
+                        });
+        return fromRedis
+                .thenCompose(cached -> {
+                    cached.values().forEach(nearCache::put);
+                    found.putAll(cached);
+                    List<UUID> misses = l1Misses.stream().filter(id -> !found.containsKey(id)).toList();
+                    if (misses.isEmpty()) {
+                        return CompletableFuture.completedFuture(0);
+                    }
+                    return FanOut.within("buscar pessoas no PostgreSQL", fanOut.postgresTimeout(),
+                                    postgresRepository.findAllByIds(misses))
+                            .thenCompose(fromPg -> {
+                                for (Pessoa pessoa : fromPg) {
+                                    found.put(pessoa.getId(), pessoa);
+                                    nearCache.put(pessoa);
+                                }
+                                return cacheStep("salvar pessoas no Redis", null, redisRepository.saveAll(fromPg))
+                                        .thenApply(ignored -> misses.size());
+                            });
+                })
+                .thenApply(pgLookups -> {
+                    List<Pessoa> pessoas = new ArrayList<>(found.size());
+                    for (UUID id : distinctIds) {
+                        Pessoa pessoa = found.get(id);
+                        if (pessoa != null) {
+                            pessoas.add(pessoa);
+                        }
+                    }
+                    int cacheHits = distinctIds.size() - pgLookups;
+                    logger.info("Busca em lote: {} IDs, {} no cache, {} no PostgreSQL, {} encontrados.",
+                            distinctIds.size(), cacheHits, pgLookups, pessoas.size());
+                    auditSink.saveLog(new Log("INFO", "Pessoas buscadas em lote", "IDs: " + distinctIds.size() + ", Cache hits: " + cacheHits + ", Encontradas: " + pessoas.size()));
+                    return pessoas;
+                })
+                .exceptionally(e -> {
+                    logger.error("Erro inesperado na busca em lote de {} pessoas: {}", distinctIds.size(), FanOut.unwrap(e).getMessage(), FanOut.unwrap(e));
+                    auditSink.saveLog(new Log("ERROR", "Erro no serviço de busca de pessoas em lote", "IDs: " + distinctIds.size() + ", Erro: " + FanOut.unwrap(e).getMessage()));
+                    return List.of();
+                });
+    }
+
+    public CompletableFuture<Pessoa> updatePessoa(Pessoa pessoa) {
+        if (pessoa == null || pessoa.getId() == null) {
+            String errorMessage = "Não é possível atualizar uma pessoa sem ID.";
+            logger.error(errorMessage);
+            auditSink.saveLog(new Log("ERROR", "Falha na atualização de pessoa", errorMessage));
+            return CompletableFuture.completedFuture(null);
+        }
+        logger.info("Tentando atualizar pessoa (assíncrono): {} (ID: {})", pessoa.getNome(), pessoa.getId());
+        return postgresRepository.update(pessoa)
+                .thenCompose(updatedPessoa -> {
+                    if (updatedPessoa == null) {
+                        String errorMessage = "Falha ao atualizar pessoa no PostgreSQL. ID: " + pessoa.getId();
+                        auditSink.saveLog(new Log("ERROR", "Falha ao atualizar pessoa", errorMessage));
+                        logger.error(errorMessage);
+                        return CompletableFuture.completedFuture(null);
+                    }
+                    UUID id = updatedPessoa.getId();
+                    // Os outros nós só são avisados depois da gravação no Redis, senão recarregariam o valor antigo
+                    CompletableFuture<Void> cacheFillAndInvalidation = cacheStep("atualizar pessoa no Redis", id, redisRepository.save(updatedPessoa))
+                            .thenCompose(ignored -> cacheStep("publicar invalidação", id,
+                                    fanOut.run("publicar invalidação", fanOut.redisTimeout(),
+                                            () -> invalidationBus.publish(INVALIDACAO_PESSOA, id.toString(), updatedPessoa.getCpf()))));
+                    nearCache.invalidate(id, null); // Remove também o CPF antigo, se mudou
+                    nearCache.put(updatedPessoa);
+                    auditSink.saveLog(new Log("INFO", "Pessoa atualizada", "ID: " + id + ", Novo Email: " + updatedPessoa.getEmail()));
+                    return cacheFillAndInvalidation.thenApply(ignored -> {
+                        logger.info("Pessoa atualizada no PostgreSQL e Redis: {} (ID: {})", updatedPessoa.getNome(), id);
+                        return updatedPessoa;
+                    });
+                })
+                .exceptionally(e -> {
+                    String errorMessage = "Erro inesperado ao atualizar pessoa: " + pessoa.getNome() + " (ID: " + pessoa.getId() + "). Erro: " + FanOut.unwrap(e).getMessage();
+                    auditSink.saveLog(new Log("ERROR", "Erro no serviço de atualização de pessoa", errorMessage));
+                    logger.error(errorMessage, e);
+                    return null;
+                });
+    }
+
+    public CompletableFuture<Boolean> deletePessoa(UUID id) {
+        if (id == null) {
+            String errorMessage = "Não é possível deletar uma pessoa com ID nulo.";
+            logger.error(errorMessage);
+            auditSink.saveLog(new Log("ERROR", "Falha na deleção de pessoa", errorMessage));
+            return CompletableFuture.completedFuture(false);
+        }
+        logger.info("Tentando deletar pessoa com ID (assíncrono): {}", id);
+        // O Redis é limpo em paralelo com o DELETE, como no serviço síncrono
+        CompletableFuture<Void> cacheDelete = cacheStep("remover pessoa do Redis", id, redisRepository.delete(id));
+        return postgresRepository.delete(id)
+                .thenCombine(cacheDelete, (deleted, ignored) -> deleted)
+                .thenCompose(deleted -> {
+                    if (!Boolean.TRUE.equals(deleted)) {
+                        logger.warn("Pessoa com ID {} não encontrada no PostgreSQL para deleção ou falha na deleção.", id);
+                        auditSink.saveLog(new Log("WARN", "Falha na deleção de pessoa", "ID: " + id + ", Motivo: Não encontrada ou erro no PG."));
+                        return CompletableFuture.completedFuture(false);
+                    }
+                    // Uma leitura concorrente pode ter recolocado a linha no Redis: remove de novo e só então
+                    // avisa os outros nós, para que não recarreguem a pessoa do Redis
+                    CompletableFuture<Void> invalidation = cacheStep("remover pessoa do Redis após o DELETE", id, redisRepository.delete(id))
+                            .thenCompose(ignored -> cacheStep("publicar invalidação", id,
+                                    fanOut.run("publicar invalidação", fanOut.redisTimeout(),
+                                            () -> invalidationBus.publish(INVALIDACAO_PESSOA, id.toString(), null))));
+                    nearCache.invalidate(id, null);
+                    return invalidation.thenApply(ignored -> {
+                        auditSink.saveLog(new Log("INFO", "Pessoa deletada", "ID: " + id));
+                        logger.info("Pessoa deletada do PostgreSQL e Redis com ID: {}", id);
+                        return true;
+                    });
+                })
+                .exceptionally(e -> {
+                    String errorMessage = "Erro inesperado ao deletar pessoa com ID: " + id + ". Erro: " + FanOut.unwrap(e).getMessage();
+                    auditSink.saveLog(new Log("ERROR", "Erro no serviço de deleção de pessoa", errorMessage));
+                    logger.error(errorMessage, e);
+                    return false;
+                });
+    }
+
+    // Etapas de cache são opcionais: falha ou tempo esgotado só é registrado, o TTL corrige o resto
+    private CompletableFuture<Void> cacheStep(String step, UUID id, CompletableFuture<Void> operation) {
+        return FanOut.within(step, fanOut.redisTimeout(), operation)
+                .exceptionally(e -> {
+                    logger.warn("Cache não sincronizado para a pessoa {}: {}", id, FanOut.unwrap(e).getMessage());
+                    auditSink.saveLog(new Log("WARN", "Falha ao sincronizar cache de pessoa", "ID: " + id + ", Erro: " + FanOut.unwrap(e).getMessage()));
+                    return null;
+                });
+    }
+
+    // Leitura do Redis lenta ou com erro vira cache miss
+    private <T> CompletableFuture<Optional<T>> optionalCacheRead(String step, CompletableFuture<Optional<T>> read) {
+        return FanOut.within(step, fanOut.redisTimeout(), read)
+                .exceptionally(e -> {
+                    logger.warn("Cache Redis indisponível ({}): {}", step, FanOut.unwrap(e).getMessage());
+                    return Optional.empty();
+                });
+    }
+
+    public List<CacheTierStats> getCacheStats() {
+        return List.of(nearCache.stats(), redisRepository.getCacheStats());
+    }
+
+    public long getCoalescedLoadCount() {
+        return loadsById.getCoalescedCount() + loadsByCpf.getCoalescedCount();
+    }
+}
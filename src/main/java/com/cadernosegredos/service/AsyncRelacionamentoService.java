@@ -0,0 +1,118 @@
+package com.cadernosegredos.service;
+
+import com.cadernosegredos.concurrent.FanOut;
+import com.cadernosegredos.model.Log;
+import com.cadernosegredos.model.Pessoa;
+import com.cadernosegredos.repository.AsyncPessoaRepository;
+import com.cadernosegredos.repository.AsyncRelationshipRepository;
+import com.cadernosegredos.repository.AuditSink;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Versão não bloqueante do {@link RelacionamentoService} sobre a {@code AsyncSession} do Neo4j e o
+ * repositório R2DBC. Os futures retornados nunca completam com exceção: erros são logados e auditados.
+ */
+public class AsyncRelacionamentoService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncRelacionamentoService.class);
+
+    private final AsyncRelationshipRepository neo4jRelationshipRepository;
+    private final AuditSink auditSink;
+    private final AsyncPessoaRepository postgresPessoaRepository;
+    private final AsyncPessoaService pessoaService; // Busca em lote (L1 + Redis + PostgreSQL) dos amigos
+    private final FanOut fanOut; // Tempo limite por etapa
+
+    public AsyncRelacionamentoService(AsyncRelationshipRepository neo4jRelationshipRepository,
+                                      AuditSink auditSink,
+                                      AsyncPessoaRepository postgresPessoaRepository,
+                                      AsyncPessoaService pessoaService,
+                                      FanOut fanOut) {
+        this.neo4jRelationshipRepository = neo4jRelationshipRepository;
+        this.auditSink = auditSink;
+        this.postgresPessoaRepository = postgresPessoaRepository;
+        this.pessoaService = pessoaService;
+        this.fanOut = fanOut;
+        logger.info("AsyncRelacionamentoService inicializado com dependências injetadas.");
+    }
+
+    /**
+     * As duas verificações de existência no PostgreSQL correm juntas; o MERGE no Neo4j começa
+     * quando ambas terminam.
+     */
+    public CompletableFuture<Void> estabelecerAmizade(UUID pessoa1Id, UUID pessoa2Id) {
+        logger.info("Tentando estabelecer amizade (assíncrono) entre ID {} e ID {}", pessoa1Id, pessoa2Id);
+        CompletableFuture<Optional<Pessoa>> busca1 = FanOut.within("verificar pessoa 1", fanOut.postgresTimeout(),
+                postgresPessoaRepository.findById(pessoa1Id));
+        CompletableFuture<Optional<Pessoa>> busca2 = FanOut.within("verificar pessoa 2", fanOut.postgresTimeout(),
+                postgresPessoaRepository.findById(pessoa2Id));
+        return CompletableFuture.allOf(busca1, busca2)
+                .thenCompose(ignored -> {
+                    Optional<Pessoa> p1 = busca1.join(); // Já concluídas: join não bloqueia
+                    Optional<Pessoa> p2 = busca2.join();
+                    if (p1.isEmpty() || p2.isEmpty()) {
+                        String missingPerson = "";
+                        if (p1.isEmpty()) missingPerson += "Pessoa 1 (ID: " + pessoa1Id + ") não encontrada. ";
+                        if (p2.isEmpty()) missingPerson += "Pessoa 2 (ID: " + pessoa2Id + ") não encontrada. ";
+                        logger.warn("Não foi possível estabelecer amizade: {}", missingPerson);
+                        auditSink.saveLog(new Log("WARN", "Falha ao estabelecer amizade", missingPerson + " IDs: " + pessoa1Id + ", " + pessoa2Id));
+                        return CompletableFuture.<Void>completedFuture(null);
+                    }
+                    String nome1 = p1.get().getNome();
+                    String nome2 = p2.get().getNome();
+                    return FanOut.within("criar amizade no Neo4j", fanOut.neo4jTimeout(),
+                                    neo4jRelationshipRepository.createFriendship(pessoa1Id, pessoa2Id))
+                            .thenRun(() -> {
+                                auditSink.saveLog(new Log("INFO", "Amizade estabelecida", "Entre " + nome1 + " (ID: " + pessoa1Id + ") e " + nome2 + " (ID: " + pessoa2Id + ")"));
+                                logger.info("Amizade estabelecida entre {} e {}.", nome1, nome2);
+                            });
+                })
+                .exceptionally(e -> {
+                    logger.error("Erro inesperado ao estabelecer amizade entre {} e {}: {}", pessoa1Id, pessoa2Id, FanOut.unwrap(e).getMessage(), FanOut.unwrap(e));
+                    auditSink.saveLog(new Log("ERROR", "Erro no serviço ao estabelecer amizade", "Entre " + pessoa1Id + " e " + pessoa2Id + ": " + FanOut.unwrap(e).getMessage()));
+                    return null;
+                });
+    }
+
+    public CompletableFuture<List<Pessoa>> listarAmigos(UUID pessoaId) {
+        logger.info("Tentando listar amigos (assíncrono) para a pessoa com ID: {}", pessoaId);
+        return FanOut.within("listar amigos no Neo4j", fanOut.neo4jTimeout(), neo4jRelationshipRepository.findFriends(pessoaId))
+                .thenCompose(amigoIds -> {
+                    if (amigoIds.isEmpty()) {
+                        logger.info("Nenhum amigo encontrado para a pessoa com ID: {}", pessoaId);
+                        auditSink.saveLog(new Log("INFO", "Amigos listados", "Para ID " + pessoaId + ": Nenhum amigo encontrado."));
+                        return CompletableFuture.completedFuture(List.<Pessoa>of());
+                    }
+                    return pessoaService.findPessoasByIds(amigoIds).thenApply(amigos -> {
+                        logger.info("Encontrados {} amigos para a pessoa com ID: {}", amigos.size(), pessoaId);
+                        auditSink.saveLog(new Log("INFO", "Amigos listados", "Para ID " + pessoaId + ": " + amigos.size() + " amigos."));
+                        return amigos;
+                    });
+                })
+                .exceptionally(e -> {
+                    logger.error("Erro inesperado ao listar amigos de {}: {}", pessoaId, FanOut.unwrap(e).getMessage(), FanOut.unwrap(e));
+                    auditSink.saveLog(new Log("ERROR", "Erro no serviço ao listar amigos", "ID: " + pessoaId + ": " + FanOut.unwrap(e).getMessage()));
+                    return List.of();
+                });
+    }
+
+    public CompletableFuture<Void> removerAmizade(UUID pessoa1Id, UUID pessoa2Id) {
+        logger.info("Tentando remover amizade (assíncrono) entre ID {} e ID {}", pessoa1Id, pessoa2Id);
+        return FanOut.within("remover amizade no Neo4j", fanOut.neo4jTimeout(),
+                        neo4jRelationshipRepository.removeFriendship(pessoa1Id, pessoa2Id))
+                .thenRun(() -> {
+                    auditSink.saveLog(new Log("INFO", "Amizade removida", "Entre " + pessoa1Id + " e " + pessoa2Id));
+                    logger.info("Amizade removida entre ID {} e ID {}.", pessoa1Id, pessoa2Id);
+                })
+                .exceptionally(e -> {
+                    logger.error("Erro inesperado ao remover amizade entre {} e {}: {}", pessoa1Id, pessoa2Id, FanOut.unwrap(e).getMessage(), FanOut.unwrap(e));
+                    auditSink.saveLog(new Log("ERROR", "Erro no serviço ao remover amizade", "Entre " + pessoa1Id + " e " + pessoa2Id + ": " + FanOut.unwrap(e).getMessage()));
+                    return null;
+                });
+    }
+}
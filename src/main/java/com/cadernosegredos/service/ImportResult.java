@@ -0,0 +1,35 @@
+package com.cadernosegredos.service;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Resumo de uma importação em lote.
+ *
+ * @param inserted   pessoas novas
+ * @param updated    pessoas já existentes (mesmo CPF) atualizadas
+ * @param duplicates linhas ignoradas por repetirem um CPF dentro do mesmo lote
+ * @param rejected   linhas inválidas (formato, campos obrigatórios)
+ * @param failed     linhas de lotes que falharam no banco (nada desses lotes foi gravado)
+ * @param batches    lotes processados
+ * @param ids        IDs das pessoas inseridas ou atualizadas, na ordem dos lotes
+ */
+public record ImportResult(long inserted,
+                           long updated,
+                           long duplicates,
+                           long rejected,
+                           long failed,
+                           int batches,
+                           List<UUID> ids,
+                           long elapsedMillis) {
+
+    public double rowsPerSecond() {
+        return elapsedMillis == 0 ? 0.0 : (inserted + updated) * 1000.0 / elapsedMillis;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ImportResult{inseridas=%d, atualizadas=%d, duplicadas=%d, rejeitadas=%d, falhas=%d, lotes=%d, tempo=%dms, linhas/s=%.0f}",
+                inserted, updated, duplicates, rejected, failed, batches, elapsedMillis, rowsPerSecond());
+    }
+}
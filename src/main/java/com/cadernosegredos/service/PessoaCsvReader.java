@@ -0,0 +1,125 @@
+package com.cadernosegredos.service;
+
+import com.cadernosegredos.model.Pessoa;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Lê pessoas de um CSV {@code nome,email,cpf,dataNascimento} (AAAA-MM-DD) uma linha por vez, sem
+ * carregar o arquivo em memória. Aceita cabeçalho opcional e campos entre aspas (com aspas
+ * duplicadas dentro). Linhas inválidas são puladas e contadas em {@link #getRejectedCount()}.
+ */
+class PessoaCsvReader implements Iterator<Pessoa> {
+    private static final Logger logger = LoggerFactory.getLogger(PessoaCsvReader.class);
+    private static final String HEADER = "nome,email,cpf,datanascimento";
+
+    private final BufferedReader reader;
+    private Pessoa next;
+    private long lineNumber;
+    private long rejected;
+
+    PessoaCsvReader(Reader reader) {
+        this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+    }
+
+    @Override
+    public boolean hasNext() {
+        try {
+            while (next == null) {
+                String line = reader.readLine();
+                if (line == null) {
+                    return false;
+                }
+                lineNumber++;
+                if (line.isBlank() || (lineNumber == 1 && line.replace(" ", "").equalsIgnoreCase(HEADER))) {
+                    continue;
+                }
+                next = parse(line);
+            }
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao ler CSV na linha " + (lineNumber + 1), e);
+        }
+    }
+
+    @Override
+    public Pessoa next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Pessoa pessoa = next;
+        next = null;
+        return pessoa;
+    }
+
+    long getRejectedCount() {
+        return rejected;
+    }
+
+    private Pessoa parse(String line) {
+        List<String> fields = splitFields(line);
+        if (fields == null || fields.size() != 4) {
+            return reject("esperados 4 campos");
+        }
+        String nome = fields.get(0);
+        String email = fields.get(1).isEmpty() ? null : fields.get(1);
+        String cpf = fields.get(2);
+        if (nome.isEmpty() || cpf.isEmpty() || fields.get(3).isEmpty()) {
+            return reject("nome, cpf e dataNascimento são obrigatórios");
+        }
+        try {
+            return new Pessoa(nome, email, cpf, LocalDate.parse(fields.get(3)));
+        } catch (DateTimeParseException e) {
+            return reject("data inválida '" + fields.get(3) + "'");
+        }
+    }
+
+    private Pessoa reject(String motivo) {
+        rejected++;
+        logger.warn("Linha {} do CSV rejeitada: {}.", lineNumber, motivo);
+        return null;
+    }
+
+    // Divide a linha respeitando aspas; null se houver aspas sem fechamento
+    private static List<String> splitFields(String line) {
+        List<String> fields = new ArrayList<>(4);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            return null;
+        }
+        fields.add(field.toString().trim());
+        return fields;
+    }
+}
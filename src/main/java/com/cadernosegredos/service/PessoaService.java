@@ -1,38 +1,102 @@
 package com.cadernosegredos.service;
 
+import com.cadernosegredos.cache.CacheInvalidationBus;
+import com.cadernosegredos.cache.CacheTierStats;
+import com.cadernosegredos.cache.PessoaNearCache;
+import com.cadernosegredos.cache.SingleFlight;
+import com.cadernosegredos.concurrent.FanOut;
+import com.cadernosegredos.config.EnvConfig;
 import com.cadernosegredos.model.Log;
 import com.cadernosegredos.model.Pessoa;
-import com.cadernosegredos.repository.MongoLogRepositoryImpl;
+import com.cadernosegredos.repository.AuditSink;
+import com.cadernosegredos.repository.BatchResult;
+import com.cadernosegredos.repository.BulkUpsertResult;
+import com.cadernosegredos.repository.PessoaCache;
 import com.cadernosegredos.repository.PessoaRepository; // Interface (boa prática para o campo)
-import com.cadernosegredos.repository.PostgresPessoaRepositoryImpl;
-import com.cadernosegredos.repository.RedisPessoaRepositoryImpl;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID; // Importe UUID
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.stream.Stream;
 
 public class PessoaService {
     private static final Logger logger = LoggerFactory.getLogger(PessoaService.class);
+    private static final String INVALIDACAO_PESSOA = "pessoa"; // Tipo de mensagem no barramento: id|cpf
+    private static final String INVALIDACAO_PESSOAS = "pessoas"; // Vários IDs de uma vez: id1|id2|...
 
     // Mudei o tipo de PostgresPessoaRepositoryImpl para PessoaRepository (a interface),
     // é uma boa prática programar para a interface.
     private final PessoaRepository postgresRepository;
-    private final RedisPessoaRepositoryImpl redisRepository;
-    private final MongoLogRepositoryImpl logRepository;
+    private final PessoaCache redisRepository; // RedisPessoaRepositoryImpl em produção
+    private final AuditSink auditSink;
+    private final PessoaNearCache nearCache; // L1 na JVM, na frente do Redis
+    private final CacheInvalidationBus invalidationBus;
+    private final FanOut fanOut; // Etapas independentes (cache, invalidação) em paralelo, com tempo limite
+
+    // Cargas concorrentes do PostgreSQL para a mesma chave compartilham uma única consulta e um único preenchimento de cache
+    private final SingleFlight<UUID, Optional<Pessoa>> loadsById = new SingleFlight<>();
+    private final SingleFlight<String, Optional<Pessoa>> loadsByCpf = new SingleFlight<>();
+
+    // Renovação antecipada probabilística (XFetch) de chaves quentes no Redis; 0 desliga
+    private final double earlyRefreshBeta = EnvConfig.getDouble("CACHE_EARLY_REFRESH_BETA", 1.0);
+    private volatile double pgLoadMillisEwma = 5.0; // Custo médio de recarregar do PostgreSQL (delta do XFetch)
+    private final LongAdder earlyRefreshes = new LongAdder();
+
+    // Linhas por lote na importação em massa (um COPY + um upsert + um pipeline Redis por lote)
+    private final int importBatchSize = Math.max(1, EnvConfig.getInt("IMPORT_BATCH_SIZE", 10_000));
+    // Linhas por lote JDBC (uma transação) e por pipeline Redis em savePessoas/updatePessoas/deletePessoas
+    private final int bulkBatchSize = Math.max(1, EnvConfig.getInt("BULK_BATCH_SIZE", 1_000));
 
     // --- CONSTRUTOR CORRIGIDO PARA INJEÇÃO DE DEPENDÊNCIAS ---
     // Este construtor é CRUCIAL para que o App.java possa passar as dependências
-    public PessoaService(PostgresPessoaRepositoryImpl postgresRepository,
-                         RedisPessoaRepositoryImpl redisRepository,
-                         MongoLogRepositoryImpl logRepository) {
+    public PessoaService(PessoaRepository postgresRepository,
+                         PessoaCache redisRepository,
+                         AuditSink auditSink,
+                         PessoaNearCache nearCache,
+                         CacheInvalidationBus invalidationBus,
+                         FanOut fanOut) {
         this.postgresRepository = postgresRepository;
         this.redisRepository = redisRepository;
-        this.logRepository = logRepository;
+        this.auditSink = auditSink;
+        this.nearCache = nearCache;
+        this.invalidationBus = invalidationBus;
+        this.fanOut = fanOut;
+        // Invalidações publicadas por outros nós (update/delete) removem a entrada do L1 local
+        this.invalidationBus.onInvalidation(INVALIDACAO_PESSOA,
+                chaves -> nearCache.invalidate(chaves[0] == null ? null : UUID.fromString(chaves[0]),
+                        chaves.length > 1 ? chaves[1] : null));
+        this.invalidationBus.onInvalidation(INVALIDACAO_PESSOAS, chaves -> {
+            for (String chave : chaves) {
+                if (chave != null) {
+                    nearCache.invalidate(UUID.fromString(chave), null);
+                }
+            }
+        });
         logger.info("PessoaService inicializado com dependências injetadas.");
     }
 
+    /**
+     * Grava no PostgreSQL (que gera o ID) e então, em paralelo, preenche o Redis e registra a
+     * auditoria. Falha ou tempo esgotado no Redis não desfaz a criação: a próxima leitura recarrega
+     * o cache. A gravação no PostgreSQL não tem tempo limite aqui: desistir de esperar não a cancela,
+     * e o chamador receberia uma falha para uma pessoa que foi criada.
+     */
     public Pessoa savePessoa(Pessoa pessoa) {
         logger.info("Tentando criar pessoa: {}", pessoa.getNome());
         Pessoa savedPessoa = null;
@@ -40,64 +104,353 @@ public class PessoaService {
             savedPessoa = postgresRepository.save(pessoa); // O repositório deve retornar a Pessoa com o ID
 
             if (savedPessoa != null && savedPessoa.getId() != null) {
-                logRepository.saveLog(new Log("INFO", "Pessoa criada", "ID: " + savedPessoa.getId() + ", Nome: " + savedPessoa.getNome()));
-                redisRepository.save(savedPessoa); // Salva no cache Redis
+                Pessoa persisted = savedPessoa;
+                CompletableFuture<Void> cacheFill = fanOut.run("salvar pessoa no Redis", fanOut.redisTimeout(),
+                        () -> redisRepository.save(persisted));
+                nearCache.put(savedPessoa);
+                auditSink.saveLog(new Log("INFO", "Pessoa criada", "ID: " + savedPessoa.getId() + ", Nome: " + savedPessoa.getNome()));
+                awaitCacheStep(cacheFill, savedPessoa.getId());
                 logger.info("Pessoa criada e cacheada: {} (ID: {})", savedPessoa.getNome(), savedPessoa.getId());
             } else {
                 String errorMessage = "Falha ao criar pessoa no PostgreSQL: " + pessoa.getNome() + ". ID não foi gerado.";
-                logRepository.saveLog(new Log("ERROR", "Falha ao criar pessoa", errorMessage));
+                auditSink.saveLog(new Log("ERROR", "Falha ao criar pessoa", errorMessage));
                 logger.error(errorMessage);
             }
         } catch (Exception e) {
             String errorMessage = "Erro inesperado ao salvar pessoa: " + pessoa.getNome() + ". Erro: " + e.getMessage();
-            logRepository.saveLog(new Log("ERROR", "Erro no serviço de criação de pessoa", errorMessage));
+            auditSink.saveLog(new Log("ERROR", "Erro no serviço de criação de pessoa", errorMessage));
             logger.error(errorMessage, e);
         }
         return savedPessoa;
     }
 
+    /**
+     * Cria várias pessoas: um lote JDBC (uma transação) e um pipeline Redis a cada {@code BULK_BATCH_SIZE}
+     * pessoas. Os IDs gerados voltam na ordem da entrada; linhas com erro são reportadas sem impedir as demais.
+     */
+    public BatchResult savePessoas(List<Pessoa> pessoas) {
+        return inBatches("criar", pessoas, chunk -> {
+            BatchResult result = postgresRepository.saveAll(chunk);
+            List<Pessoa> saved = succeeded(chunk, result);
+            redisRepository.saveAll(saved);
+            saved.forEach(nearCache::put);
+            return result;
+        });
+    }
+
+    /**
+     * Atualiza várias pessoas em lotes e renova o cache: um pipeline Redis por lote, remoção do L1 local
+     * e uma única mensagem de invalidação por lote para os outros nós.
+     */
+    public BatchResult updatePessoas(List<Pessoa> pessoas) {
+        return inBatches("atualizar", pessoas, chunk -> {
+            BatchResult result = postgresRepository.updateAll(chunk);
+            List<Pessoa> updated = succeeded(chunk, result);
+            redisRepository.saveAll(updated);
+            updated.forEach(pessoa -> {
+                nearCache.invalidate(pessoa.getId(), null); // Remove também o CPF antigo, se mudou
+                nearCache.put(pessoa);
+            });
+            publishInvalidation(updated.stream().map(Pessoa::getId).toList());
+            return result;
+        });
+    }
+
+    /**
+     * Remove várias pessoas em lotes; as removidas saem do Redis (um pipeline por lote) e do L1 de todos os nós.
+     */
+    public BatchResult deletePessoas(List<UUID> ids) {
+        return inBatches("remover", ids, chunk -> {
+            BatchResult result = postgresRepository.deleteAllByIds(chunk);
+            List<UUID> deleted = result.ids().stream().filter(Objects::nonNull).toList();
+            redisRepository.deleteAll(deleted);
+            deleted.forEach(id -> nearCache.invalidate(id, null));
+            publishInvalidation(deleted);
+            return result;
+        });
+    }
+
+    private <T> BatchResult inBatches(String operacao, List<T> rows, Function<List<T>, BatchResult> action) {
+        if (rows == null || rows.isEmpty()) {
+            return new BatchResult(List.of(), List.of());
+        }
+        logger.info("Tentando {} {} pessoas em lotes de {}.", operacao, rows.size(), bulkBatchSize);
+        List<BatchResult> parts = new ArrayList<>();
+        for (int from = 0; from < rows.size(); from += bulkBatchSize) {
+            List<T> chunk = rows.subList(from, Math.min(rows.size(), from + bulkBatchSize));
+            BatchResult part = action.apply(chunk);
+            parts.add(part);
+            auditSink.saveLog(new Log(part.hasFailures() ? "WARN" : "INFO", "Lote de pessoas para " + operacao,
+                    "Linhas: " + chunk.size() + ", Sucesso: " + part.succeeded() + ", Falhas: " + part.failures().size()));
+        }
+        BatchResult result = BatchResult.concat(parts);
+        for (BatchResult.RowFailure failure : result.failures()) {
+            logger.warn("Falha ao {} pessoa na linha {} (ID: {}): {}", operacao, failure.index(), failure.id(), failure.error());
+        }
+        logger.info("Operação em lote para {} pessoas concluída: {} com sucesso, {} com falha.",
+                operacao, result.succeeded(), result.failures().size());
+        return result;
+    }
+
+    private static List<Pessoa> succeeded(List<Pessoa> chunk, BatchResult result) {
+        List<Pessoa> ok = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            if (result.ids().get(i) != null) {
+                ok.add(chunk.get(i));
+            }
+        }
+        return ok;
+    }
+
+    private void publishInvalidation(List<UUID> ids) {
+        if (!ids.isEmpty()) {
+            invalidationBus.publish(INVALIDACAO_PESSOAS, ids.stream().map(UUID::toString).toArray(String[]::new));
+        }
+    }
+
+    /**
+     * Importa pessoas de um CSV ({@code nome,email,cpf,dataNascimento}), lido em streaming.
+     * Ver {@link #importPessoas(Iterator)}.
+     */
+    public ImportResult importPessoasCsv(Reader csv) {
+        PessoaCsvReader reader = new PessoaCsvReader(csv);
+        return importBatches(reader, reader::getRejectedCount);
+    }
+
+    /**
+     * Importação em massa: consome as pessoas em lotes de {@code IMPORT_BATCH_SIZE} e, para cada lote,
+     * faz COPY + upsert por CPF no PostgreSQL, aquece o Redis em um único pipeline e grava um único
+     * log de auditoria com o resumo (em vez de vários logs e idas ao Redis por pessoa, como em
+     * {@link #savePessoa(Pessoa)}). Um lote que falha no banco é descartado inteiro e os demais seguem.
+     */
+    public ImportResult importPessoas(Iterator<Pessoa> pessoas) {
+        return importBatches(pessoas, () -> 0);
+    }
+
+    private ImportResult importBatches(Iterator<Pessoa> source, LongSupplier rejectedCount) {
+        logger.info("Iniciando importação em massa de pessoas (lotes de {}).", importBatchSize);
+        long start = System.nanoTime();
+        List<UUID> ids = new ArrayList<>();
+        long inserted = 0;
+        long updated = 0;
+        long duplicates = 0;
+        long failed = 0;
+        int batches = 0;
+        List<Pessoa> batch = new ArrayList<>(importBatchSize);
+        try {
+            while (source.hasNext()) {
+                batch.add(source.next());
+                if (batch.size() < importBatchSize && source.hasNext()) {
+                    continue;
+                }
+                batches++;
+                BulkUpsertResult result = importBatch(batch, batches);
+                if (result == null) {
+                    failed += batch.size();
+                } else {
+                    inserted += result.inserted().size();
+                    updated += result.updated().size();
+                    duplicates += batch.size() - result.size();
+                    result.inserted().forEach(pessoa -> ids.add(pessoa.getId()));
+                    result.updated().forEach(pessoa -> ids.add(pessoa.getId()));
+                }
+                batch = new ArrayList<>(importBatchSize);
+            }
+        } catch (Exception e) {
+            // Erro de leitura da origem: o que já foi importado permanece
+            logger.error("Importação interrompida após {} lotes: {}", batches, e.getMessage(), e);
+            auditSink.saveLog(new Log("ERROR", "Importação de pessoas interrompida", "Lotes: " + batches + ", Erro: " + e.getMessage()));
+        }
+        ImportResult importResult = new ImportResult(inserted, updated, duplicates, rejectedCount.getAsLong(), failed,
+                batches, ids, (System.nanoTime() - start) / 1_000_000);
+        logger.info("Importação em massa concluída: {}", importResult);
+        auditSink.saveLog(new Log("INFO", "Importação de pessoas concluída", importResult.toString()));
+        return importResult;
+    }
+
+    private BulkUpsertResult importBatch(List<Pessoa> batch, int numero) {
+        long start = System.nanoTime();
+        BulkUpsertResult result = postgresRepository.bulkUpsert(batch);
+        if (result == null) {
+            auditSink.saveLog(new Log("ERROR", "Falha ao importar lote de pessoas", "Lote: " + numero + ", Linhas: " + batch.size()));
+            return null;
+        }
+        // Aquece o Redis com o lote inteiro em um pipeline; pessoas atualizadas saem do L1 deste e dos outros nós
+        List<Pessoa> imported = new ArrayList<>(result.size());
+        imported.addAll(result.inserted());
+        imported.addAll(result.updated());
+        redisRepository.saveAll(imported);
+        if (!result.updated().isEmpty()) {
+            List<UUID> updatedIds = result.updated().stream().map(Pessoa::getId).toList();
+            updatedIds.forEach(id -> nearCache.invalidate(id, null));
+            publishInvalidation(updatedIds);
+        }
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        auditSink.saveLog(new Log("INFO", "Lote de pessoas importado", "Lote: " + numero + ", Linhas: " + batch.size()
+                + ", Inseridas: " + result.inserted().size() + ", Atualizadas: " + result.updated().size() + ", Tempo: " + millis + "ms"));
+        return result;
+    }
+
     // --- MÉTODOS DE BUSCA E DELEÇÃO USANDO UUID CONSISTENTEMENTE ---
     public Optional<Pessoa> findPessoaById(UUID id) { // Alterado de String para UUID
         logger.info("Tentando buscar pessoa por ID: {}", id);
-        Optional<Pessoa> pessoaFromCache = redisRepository.findById(id); // Assegure que RedisRepository.findById aceite UUID
-        if (pessoaFromCache.isPresent()) {
+        Optional<Pessoa> pessoaFromL1 = nearCache.getById(id);
+        if (pessoaFromL1.isPresent()) {
+            logger.debug("Pessoa encontrada no cache L1 por ID: {}", id);
+            auditSink.saveLog(new Log("INFO", "Pessoa buscada (cache L1)", "ID: " + id));
+            return pessoaFromL1;
+        }
+
+        Optional<PessoaCache.CacheEntry> entryFromCache = redisRepository.findEntryById(id);
+        if (entryFromCache.isPresent()) {
+            Pessoa pessoaFromCache = entryFromCache.get().pessoa();
             logger.info("Pessoa encontrada no cache Redis por ID: {}", id);
-            logRepository.saveLog(new Log("INFO", "Pessoa buscada (cache hit)", "ID: " + id));
-            return pessoaFromCache;
+            auditSink.saveLog(new Log("INFO", "Pessoa buscada (cache hit)", "ID: " + id));
+            nearCache.put(pessoaFromCache);
+            maybeRefreshEarly(id, entryFromCache.get().ttlMillis());
+            return Optional.of(pessoaFromCache);
         }
 
-        Optional<Pessoa> pessoaFromPg = postgresRepository.findById(id); // Assegure que PessoaRepository.findById aceite UUID
+        // Cache miss: requisições concorrentes para o mesmo ID esperam a mesma carga (cópia por chamador)
+        Optional<Pessoa> pessoaFromPg = loadsById.load(id, () -> loadFromPostgres(id)).map(Pessoa::new);
         if (pessoaFromPg.isPresent()) {
             logger.info("Pessoa encontrada no PostgreSQL por ID: {}. Adicionando ao cache Redis.", id);
-            logRepository.saveLog(new Log("INFO", "Pessoa buscada (cache miss)", "ID: " + id));
-            redisRepository.save(pessoaFromPg.get());
+            auditSink.saveLog(new Log("INFO", "Pessoa buscada (cache miss)", "ID: " + id));
             return pessoaFromPg;
         }
 
         logger.warn("Pessoa com ID {} não encontrada no Redis ou PostgreSQL.", id);
-        logRepository.saveLog(new Log("WARN", "Pessoa não encontrada", "ID: " + id));
+        auditSink.saveLog(new Log("WARN", "Pessoa não encontrada", "ID: " + id));
         return Optional.empty();
     }
 
+    /**
+     * Carrega do PostgreSQL e preenche Redis e L1. Executado uma única vez por chave em voo (single flight).
+     */
+    private Optional<Pessoa> loadFromPostgres(UUID id) {
+        long start = System.nanoTime();
+        Optional<Pessoa> pessoa = postgresRepository.findById(id);
+        recordLoadTime(start);
+        pessoa.ifPresent(this::fillCaches);
+        return pessoa;
+    }
+
+    private Optional<Pessoa> loadByCpfFromPostgres(String cpf) {
+        long start = System.nanoTime();
+        Optional<Pessoa> pessoa = postgresRepository.findByCpf(cpf);
+        recordLoadTime(start);
+        pessoa.ifPresent(this::fillCaches);
+        return pessoa;
+    }
+
+    private void fillCaches(Pessoa pessoa) {
+        redisRepository.save(pessoa);
+        nearCache.put(pessoa);
+    }
+
+    private void recordLoadTime(long startNanos) {
+        double millis = (System.nanoTime() - startNanos) / 1_000_000.0;
+        pgLoadMillisEwma = 0.8 * pgLoadMillisEwma + 0.2 * millis;
+    }
+
+    /**
+     * XFetch: renova a entrada do Redis antes de expirar com probabilidade que cresce à medida que o
+     * TTL restante se aproxima do custo de recarga. Assim uma chave quente é recarregada por uma
+     * única requisição em segundo plano, e não por todas ao mesmo tempo logo após expirar.
+     */
+    private void maybeRefreshEarly(UUID id, long ttlMillis) {
+        if (earlyRefreshBeta <= 0 || ttlMillis < 0 || loadsById.isInFlight(id)) {
+            return;
+        }
+        double random = 1.0 - ThreadLocalRandom.current().nextDouble(); // (0, 1]
+        double threshold = pgLoadMillisEwma * earlyRefreshBeta * -Math.log(random);
+        if (ttlMillis <= threshold) {
+            earlyRefreshes.increment();
+            logger.debug("Renovação antecipada da pessoa {} no cache (TTL restante {} ms).", id, ttlMillis);
+            Thread.startVirtualThread(() -> loadsById.load(id, () -> loadFromPostgres(id)));
+        }
+    }
+
+    /**
+     * Busca várias pessoas de uma vez: um MGET no Redis e, apenas para os IDs ausentes do cache,
+     * uma única consulta {@code id = ANY(?)} no PostgreSQL, cujos resultados realimentam o cache.
+     * O resultado segue a ordem dos IDs informados; IDs inexistentes são omitidos.
+     */
+    public List<Pessoa> findPessoasByIds(Collection<UUID> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return List.of();
+        }
+        Set<UUID> distinctIds = new LinkedHashSet<>(ids);
+        Map<UUID, Pessoa> found = new HashMap<>();
+        List<UUID> l1Misses = new ArrayList<>();
+        for (UUID id : distinctIds) {
+            Optional<Pessoa> cached = nearCache.getById(id);
+            if (cached.isPresent()) {
+                found.put(id, cached.get());
+            } else {
+                l1Misses.add(id);
+            }
+        }
+
+        Map<UUID, Pessoa> fromRedis = redisRepository.findAllByIds(l1Misses);
+        fromRedis.values().forEach(nearCache::put);
+        found.putAll(fromRedis);
+        int cacheHits = found.size();
+
+        List<UUID> misses = new ArrayList<>(distinctIds.size() - cacheHits);
+        for (UUID id : l1Misses) {
+            if (!found.containsKey(id)) {
+                misses.add(id);
+            }
+        }
+        if (!misses.isEmpty()) {
+            List<Pessoa> fromPg = postgresRepository.findAllByIds(misses);
+            for (Pessoa pessoa : fromPg) {
+                found.put(pessoa.getId(), pessoa);
+                nearCache.put(pessoa);
+            }
+            redisRepository.saveAll(fromPg); // Backfill do cache em um único pipeline
+        }
+
+        List<Pessoa> pessoas = new ArrayList<>(found.size());
+        for (UUID id : distinctIds) {
+            Pessoa pessoa = found.get(id);
+            if (pessoa != null) {
+                pessoas.add(pessoa);
+            }
+        }
+        logger.info("Busca em lote: {} IDs, {} no cache, {} no PostgreSQL, {} encontrados.",
+                distinctIds.size(), cacheHits, misses.size(), pessoas.size());
+        auditSink.saveLog(new Log("INFO", "Pessoas buscadas em lote", "IDs: " + distinctIds.size() + ", Cache hits: " + cacheHits + ", Encontradas: " + pessoas.size()));
+        return pessoas;
+    }
+
     public Optional<Pessoa> findPessoaByCpf(String cpf) {
         logger.info("Tentando buscar pessoa por CPF: {}", cpf);
+        Optional<Pessoa> pessoaFromL1 = nearCache.getByCpf(cpf);
+        if (pessoaFromL1.isPresent()) {
+            logger.debug("Pessoa encontrada no cache L1 por CPF: {}", cpf);
+            auditSink.saveLog(new Log("INFO", "Pessoa buscada (cache L1)", "CPF: " + cpf));
+            return pessoaFromL1;
+        }
+
         Optional<Pessoa> pessoaFromCache = redisRepository.findByCpf(cpf);
         if (pessoaFromCache.isPresent()) {
             logger.info("Pessoa encontrada no cache Redis por CPF: {}", cpf);
-            logRepository.saveLog(new Log("INFO", "Pessoa buscada (cache hit)", "CPF: " + cpf));
+            auditSink.saveLog(new Log("INFO", "Pessoa buscada (cache hit)", "CPF: " + cpf));
+            nearCache.put(pessoaFromCache.get());
             return pessoaFromCache;
         }
 
-        Optional<Pessoa> pessoaFromPg = postgresRepository.findByCpf(cpf);
+        Optional<Pessoa> pessoaFromPg = loadsByCpf.load(cpf, () -> loadByCpfFromPostgres(cpf)).map(Pessoa::new);
         if (pessoaFromPg.isPresent()) {
             logger.info("Pessoa encontrada no PostgreSQL por CPF: {}. Adicionando ao cache Redis.", cpf);
-            logRepository.saveLog(new Log("INFO", "Pessoa buscada (cache miss)", "CPF: " + cpf));
-            redisRepository.save(pessoaFromPg.get());
+            auditSink.saveLog(new Log("INFO", "Pessoa buscada (cache miss)", "CPF: " + cpf));
             return pessoaFromPg;
         }
 
         logger.warn("Pessoa com CPF {} não encontrada no Redis ou PostgreSQL.", cpf);
-        logRepository.saveLog(new Log("WARN", "Pessoa não encontrada", "CPF: " + cpf));
+        auditSink.saveLog(new Log("WARN", "Pessoa não encontrada", "CPF: " + cpf));
         return Optional.empty();
     }
 
@@ -105,7 +458,7 @@ public class PessoaService {
         if (pessoa == null || pessoa.getId() == null) {
             String errorMessage = "Não é possível atualizar uma pessoa sem ID.";
             logger.error(errorMessage);
-            logRepository.saveLog(new Log("ERROR", "Falha na atualização de pessoa", errorMessage));
+            auditSink.saveLog(new Log("ERROR", "Falha na atualização de pessoa", errorMessage));
             return null;
         }
 
@@ -114,17 +467,27 @@ public class PessoaService {
         try {
             updatedPessoa = postgresRepository.update(pessoa);
             if (updatedPessoa != null) {
-                logRepository.saveLog(new Log("INFO", "Pessoa atualizada", "ID: " + updatedPessoa.getId() + ", Novo Email: " + updatedPessoa.getEmail()));
-                redisRepository.save(updatedPessoa); // Atualiza o cache Redis
+                // O L1 local é atualizado enquanto o Redis grava; o aviso aos outros nós só depois da
+                // gravação, senão eles recarregariam do Redis o valor antigo
+                Pessoa persisted = updatedPessoa;
+                CompletableFuture<Void> cacheFill = fanOut.run("atualizar pessoa no Redis", fanOut.redisTimeout(),
+                        () -> redisRepository.save(persisted));
+                nearCache.invalidate(updatedPessoa.getId(), null); // Remove também o CPF antigo, se mudou
+                nearCache.put(updatedPessoa);
+                auditSink.saveLog(new Log("INFO", "Pessoa atualizada", "ID: " + updatedPessoa.getId() + ", Novo Email: " + updatedPessoa.getEmail()));
+                awaitCacheStep(cacheFill, updatedPessoa.getId());
+                awaitCacheStep(fanOut.run("publicar invalidação", fanOut.redisTimeout(),
+                        () -> invalidationBus.publish(INVALIDACAO_PESSOA, persisted.getId().toString(), persisted.getCpf())),
+                        updatedPessoa.getId());
                 logger.info("Pessoa atualizada no PostgreSQL e Redis: {} (ID: {})", updatedPessoa.getNome(), updatedPessoa.getId());
             } else {
                 String errorMessage = "Falha ao atualizar pessoa no PostgreSQL. ID: " + pessoa.getId();
-                logRepository.saveLog(new Log("ERROR", "Falha ao atualizar pessoa", errorMessage));
+                auditSink.saveLog(new Log("ERROR", "Falha ao atualizar pessoa", errorMessage));
                 logger.error(errorMessage);
             }
         } catch (Exception e) {
             String errorMessage = "Erro inesperado ao atualizar pessoa: " + pessoa.getNome() + " (ID: " + pessoa.getId() + "). Erro: " + e.getMessage();
-            logRepository.saveLog(new Log("ERROR", "Erro no serviço de atualização de pessoa", errorMessage));
+            auditSink.saveLog(new Log("ERROR", "Erro no serviço de atualização de pessoa", errorMessage));
             logger.error(errorMessage, e);
         }
         return updatedPessoa;
@@ -134,42 +497,113 @@ public class PessoaService {
         if (id == null) {
             String errorMessage = "Não é possível deletar uma pessoa com ID nulo.";
             logger.error(errorMessage);
-            logRepository.saveLog(new Log("ERROR", "Falha na deleção de pessoa", errorMessage));
+            auditSink.saveLog(new Log("ERROR", "Falha na deleção de pessoa", errorMessage));
             return false;
         }
 
         logger.info("Tentando deletar pessoa com ID: {}", id);
         boolean deletedFromPg = false;
         try {
+            // O Redis é limpo em paralelo com o DELETE; se o DELETE não remover nada, isso só custa uma recarga
+            CompletableFuture<Void> cacheDelete = fanOut.run("remover pessoa do Redis", fanOut.redisTimeout(),
+                    () -> redisRepository.delete(id));
             deletedFromPg = postgresRepository.delete(id); // Chamada para o método delete que retorna boolean
+            awaitCacheStep(cacheDelete, id);
 
             if (deletedFromPg) {
-                redisRepository.delete(id); // Remove do cache Redis
-                logRepository.saveLog(new Log("INFO", "Pessoa deletada", "ID: " + id));
+                // Uma leitura concorrente pode ter recolocado no Redis a linha ainda não apagada:
+                // remove de novo e só então avisa os outros nós, para que não recarreguem a pessoa do Redis
+                CompletableFuture<Void> cacheRedelete = fanOut.run("remover pessoa do Redis após o DELETE", fanOut.redisTimeout(),
+                        () -> redisRepository.delete(id));
+                nearCache.invalidate(id, null);
+                awaitCacheStep(cacheRedelete, id);
+                awaitCacheStep(fanOut.run("publicar invalidação", fanOut.redisTimeout(),
+                        () -> invalidationBus.publish(INVALIDACAO_PESSOA, id.toString(), null)), id);
+                auditSink.saveLog(new Log("INFO", "Pessoa deletada", "ID: " + id));
                 logger.info("Pessoa deletada do PostgreSQL e Redis com ID: {}", id);
             } else {
                 String warningMessage = "Pessoa com ID {} não encontrada no PostgreSQL para deleção ou falha na deleção.";
                 logger.warn(warningMessage, id);
-                logRepository.saveLog(new Log("WARN", "Falha na deleção de pessoa", "ID: " + id + ", Motivo: Não encontrada ou erro no PG."));
+                auditSink.saveLog(new Log("WARN", "Falha na deleção de pessoa", "ID: " + id + ", Motivo: Não encontrada ou erro no PG."));
             }
         } catch (Exception e) {
             String errorMessage = "Erro inesperado ao deletar pessoa com ID: " + id + ". Erro: " + e.getMessage();
-            logRepository.saveLog(new Log("ERROR", "Erro no serviço de deleção de pessoa", errorMessage));
+            auditSink.saveLog(new Log("ERROR", "Erro no serviço de deleção de pessoa", errorMessage));
             logger.error(errorMessage, e);
         }
         return deletedFromPg;
     }
 
+    // Etapas de cache são opcionais: falha ou tempo esgotado só é registrado, o TTL corrige o resto
+    private void awaitCacheStep(CompletableFuture<Void> step, UUID id) {
+        try {
+            FanOut.await(step);
+        } catch (RuntimeException e) {
+            logger.warn("Cache não sincronizado para a pessoa {}: {}", id, e.getMessage());
+            auditSink.saveLog(new Log("WARN", "Falha ao sincronizar cache de pessoa", "ID: " + id + ", Erro: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Carrega todas as pessoas em uma lista. Para tabelas grandes prefira {@link #streamAllPessoas()}
+     * ou {@link #findPessoasPage(UUID, int)}, que usam memória constante.
+     */
     public List<Pessoa> findAllPessoas() {
         logger.info("Buscando todas as pessoas no PostgreSQL.");
         List<Pessoa> pessoas = postgresRepository.findAll();
         if (pessoas.isEmpty()) {
             logger.info("Nenhuma pessoa encontrada no PostgreSQL.");
-            logRepository.saveLog(new Log("INFO", "Listadas todas as pessoas", "Total: 0"));
+            auditSink.saveLog(new Log("INFO", "Listadas todas as pessoas", "Total: 0"));
         } else {
             logger.info("Encontradas {} pessoas no PostgreSQL.", pessoas.size());
-            logRepository.saveLog(new Log("INFO", "Listadas todas as pessoas", "Total: " + pessoas.size()));
+            auditSink.saveLog(new Log("INFO", "Listadas todas as pessoas", "Total: " + pessoas.size()));
         }
         return pessoas;
     }
+
+    /**
+     * Todas as pessoas lidas sob demanda do PostgreSQL (cursor no servidor, sem passar pelos caches).
+     * O stream mantém uma conexão do pool até ser fechado: use try-with-resources.
+     */
+    public Stream<Pessoa> streamAllPessoas() {
+        logger.info("Percorrendo todas as pessoas no PostgreSQL (streaming).");
+        LongAdder total = new LongAdder();
+        return postgresRepository.streamAll()
+                .map(pessoa -> {
+                    total.increment();
+                    return pessoa;
+                })
+                .onClose(() -> {
+                    logger.info("Percorridas {} pessoas no PostgreSQL.", total.sum());
+                    auditSink.saveLog(new Log("INFO", "Listadas todas as pessoas", "Total: " + total.sum()));
+                });
+    }
+
+    /**
+     * Página de pessoas em ordem de ID após {@code afterId} (null para a primeira página).
+     */
+    public List<Pessoa> findPessoasPage(UUID afterId, int limit) {
+        List<Pessoa> pessoas = postgresRepository.findPage(afterId, limit);
+        logger.info("Página de pessoas após ID {}: {} de até {}.", afterId, pessoas.size(), limit);
+        auditSink.saveLog(new Log("INFO", "Página de pessoas listada", "Após ID: " + afterId + ", Total: " + pessoas.size()));
+        return pessoas;
+    }
+
+    /**
+     * Contadores de acerto/falha/eviction de cada nível de cache (L1 na JVM e Redis).
+     */
+    public List<CacheTierStats> getCacheStats() {
+        return List.of(nearCache.stats(), redisRepository.getCacheStats());
+    }
+
+    /**
+     * Quantas requisições esperaram uma carga já em andamento em vez de consultar o PostgreSQL.
+     */
+    public long getCoalescedLoadCount() {
+        return loadsById.getCoalescedCount() + loadsByCpf.getCoalescedCount();
+    }
+
+    public long getEarlyRefreshCount() {
+        return earlyRefreshes.sum();
+    }
 }
\ No newline at end of file
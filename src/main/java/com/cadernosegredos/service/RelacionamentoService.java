@@ -1,40 +1,64 @@
 package com.cadernosegredos.service;
 
+import com.cadernosegredos.concurrent.FanOut;
+import com.cadernosegredos.config.EnvConfig;
+import com.cadernosegredos.model.Amizade;
 import com.cadernosegredos.model.Log; // Importação essencial para a classe Log
 import com.cadernosegredos.model.Pessoa;
-import com.cadernosegredos.repository.MongoLogRepositoryImpl;
-import com.cadernosegredos.repository.Neo4jRelationshipRepositoryImpl;
-import com.cadernosegredos.repository.PostgresPessoaRepositoryImpl; // Importe este para buscar detalhes das pessoas
+import com.cadernosegredos.repository.AuditSink;
+import com.cadernosegredos.repository.FriendSuggestion;
+import com.cadernosegredos.repository.FriendshipBatchResult;
+import com.cadernosegredos.repository.PessoaRepository; // Para buscar detalhes das pessoas
+import com.cadernosegredos.repository.RelationshipRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional; // Importação essencial para a classe Optional
+import java.util.OptionalInt;
+import java.util.Set;
 import java.util.UUID; // Importação essencial para UUID
-import java.util.stream.Collectors; // Para usar Collectors.toList()
+import java.util.concurrent.CompletableFuture;
 
 public class RelacionamentoService {
 
     private static final Logger logger = LoggerFactory.getLogger(RelacionamentoService.class);
 
-    private final Neo4jRelationshipRepositoryImpl neo4jRelationshipRepository;
-    private final MongoLogRepositoryImpl mongoLogRepository;
-    private final PostgresPessoaRepositoryImpl postgresPessoaRepository; // Adicionado para buscar os detalhes da Pessoa
+    private final RelationshipRepository neo4jRelationshipRepository;
+    private final AuditSink auditSink;
+    private final PessoaRepository postgresPessoaRepository; // Adicionado para buscar os detalhes da Pessoa
+    private final PessoaService pessoaService; // Busca em lote (Redis + PostgreSQL) dos amigos
+    private final FanOut fanOut; // Verificações independentes em paralelo, com tempo limite
+    // Pares por lote em estabelecerAmizades: uma consulta ANY(?) no PostgreSQL por lote para validar as pessoas
+    private final int friendshipBatchSize = Math.max(1, EnvConfig.getInt("FRIENDSHIP_BATCH_SIZE", 10_000));
+    // Limites das consultas de travessia: resultados por consulta e profundidade do menor caminho
+    private final int graphMaxResults = Math.max(1, EnvConfig.getInt("GRAPH_QUERY_MAX_RESULTS", 100));
+    private final int pathMaxDepth = Math.max(1, EnvConfig.getInt("NEO4J_PATH_MAX_DEPTH", 6));
 
     // Construtor para Injeção de Dependências
     // Este construtor permite que o App.java "injete" as instâncias dos repositórios
-    public RelacionamentoService(Neo4jRelationshipRepositoryImpl neo4jRelationshipRepository,
-                                 MongoLogRepositoryImpl mongoLogRepository,
-                                 PostgresPessoaRepositoryImpl postgresPessoaRepository) {
+    public RelacionamentoService(RelationshipRepository neo4jRelationshipRepository,
+                                 AuditSink auditSink,
+                                 PessoaRepository postgresPessoaRepository,
+                                 PessoaService pessoaService,
+                                 FanOut fanOut) {
         this.neo4jRelationshipRepository = neo4jRelationshipRepository;
-        this.mongoLogRepository = mongoLogRepository;
+        this.auditSink = auditSink;
         this.postgresPessoaRepository = postgresPessoaRepository; // Atribui a dependência
+        this.pessoaService = pessoaService;
+        this.fanOut = fanOut;
         logger.info("RelacionamentoService inicializado com dependências injetadas.");
     }
 
     /**
      * Estabelece uma relação de amizade entre duas pessoas no Neo4j.
-     * Os IDs das pessoas devem ser UUIDs.
+     * Os IDs das pessoas devem ser UUIDs. As duas verificações de existência no PostgreSQL rodam em
+     * paralelo; a criação no Neo4j (um MERGE, seguro para repetir) só começa depois de ambas.
      * @param pessoa1Id O ID da primeira pessoa.
      * @param pessoa2Id O ID da segunda pessoa.
      */
@@ -42,26 +66,78 @@ public class RelacionamentoService {
         logger.info("Tentando estabelecer amizade entre ID {} e ID {}", pessoa1Id, pessoa2Id);
         try {
             // Verifica se as pessoas existem no PostgreSQL antes de criar o relacionamento
-            Optional<Pessoa> p1 = postgresPessoaRepository.findById(pessoa1Id);
-            Optional<Pessoa> p2 = postgresPessoaRepository.findById(pessoa2Id);
+            CompletableFuture<Optional<Pessoa>> busca1 = fanOut.supply("verificar pessoa 1", fanOut.postgresTimeout(),
+                    () -> postgresPessoaRepository.findById(pessoa1Id));
+            CompletableFuture<Optional<Pessoa>> busca2 = fanOut.supply("verificar pessoa 2", fanOut.postgresTimeout(),
+                    () -> postgresPessoaRepository.findById(pessoa2Id));
+            Optional<Pessoa> p1 = FanOut.await(busca1);
+            Optional<Pessoa> p2 = FanOut.await(busca2);
 
             if (p1.isPresent() && p2.isPresent()) {
-                neo4jRelationshipRepository.createFriendship(pessoa1Id, pessoa2Id);
-                mongoLogRepository.saveLog(new Log("INFO", "Amizade estabelecida", "Entre " + p1.get().getNome() + " (ID: " + pessoa1Id + ") e " + p2.get().getNome() + " (ID: " + pessoa2Id + ")"));
+                FanOut.await(fanOut.run("criar amizade no Neo4j", fanOut.neo4jTimeout(),
+                        () -> neo4jRelationshipRepository.createFriendship(pessoa1Id, pessoa2Id)));
+                auditSink.saveLog(new Log("INFO", "Amizade estabelecida", "Entre " + p1.get().getNome() + " (ID: " + pessoa1Id + ") e " + p2.get().getNome() + " (ID: " + pessoa2Id + ")"));
                 logger.info("Amizade estabelecida entre {} e {}.", p1.get().getNome(), p2.get().getNome());
             } else {
                 String missingPerson = "";
                 if (!p1.isPresent()) missingPerson += "Pessoa 1 (ID: " + pessoa1Id + ") não encontrada. ";
                 if (!p2.isPresent()) missingPerson += "Pessoa 2 (ID: " + pessoa2Id + ") não encontrada. ";
                 logger.warn("Não foi possível estabelecer amizade: {}", missingPerson);
-                mongoLogRepository.saveLog(new Log("WARN", "Falha ao estabelecer amizade", missingPerson + " IDs: " + pessoa1Id + ", " + pessoa2Id));
+                auditSink.saveLog(new Log("WARN", "Falha ao estabelecer amizade", missingPerson + " IDs: " + pessoa1Id + ", " + pessoa2Id));
             }
         } catch (Exception e) {
             logger.error("Erro inesperado ao estabelecer amizade entre {} e {}: {}", pessoa1Id, pessoa2Id, e.getMessage(), e);
-            mongoLogRepository.saveLog(new Log("ERROR", "Erro no serviço ao estabelecer amizade", "Entre " + pessoa1Id + " e " + pessoa2Id + ": " + e.getMessage()));
+            auditSink.saveLog(new Log("ERROR", "Erro no serviço ao estabelecer amizade", "Entre " + pessoa1Id + " e " + pessoa2Id + ": " + e.getMessage()));
         }
     }
 
+    /**
+     * Versão em lote de {@link #estabelecerAmizade(UUID, UUID)} para importar grafos grandes: a cada
+     * {@code FRIENDSHIP_BATCH_SIZE} pares, uma única consulta no PostgreSQL confirma quais pessoas
+     * existem e os pares válidos vão ao Neo4j em transações {@code UNWIND} (ver
+     * {@link RelationshipRepository#createFriendships(List)}). Pares com pessoa inexistente são
+     * rejeitados sem impedir os demais; um log de auditoria por lote.
+     */
+    public AmizadeImportResult estabelecerAmizades(List<Amizade> amizades) {
+        if (amizades == null || amizades.isEmpty()) {
+            return new AmizadeImportResult(0, 0, 0, 0, 0, 0);
+        }
+        logger.info("Tentando estabelecer {} amizades em lotes de {}.", amizades.size(), friendshipBatchSize);
+        long start = System.nanoTime();
+        long rejected = 0;
+        int batches = 0;
+        List<FriendshipBatchResult> parts = new ArrayList<>();
+        for (int from = 0; from < amizades.size(); from += friendshipBatchSize) {
+            List<Amizade> chunk = amizades.subList(from, Math.min(amizades.size(), from + friendshipBatchSize));
+            batches++;
+            Set<UUID> ids = new LinkedHashSet<>();
+            for (Amizade amizade : chunk) {
+                ids.add(amizade.pessoa1Id());
+                ids.add(amizade.pessoa2Id());
+            }
+            Set<UUID> existentes = new HashSet<>();
+            postgresPessoaRepository.findAllByIds(ids).forEach(pessoa -> existentes.add(pessoa.getId()));
+            List<Amizade> validas = new ArrayList<>(chunk.size());
+            for (Amizade amizade : chunk) {
+                if (existentes.contains(amizade.pessoa1Id()) && existentes.contains(amizade.pessoa2Id())) {
+                    validas.add(amizade);
+                }
+            }
+            int rejeitadas = chunk.size() - validas.size();
+            rejected += rejeitadas;
+            FriendshipBatchResult part = neo4jRelationshipRepository.createFriendships(validas);
+            parts.add(part);
+            auditSink.saveLog(new Log(part.failed() > 0 || rejeitadas > 0 ? "WARN" : "INFO", "Lote de amizades estabelecido",
+                    "Pares: " + chunk.size() + ", Criadas: " + part.created() + ", Rejeitadas: " + rejeitadas + ", Falhas: " + part.failed()));
+        }
+        FriendshipBatchResult total = FriendshipBatchResult.concat(parts);
+        AmizadeImportResult result = new AmizadeImportResult(amizades.size(), total.created(), rejected, total.failed(),
+                batches, (System.nanoTime() - start) / 1_000_000);
+        logger.info("Amizades em lote concluídas: {}", result);
+        auditSink.saveLog(new Log("INFO", "Amizades estabelecidas em lote", result.toString()));
+        return result;
+    }
+
     /**
      * Lista todos os amigos de uma pessoa com base em seu ID.
      * @param pessoaId O ID da pessoa cujos amigos serão listados.
@@ -73,22 +149,88 @@ public class RelacionamentoService {
 
         if (amigoIds.isEmpty()) {
             logger.info("Nenhum amigo encontrado para a pessoa com ID: {}", pessoaId);
-            mongoLogRepository.saveLog(new Log("INFO", "Amigos listados", "Para ID " + pessoaId + ": Nenhum amigo encontrado."));
+            auditSink.saveLog(new Log("INFO", "Amigos listados", "Para ID " + pessoaId + ": Nenhum amigo encontrado."));
             return List.of(); // Retorna uma lista vazia imutável
         }
 
-        // Busca os detalhes completos das pessoas no PostgreSQL para cada ID de amigo
-        List<Pessoa> amigos = amigoIds.stream()
-                .map(id -> postgresPessoaRepository.findById(id)) // Chama o findById que retorna Optional<Pessoa>
-                .filter(Optional::isPresent) // Filtra apenas os Optionals que contêm uma Pessoa
-                .map(Optional::get) // Extrai a Pessoa do Optional
-                .collect(Collectors.toList()); // Coleta em uma lista
+        // Busca os detalhes de todos os amigos de uma vez: MGET no Redis + uma consulta ANY(?) para os ausentes
+        List<Pessoa> amigos = pessoaService.findPessoasByIds(amigoIds);
 
         logger.info("Encontrados {} amigos para a pessoa com ID: {}", amigos.size(), pessoaId);
-        mongoLogRepository.saveLog(new Log("INFO", "Amigos listados", "Para ID " + pessoaId + ": " + amigos.size() + " amigos."));
+        auditSink.saveLog(new Log("INFO", "Amigos listados", "Para ID " + pessoaId + ": " + amigos.size() + " amigos."));
         return amigos;
     }
 
+    /**
+     * Amigos que as duas pessoas têm em comum, resolvidos em uma única consulta Cypher e carregados
+     * com uma única busca em lote de pessoas.
+     * @param limit no máximo {@code GRAPH_QUERY_MAX_RESULTS}
+     */
+    public List<Pessoa> listarAmigosEmComum(UUID pessoa1Id, UUID pessoa2Id, int limit) {
+        logger.info("Buscando amigos em comum entre ID {} e ID {}", pessoa1Id, pessoa2Id);
+        List<UUID> ids = neo4jRelationshipRepository.findMutualFriends(pessoa1Id, pessoa2Id, boundedLimit(limit));
+        List<Pessoa> amigos = pessoaService.findPessoasByIds(ids);
+        logger.info("Encontrados {} amigos em comum entre ID {} e ID {}.", amigos.size(), pessoa1Id, pessoa2Id);
+        auditSink.saveLog(new Log("INFO", "Amigos em comum listados", "Entre " + pessoa1Id + " e " + pessoa2Id + ": " + amigos.size()));
+        return amigos;
+    }
+
+    /**
+     * Sugestões de amizade: amigos de amigos ainda não conectados, ordenados pela quantidade de
+     * amigos em comum.
+     * @param limit no máximo {@code GRAPH_QUERY_MAX_RESULTS}
+     */
+    public List<SugestaoAmizade> sugerirAmizades(UUID pessoaId, int limit) {
+        logger.info("Buscando sugestões de amizade para a pessoa com ID: {}", pessoaId);
+        List<FriendSuggestion> sugestoes = neo4jRelationshipRepository.suggestFriends(pessoaId, boundedLimit(limit));
+        Map<UUID, Pessoa> pessoas = new HashMap<>();
+        pessoaService.findPessoasByIds(sugestoes.stream().map(FriendSuggestion::personId).toList())
+                .forEach(pessoa -> pessoas.put(pessoa.getId(), pessoa));
+        List<SugestaoAmizade> result = new ArrayList<>(sugestoes.size());
+        for (FriendSuggestion sugestao : sugestoes) {
+            Pessoa pessoa = pessoas.get(sugestao.personId());
+            if (pessoa != null) { // Nó no grafo sem pessoa no PostgreSQL: ignorado
+                result.add(new SugestaoAmizade(pessoa, sugestao.mutualFriends()));
+            }
+        }
+        logger.info("{} sugestões de amizade para a pessoa com ID: {}", result.size(), pessoaId);
+        auditSink.saveLog(new Log("INFO", "Sugestões de amizade listadas", "Para ID " + pessoaId + ": " + result.size()));
+        return result;
+    }
+
+    /**
+     * Menor cadeia de amizades entre duas pessoas (incluindo as duas), com até
+     * {@code NEO4J_PATH_MAX_DEPTH} saltos; vazia se não houver.
+     */
+    public List<Pessoa> caminhoEntre(UUID pessoa1Id, UUID pessoa2Id) {
+        List<UUID> ids = caminhoIds(pessoa1Id, pessoa2Id);
+        List<Pessoa> caminho = pessoaService.findPessoasByIds(ids);
+        auditSink.saveLog(new Log("INFO", "Caminho entre pessoas buscado", "Entre " + pessoa1Id + " e " + pessoa2Id + ": " + (ids.isEmpty() ? "nenhum" : (ids.size() - 1) + " saltos")));
+        return caminho;
+    }
+
+    /**
+     * Graus de separação (1 = amigos diretos), sem carregar as pessoas do caminho; vazio se não houver
+     * caminho em até {@code NEO4J_PATH_MAX_DEPTH} saltos.
+     */
+    public OptionalInt grausDeSeparacao(UUID pessoa1Id, UUID pessoa2Id) {
+        List<UUID> ids = caminhoIds(pessoa1Id, pessoa2Id);
+        auditSink.saveLog(new Log("INFO", "Graus de separação calculados", "Entre " + pessoa1Id + " e " + pessoa2Id + ": " + (ids.isEmpty() ? "sem caminho" : ids.size() - 1)));
+        return ids.isEmpty() ? OptionalInt.empty() : OptionalInt.of(ids.size() - 1);
+    }
+
+    private List<UUID> caminhoIds(UUID pessoa1Id, UUID pessoa2Id) {
+        if (pessoa1Id.equals(pessoa2Id)) {
+            return List.of(pessoa1Id); // shortestPath não aceita início e fim no mesmo nó
+        }
+        logger.info("Buscando menor caminho entre ID {} e ID {} (até {} saltos)", pessoa1Id, pessoa2Id, pathMaxDepth);
+        return neo4jRelationshipRepository.findShortestPath(pessoa1Id, pessoa2Id, pathMaxDepth);
+    }
+
+    private int boundedLimit(int limit) {
+        return Math.max(1, Math.min(limit, graphMaxResults));
+    }
+
     /**
      * Remove uma relação de amizade entre duas pessoas no Neo4j.
      * @param pessoa1Id O ID da primeira pessoa.
@@ -98,11 +240,11 @@ public class RelacionamentoService {
         logger.info("Tentando remover amizade entre ID {} e ID {}", pessoa1Id, pessoa2Id);
         try {
             neo4jRelationshipRepository.removeFriendship(pessoa1Id, pessoa2Id); // Assumindo que este método existe no repositório Neo4j
-            mongoLogRepository.saveLog(new Log("INFO", "Amizade removida", "Entre " + pessoa1Id + " e " + pessoa2Id));
+            auditSink.saveLog(new Log("INFO", "Amizade removida", "Entre " + pessoa1Id + " e " + pessoa2Id));
             logger.info("Amizade removida entre ID {} e ID {}.", pessoa1Id, pessoa2Id);
         } catch (Exception e) {
             logger.error("Erro inesperado ao remover amizade entre {} e {}: {}", pessoa1Id, pessoa2Id, e.getMessage(), e);
-            mongoLogRepository.saveLog(new Log("ERROR", "Erro no serviço ao remover amizade", "Entre " + pessoa1Id + " e " + pessoa2Id + ": " + e.getMessage()));
+            auditSink.saveLog(new Log("ERROR", "Erro no serviço ao remover amizade", "Entre " + pessoa1Id + " e " + pessoa2Id + ": " + e.getMessage()));
         }
     }
 
@@ -113,7 +255,7 @@ public class RelacionamentoService {
         if (neo4jRelationshipRepository != null) {
             neo4jRelationshipRepository.closeDriver();
             logger.info("Driver do Neo4j fechado.");
-            mongoLogRepository.saveLog(new Log("INFO", "Conexão Neo4j", "Driver fechado."));
+            auditSink.saveLog(new Log("INFO", "Conexão Neo4j", "Driver fechado."));
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,9 @@
+package com.cadernosegredos.service;
+
+import com.cadernosegredos.model.Pessoa;
+
+/**
+ * Pessoa sugerida como amiga (amiga de um amigo) e quantos amigos em comum as duas têm.
+ */
+public record SugestaoAmizade(Pessoa pessoa, long amigosEmComum) {
+}
@@ -0,0 +1,71 @@
+package com.cadernosegredos.cache;
+
+import com.cadernosegredos.model.Pessoa;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BinaryPessoaCodecTest {
+    private final BinaryPessoaCodec codec = new BinaryPessoaCodec();
+
+    @Test
+    void roundTripKeepsEveryField() {
+        Pessoa pessoa = new Pessoa(UUID.randomUUID(), "João Ção", "joao@exemplo.com", "12345678901", LocalDate.of(1990, 5, 17));
+
+        assertSameFields(pessoa, codec.decode(codec.encode(pessoa)));
+    }
+
+    @Test
+    void roundTripKeepsNullsAndDatesBeforeEpoch() {
+        Pessoa semEmail = new Pessoa(UUID.randomUUID(), "Ana", null, "1", LocalDate.of(1901, 1, 1));
+        Pessoa semData = new Pessoa(UUID.randomUUID(), "", "a@b.c", "2", null);
+
+        assertSameFields(semEmail, codec.decode(codec.encode(semEmail)));
+        Pessoa decoded = codec.decode(codec.encode(semData));
+        assertSameFields(semData, decoded);
+        assertNull(decoded.getDataNascimento());
+    }
+
+    @Test
+    void cpfFollowsIdAtFixedOffset() {
+        // O script Lua de remoção lê o CPF logo após versão + ID
+        Pessoa pessoa = new Pessoa(UUID.randomUUID(), "Ana", "a@b.c", "98765432100", LocalDate.of(2000, 1, 1));
+        byte[] data = codec.encode(pessoa);
+
+        int length = data[17] - 1;
+        assertEquals("98765432100", new String(Arrays.copyOfRange(data, 18, 18 + length), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void rejectsUnknownVersion() {
+        byte[] data = codec.encode(new Pessoa(UUID.randomUUID(), "Ana", null, "1", null));
+        data[0] = (byte) (BinaryPessoaCodec.VERSION + 1);
+
+        assertThrows(IllegalArgumentException.class, () -> codec.decode(data));
+        assertThrows(IllegalArgumentException.class, () -> codec.decode(new byte[0]));
+    }
+
+    @Test
+    void codecsReadsBothFormats() {
+        Pessoa pessoa = new Pessoa(UUID.randomUUID(), "Ana", "a@b.c", "1", LocalDate.of(1985, 12, 31));
+        PessoaCodec reader = PessoaCodecs.binary();
+
+        assertSameFields(pessoa, reader.decode(PessoaCodecs.json().encode(pessoa)));
+        assertSameFields(pessoa, reader.decode(PessoaCodecs.binary().encode(pessoa)));
+    }
+
+    private static void assertSameFields(Pessoa expected, Pessoa actual) {
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.getNome(), actual.getNome());
+        assertEquals(expected.getEmail(), actual.getEmail());
+        assertEquals(expected.getCpf(), actual.getCpf());
+        assertEquals(expected.getDataNascimento(), actual.getDataNascimento());
+    }
+}
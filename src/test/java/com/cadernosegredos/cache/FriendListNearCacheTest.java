@@ -0,0 +1,93 @@
+package com.cadernosegredos.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FriendListNearCacheTest {
+    private final FriendListNearCache cache = new FriendListNearCache(1024 * 1024, Duration.ofMinutes(5));
+
+    @Test
+    void packAndUnpackRoundTrip() {
+        List<UUID> ids = List.of(UUID.randomUUID(), new UUID(-1L, Long.MIN_VALUE), new UUID(0, 0));
+
+        long[] packed = FriendListNearCache.pack(ids);
+
+        assertEquals(6, packed.length);
+        assertEquals(ids, FriendListNearCache.unpack(packed));
+        assertArrayEquals(new long[0], FriendListNearCache.pack(List.of()));
+    }
+
+    @Test
+    void putWithCurrentVersionIsCached() {
+        UUID person = UUID.randomUUID();
+        List<UUID> friends = List.of(UUID.randomUUID(), UUID.randomUUID());
+
+        cache.put(person, friends, cache.version(person));
+
+        assertEquals(friends, cache.get(person).orElseThrow());
+    }
+
+    @Test
+    void loadStartedBeforeInvalidationIsDiscarded() {
+        UUID person = UUID.randomUUID();
+        long loadVersion = cache.version(person);
+
+        cache.invalidate(List.of(person)); // Escrita concorrente durante a carga
+        cache.put(person, List.of(UUID.randomUUID()), loadVersion);
+
+        assertTrue(cache.get(person).isEmpty());
+    }
+
+    @Test
+    void invalidationOfOtherPersonDoesNotDiscardLoad() {
+        UUID person = UUID.randomUUID();
+        UUID other = otherStripe(person);
+        long loadVersion = cache.version(person);
+
+        cache.invalidate(List.of(other));
+        cache.put(person, List.of(UUID.randomUUID()), loadVersion);
+
+        assertTrue(cache.get(person).isPresent());
+    }
+
+    @Test
+    void invalidateRemovesCachedList() {
+        UUID person = UUID.randomUUID();
+        cache.put(person, List.of(UUID.randomUUID()), cache.version(person));
+
+        cache.invalidate(List.of(person));
+
+        assertFalse(cache.get(person).isPresent());
+    }
+
+    @Test
+    void disabledCacheStoresNothing() {
+        FriendListNearCache disabled = new FriendListNearCache(0, Duration.ofMinutes(5));
+        UUID person = UUID.randomUUID();
+
+        disabled.put(person, List.of(UUID.randomUUID()), disabled.version(person));
+
+        assertTrue(disabled.get(person).isEmpty());
+    }
+
+    // Um UUID em outro contador de versão que o de person (sem colisão de hash)
+    private static UUID otherStripe(UUID person) {
+        while (true) {
+            UUID candidate = UUID.randomUUID();
+            FriendListNearCache probe = new FriendListNearCache(1024, Duration.ofMinutes(1));
+            long before = probe.version(person);
+            probe.invalidate(List.of(candidate));
+            if (probe.version(person) == before) {
+                return candidate;
+            }
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.cadernosegredos.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SingleFlightTest {
+
+    @Test
+    void concurrentLoadsForSameKeyShareOneExecution() throws Exception {
+        SingleFlight<String, Integer> flight = new SingleFlight<>();
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<Integer> first = CompletableFuture.supplyAsync(() -> flight.load("k", () -> {
+            calls.incrementAndGet();
+            started.countDown();
+            await(release);
+            return 42;
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Integer> second = CompletableFuture.supplyAsync(() -> flight.load("k", () -> {
+            calls.incrementAndGet();
+            return -1;
+        }));
+        while (flight.getCoalescedCount() == 0) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        assertEquals(42, first.get(5, TimeUnit.SECONDS));
+        assertEquals(42, second.get(5, TimeUnit.SECONDS));
+        assertEquals(1, calls.get());
+        assertEquals(1, flight.getLoadCount());
+        assertFalse(flight.isInFlight("k"));
+    }
+
+    @Test
+    void errorInLoaderReachesWaitersInsteadOfHanging() throws Exception {
+        SingleFlight<String, Integer> flight = new SingleFlight<>();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<Integer> first = CompletableFuture.supplyAsync(() -> flight.load("k", () -> {
+            started.countDown();
+            await(release);
+            throw new AssertionError("falha no loader");
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Integer> waiter = CompletableFuture.supplyAsync(() -> flight.load("k", () -> -1));
+        while (flight.getCoalescedCount() == 0) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            Exception e = assertThrows(Exception.class, waiter::join);
+            assertTrue(e.getCause() instanceof AssertionError);
+        });
+        assertThrows(Exception.class, first::join);
+        assertFalse(flight.isInFlight("k"));
+    }
+
+    @Test
+    void loadAsyncCompletesWhenLoaderThrowsError() {
+        SingleFlight<String, Integer> flight = new SingleFlight<>();
+
+        CompletableFuture<Integer> result = flight.loadAsync("k", () -> {
+            throw new AssertionError("falha no loader");
+        });
+
+        Exception e = assertThrows(Exception.class, result::join);
+        assertTrue(e.getCause() instanceof AssertionError);
+        assertFalse(flight.isInFlight("k"));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.cadernosegredos.concurrent;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RequestScopeTest {
+    private static final long WINDOW = Duration.ofMinutes(1).toNanos();
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private RequestExecutor requests;
+    private ExecutorService steps;
+    private FanOut fanOut;
+
+    @BeforeEach
+    void setUp() {
+        requests = new RequestExecutor(4, TIMEOUT);
+        steps = Executors.newVirtualThreadPerTaskExecutor();
+        fanOut = new FanOut(steps, TIMEOUT, TIMEOUT, TIMEOUT);
+    }
+
+    @AfterEach
+    void tearDown() {
+        requests.close();
+        steps.close();
+    }
+
+    @Test
+    void writeInFanOutStepIsSeenByRequestAndSiblingSteps() {
+        boolean seen = requests.execute(() -> {
+            fanOut.run("escrita", TIMEOUT, () -> RequestScope.current().markWrite()).join();
+            boolean sibling = fanOut.supply("leitura", TIMEOUT, () -> RequestScope.current().wroteWithin(WINDOW)).join();
+            return sibling && RequestScope.current().wroteWithin(WINDOW);
+        });
+
+        assertTrue(seen);
+    }
+
+    @Test
+    void writeDoesNotLeakIntoNextRequest() {
+        requests.run(() -> RequestScope.current().markWrite());
+
+        assertFalse(requests.execute(() -> RequestScope.current().wroteWithin(WINDOW)));
+    }
+
+    @Test
+    void fanOutStepRunsInCallerScope() {
+        RequestScope[] scopes = requests.execute(() -> new RequestScope[]{
+                RequestScope.current(),
+                fanOut.supply("etapa", TIMEOUT, RequestScope::current).join()});
+
+        assertSame(scopes[0], scopes[1]);
+        assertNotSame(scopes[0], requests.execute(RequestScope::current));
+    }
+
+    @Test
+    void writeOutsideWindowIsForgotten() {
+        RequestScope scope = new RequestScope();
+        assertFalse(scope.wroteWithin(WINDOW));
+
+        scope.markWrite();
+
+        assertTrue(scope.wroteWithin(WINDOW));
+        assertFalse(scope.wroteWithin(0));
+    }
+}
@@ -0,0 +1,40 @@
+package com.cadernosegredos.config;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.driver.Record;
+import org.neo4j.driver.Value;
+import org.neo4j.driver.Values;
+import org.neo4j.driver.internal.InternalRecord;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class Neo4jSchemaBootstrapperTest {
+    private static final Neo4jSchemaBootstrapper.SchemaObject PERSON_ID =
+            new Neo4jSchemaBootstrapper.SchemaObject("person_id_unique", "Person", "id", "");
+
+    @Test
+    void matchesIndexOnSameLabelAndProperty() {
+        assertTrue(Neo4jSchemaBootstrapper.matches(index(Values.value(List.of("Person")), Values.value(List.of("id"))), PERSON_ID));
+    }
+
+    @Test
+    void lookupIndexWithNullListsDoesNotMatchOrThrow() {
+        assertFalse(Neo4jSchemaBootstrapper.matches(index(Values.NULL, Values.NULL), PERSON_ID));
+        assertFalse(Neo4jSchemaBootstrapper.matches(index(Values.value(List.of("Person")), Values.NULL), PERSON_ID));
+    }
+
+    @Test
+    void otherLabelPropertyOrCompositeIndexDoesNotMatch() {
+        assertFalse(Neo4jSchemaBootstrapper.matches(index(Values.value(List.of("Pessoa")), Values.value(List.of("id"))), PERSON_ID));
+        assertFalse(Neo4jSchemaBootstrapper.matches(index(Values.value(List.of("Person")), Values.value(List.of("cpf"))), PERSON_ID));
+        assertFalse(Neo4jSchemaBootstrapper.matches(index(Values.value(List.of("Person")), Values.value(List.of("id", "cpf"))), PERSON_ID));
+    }
+
+    private static Record index(Value labelsOrTypes, Value properties) {
+        return new InternalRecord(List.of("name", "labelsOrTypes", "properties"),
+                new Value[]{Values.value("idx"), labelsOrTypes, properties});
+    }
+}
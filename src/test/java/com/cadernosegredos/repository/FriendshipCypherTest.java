@@ -0,0 +1,45 @@
+package com.cadernosegredos.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class FriendshipCypherTest {
+
+    @Test
+    void pairIsIndependentOfArgumentOrder() {
+        UUID a = UUID.fromString("00000000-0000-0000-0000-000000000001");
+        UUID b = UUID.fromString("ffffffff-0000-0000-0000-000000000000");
+
+        Map<String, Object> ab = FriendshipCypher.pair(a, b);
+
+        assertEquals(ab, FriendshipCypher.pair(b, a));
+        assertEquals(a.toString(), ab.get("person1Id"));
+        assertEquals(b.toString(), ab.get("person2Id"));
+    }
+
+    @Test
+    void pairOrdersByStringFormNotByUuidComparison() {
+        // UUID.compareTo compara os bits com sinal; a ordem canônica usada no Neo4j é a das strings
+        UUID negativeMsb = UUID.fromString("80000000-0000-0000-0000-000000000000");
+        UUID positiveMsb = UUID.fromString("10000000-0000-0000-0000-000000000000");
+
+        Map<String, Object> pair = FriendshipCypher.pair(negativeMsb, positiveMsb);
+
+        assertEquals(positiveMsb.toString(), pair.get("person1Id"));
+        assertEquals(negativeMsb.toString(), pair.get("person2Id"));
+    }
+
+    @Test
+    void pairWithItselfKeepsBothSides() {
+        UUID a = UUID.randomUUID();
+
+        Map<String, Object> pair = FriendshipCypher.pair(a, a);
+
+        assertEquals(a.toString(), pair.get("person1Id"));
+        assertEquals(a.toString(), pair.get("person2Id"));
+    }
+}
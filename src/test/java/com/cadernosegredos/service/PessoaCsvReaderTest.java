@@ -0,0 +1,94 @@
+package com.cadernosegredos.service;
+
+import com.cadernosegredos.model.Pessoa;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PessoaCsvReaderTest {
+
+    @Test
+    void readsRowsSkippingHeaderAndBlankLines() {
+        PessoaCsvReader reader = reader("""
+                nome, email, cpf, dataNascimento
+                Ana,ana@exemplo.com,111,1990-01-02
+
+                Bruno,,222,1985-12-31
+                """);
+
+        List<Pessoa> pessoas = readAll(reader);
+
+        assertEquals(2, pessoas.size());
+        assertEquals("Ana", pessoas.get(0).getNome());
+        assertEquals(LocalDate.of(1990, 1, 2), pessoas.get(0).getDataNascimento());
+        assertNull(pessoas.get(1).getEmail());
+        assertEquals(0, reader.getRejectedCount());
+    }
+
+    @Test
+    void readsQuotedFieldsWithCommasAndEscapedQuotes() {
+        PessoaCsvReader reader = reader("\"Silva, Ana \"\"Aninha\"\"\",ana@exemplo.com,111,1990-01-02\n");
+
+        List<Pessoa> pessoas = readAll(reader);
+
+        assertEquals(1, pessoas.size());
+        assertEquals("Silva, Ana \"Aninha\"", pessoas.get(0).getNome());
+    }
+
+    @Test
+    void rejectsInvalidRowsAndKeepsReading() {
+        PessoaCsvReader reader = reader("""
+                Ana,ana@exemplo.com,111
+                Bruno,b@exemplo.com,222,31/12/1985
+                ,c@exemplo.com,333,1990-01-01
+                Davi,d@exemplo.com,,1990-01-01
+                "Eva,e@exemplo.com,555,1990-01-01
+                Fábio,f@exemplo.com,666,1990-01-01,extra
+                Gil,g@exemplo.com,777,1990-01-01
+                """);
+
+        List<Pessoa> pessoas = readAll(reader);
+
+        assertEquals(1, pessoas.size());
+        assertEquals("Gil", pessoas.get(0).getNome());
+        assertEquals(6, reader.getRejectedCount());
+    }
+
+    @Test
+    void headerIsOnlyRecognizedOnFirstLine() {
+        PessoaCsvReader reader = reader("""
+                Ana,ana@exemplo.com,111,1990-01-02
+                nome,email,cpf,dataNascimento
+                """);
+
+        assertEquals(1, readAll(reader).size());
+        assertEquals(1, reader.getRejectedCount()); // Data "dataNascimento" inválida
+    }
+
+    @Test
+    void nextAfterEndThrows() {
+        PessoaCsvReader reader = reader("");
+
+        assertFalse(reader.hasNext());
+        assertThrows(NoSuchElementException.class, reader::next);
+    }
+
+    private static PessoaCsvReader reader(String csv) {
+        return new PessoaCsvReader(new StringReader(csv));
+    }
+
+    private static List<Pessoa> readAll(PessoaCsvReader reader) {
+        List<Pessoa> pessoas = new ArrayList<>();
+        reader.forEachRemaining(pessoas::add);
+        return pessoas;
+    }
+}